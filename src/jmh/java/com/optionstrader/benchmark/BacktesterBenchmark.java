@@ -0,0 +1,70 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.backtest.BacktestResult;
+import com.optionstrader.backtest.Backtester;
+import com.optionstrader.backtest.EventDrivenOptionBacktester;
+import com.optionstrader.backtest.SequentialOptionBacktester;
+import com.optionstrader.backtest.StreamBasedOptionBacktester;
+import com.optionstrader.options.ChainProvider;
+import com.optionstrader.signal.VolatilityOptimizedStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each {@link Backtester} over a synthetic series with the same chain on every day. The
+ * strategy is rebuilt per invocation so its indicator caches start cold, as in a real run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BacktesterBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int bars;
+
+    @Param({"sequential", "event", "stream"})
+    public String backtester;
+
+    private BarSeries series;
+    private ChainProvider chains;
+    private Backtester runner;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticData.randomWalk("SYN", bars, 42).asBarSeries();
+        chains = SyntheticData.constantChains("SYN");
+        switch (backtester) {
+            case "sequential":
+                runner = new SequentialOptionBacktester();
+                break;
+            case "event":
+                runner = new EventDrivenOptionBacktester();
+                break;
+            case "stream":
+                runner = new StreamBasedOptionBacktester();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown backtester " + backtester);
+        }
+    }
+
+    @Benchmark
+    public BacktestResult runBacktest() {
+        return runner.runBacktest(series, VolatilityOptimizedStrategy.build(series), chains);
+    }
+}
@@ -0,0 +1,62 @@
+package com.optionstrader.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * Entry point of {@code target/benchmarks.jar}. Accepts the usual JMH command line and adds the
+ * project defaults: the GC profiler for allocation rates, a JSON report under
+ * {@code target/jmh/} named by timestamp, and quiet application logging in the forks. After the
+ * run, each score is also printed as bars per second.
+ */
+public class BenchmarkRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(commandLine)
+            .jvmArgsAppend("-Dorg.slf4j.simpleLogger.defaultLogLevel=warn", "-Xmx8g", "--add-modules=jdk.incubator.vector");
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            Path report = Paths.get("target", "jmh",
+                                    "jmh-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+            Files.createDirectories(report.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(report.toString());
+            logger.info("Writing JMH report to {}", report);
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Result<?> primary = result.getPrimaryResult();
+            String bars = params.getParam("bars");
+            if (bars != null && primary.getScoreUnit().endsWith("/s")) {
+                StringBuilder label = new StringBuilder(params.getBenchmark());
+                for (String key : params.getParamsKeys()) {
+                    label.append(' ').append(key).append('=').append(params.getParam(key));
+                }
+                logger.info("{}: {} bars/sec", label, String.format("%,.0f", primary.getScore() * Long.parseLong(bars)));
+            }
+        }
+    }
+}
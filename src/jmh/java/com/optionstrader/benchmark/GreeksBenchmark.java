@@ -0,0 +1,68 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import com.optionstrader.pricing.Greeks;
+import com.optionstrader.pricing.GreeksEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-chain repricing with {@link GreeksEngine}: one spot per call, the cost of repricing every
+ * contract of a chain on one minute bar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class GreeksBenchmark {
+
+    @Param({"500", "5000"})
+    public int contracts;
+
+    private final GreeksEngine engine = new GreeksEngine();
+    private OptionChain chain;
+    private double[] volatilities;
+    private Greeks greeks;
+    private double spot = 250;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate asOf = LocalDate.of(2024, 1, 2);
+        List<OptionContract> list = new ArrayList<>();
+        volatilities = new double[contracts];
+        for (int i = 0; i < contracts; i++) {
+            int dte = 1 + random.nextInt(365);
+            list.add(new OptionContract("SYN", i % 2 == 0 ? "CALL" : "PUT", 150 + random.nextInt(200),
+                                        asOf.plusDays(dte), 0, dte, 0, 0));
+            volatilities[i] = 0.3 + random.nextDouble() * 0.5;
+        }
+        chain = new OptionChain("SYN", list);
+        greeks = new Greeks(contracts);
+    }
+
+    @Benchmark
+    public Greeks repriceChain() {
+        // Nudge the spot so successive calls are not constant-folded
+        spot += 0.01;
+        return engine.compute(chain, spot, 0.25, volatilities, greeks);
+    }
+}
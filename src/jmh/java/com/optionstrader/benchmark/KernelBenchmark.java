@@ -0,0 +1,112 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.indicator.IndicatorKernels;
+import com.optionstrader.indicator.Sma;
+import com.optionstrader.indicator.WilderRsi;
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.StrategyParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar against SIMD {@link IndicatorKernels} on long series, kernel by kernel and through
+ * {@link ManualSignalEngine}. The forks are started with {@code jdk.incubator.vector}; the
+ * {@code kernels} parameter picks the implementation explicitly. The vector cases need the jar
+ * built with {@code -Pbenchmark,vector}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int bars;
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    private IndicatorKernels kernel;
+    private BarSeries series;
+    private double[] opens;
+    private double[] closes;
+    private double[] fast;
+    private double[] slow;
+    private double[] rsi;
+    private double[] prefixHigh;
+    private double[] prefixLow;
+    private double[] out1;
+    private double[] out2;
+    private long[] mask1;
+    private long[] mask2;
+
+    @Setup
+    public void setUp() {
+        kernel = "vector".equals(kernels)
+            ? IndicatorKernels.vector().orElseThrow(() -> new IllegalStateException("jdk.incubator.vector not available"))
+            : IndicatorKernels.scalar();
+        BarColumns columns = SyntheticData.randomWalk("SYN", bars, 42);
+        series = columns.asBarSeries();
+        opens = Arrays.copyOf(columns.openColumn(), bars);
+        closes = Arrays.copyOf(columns.closeColumn(), bars);
+        fast = new Sma(50).apply(closes);
+        slow = new Sma(200).apply(closes);
+        rsi = new WilderRsi(14).apply(closes);
+        prefixHigh = new double[bars + 1];
+        prefixLow = new double[bars + 1];
+        kernel.prefixSums(closes, prefixHigh, prefixLow);
+        out1 = new double[bars];
+        out2 = new double[bars];
+        mask1 = IndicatorKernels.newMask(bars);
+        mask2 = IndicatorKernels.newMask(bars);
+    }
+
+    @Benchmark
+    public double[] gainsAndLosses() {
+        kernel.gainsAndLosses(closes, out1, out2);
+        return out1;
+    }
+
+    @Benchmark
+    public double[] gapRatios() {
+        kernel.gapRatios(opens, closes, out1);
+        return out1;
+    }
+
+    @Benchmark
+    public double[] windowMeans() {
+        kernel.windowMeans(prefixHigh, prefixLow, 200, out1);
+        return out1;
+    }
+
+    @Benchmark
+    public long[] trendMasks() {
+        Arrays.fill(mask1, 0);
+        Arrays.fill(mask2, 0);
+        kernel.trendMasks(fast, slow, rsi, 40, 70, 200, bars, mask1, mask2);
+        return mask1;
+    }
+
+    @Benchmark
+    public List<Signal> manualSignals() {
+        return new ManualSignalEngine(StrategyParameters.DEFAULT, kernel).generateSignals(series);
+    }
+}
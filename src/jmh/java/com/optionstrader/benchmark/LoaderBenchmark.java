@@ -0,0 +1,89 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.ingestion.ByteLevelMassiveDataLoader;
+import com.optionstrader.ingestion.MassiveDataLoader;
+import com.optionstrader.ingestion.RecordBasedMassiveDataLoader;
+import com.optionstrader.ingestion.StandardMassiveDataLoader;
+import com.optionstrader.ingestion.StreamingMassiveDataLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a synthetic aggregate response with each {@link MassiveDataLoader}, from bytes and from
+ * a file on disk (which the streaming and byte-level loaders memory-map).
+ * Sizes stop at 1M bars: the map-based loaders hold the whole JSON tree, roughly ten times the
+ * payload, so 10M bars would mostly measure the collector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LoaderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bars;
+
+    @Param({"standard", "record", "streaming", "byte"})
+    public String loader;
+
+    private byte[] json;
+    private Path file;
+    private MassiveDataLoader dataLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = SyntheticData.toAggregateJson(SyntheticData.randomWalk("SYN", bars, 42));
+        file = Files.createTempFile("loader-benchmark", ".json");
+        Files.write(file, json);
+        switch (loader) {
+            case "standard":
+                dataLoader = new StandardMassiveDataLoader();
+                break;
+            case "record":
+                dataLoader = new RecordBasedMassiveDataLoader();
+                break;
+            case "streaming":
+                dataLoader = new StreamingMassiveDataLoader();
+                break;
+            case "byte":
+                dataLoader = new ByteLevelMassiveDataLoader();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown loader " + loader);
+        }
+    }
+
+    @Benchmark
+    public BarSeries load() {
+        return dataLoader.loadData(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public BarSeries loadPath() {
+        return dataLoader.loadData(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,67 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.indicator.IndicatorCache;
+import com.optionstrader.signal.CompiledStrategy;
+import com.optionstrader.signal.RuleCompiler;
+import com.optionstrader.signal.StrategyParameters;
+import com.optionstrader.signal.VolatilityOptimizedStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry/exit checks over every bar of a synthetic series: ta4j rule evaluation against the bit
+ * masks of a {@link CompiledStrategy}, plus the one-off cost of compiling. Indicator views are
+ * cached in setup, so neither side pays for indicator computation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RuleBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int bars;
+
+    @Param({"ta4j", "compiled"})
+    public String rules;
+
+    private BarSeries series;
+    private Strategy strategy;
+    private Strategy checked;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticData.randomWalk("SYN", bars, 42).asBarSeries();
+        strategy = VolatilityOptimizedStrategy.build(series, StrategyParameters.DEFAULT, new IndicatorCache());
+        checked = "compiled".equals(rules) ? RuleCompiler.compile(strategy, series) : strategy;
+    }
+
+    @Benchmark
+    public int checkEveryBar() {
+        int signals = 0;
+        for (int i = 0; i < bars; i++) {
+            signals += checked.shouldEnter(i) || checked.shouldExit(i) ? 1 : 0;
+        }
+        return signals;
+    }
+
+    @Benchmark
+    public CompiledStrategy compile() {
+        return RuleCompiler.compile(strategy, series);
+    }
+}
@@ -0,0 +1,54 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.SignalEngine;
+import com.optionstrader.signal.Ta4jSignalEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates signals for a whole synthetic series. The ta4j engine builds fresh indicators on
+ * every call, so indicator caches do not carry over between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SignalEngineBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int bars;
+
+    @Param({"manual", "ta4j"})
+    public String engine;
+
+    private BarSeries series;
+    private SignalEngine signalEngine;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticData.randomWalk("SYN", bars, 42).asBarSeries();
+        signalEngine = "manual".equals(engine) ? new ManualSignalEngine() : new Ta4jSignalEngine();
+    }
+
+    @Benchmark
+    public List<Signal> generateSignals() {
+        return signalEngine.generateSignals(series);
+    }
+}
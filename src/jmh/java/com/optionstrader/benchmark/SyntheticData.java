@@ -0,0 +1,89 @@
+package com.optionstrader.benchmark;
+
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.options.ChainProvider;
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic inputs for the benchmarks: a one-minute random walk with slow trend
+ * regimes and occasional overnight gaps, so every signal branch and the backtest repair path
+ * are exercised.
+ */
+final class SyntheticData {
+
+    static final long START_MS = 1_704_205_800_000L; // 2024-01-02T14:30Z, a New York open
+
+    private SyntheticData() {
+    }
+
+    static BarColumns randomWalk(String ticker, int bars, long seed) {
+        Random random = new Random(seed);
+        BarColumns columns = new BarColumns(ticker, Duration.ofMinutes(1), BarColumns.DEFAULT_ZONE, bars);
+        double close = 250;
+        for (int i = 0; i < bars; i++) {
+            double drift = 0.0004 * Math.sin(i / 5_000.0);
+            double open = close;
+            if (random.nextInt(2_000) == 0) {
+                open = close * (1 + (random.nextBoolean() ? 0.03 : -0.03));
+            }
+            close = Math.max(1, open * (1 + drift + 0.002 * random.nextGaussian()));
+            double high = Math.max(open, close) * (1 + 0.0005 * random.nextDouble());
+            double low = Math.min(open, close) * (1 - 0.0005 * random.nextDouble());
+            columns.add(START_MS + i * 60_000L, open, high, low, close, 1_000 + random.nextInt(50_000));
+        }
+        return columns;
+    }
+
+    /**
+     * Renders bars in the Massive aggregate response shape.
+     */
+    static byte[] toAggregateJson(BarColumns columns) {
+        StringBuilder json = new StringBuilder(columns.size() * 110 + 128);
+        json.append("{\"ticker\":\"").append(columns.getName()).append("\",\"queryCount\":").append(columns.size())
+            .append(",\"resultsCount\":").append(columns.size()).append(",\"adjusted\":true,\"results\":[");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"v\":").append((long) columns.volume(i))
+                .append(",\"vw\":").append(round(columns.close(i)))
+                .append(",\"o\":").append(round(columns.open(i)))
+                .append(",\"c\":").append(round(columns.close(i)))
+                .append(",\"h\":").append(round(columns.high(i)))
+                .append(",\"l\":").append(round(columns.low(i)))
+                .append(",\"t\":").append(columns.time(i))
+                .append(",\"n\":").append(1 + (int) columns.volume(i) / 100)
+                .append('}');
+        }
+        json.append("],\"status\":\"OK\",\"request_id\":\"synthetic\",\"count\":").append(columns.size()).append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Same chain every day: a spread of calls and puts around the money at several expirations.
+     */
+    static ChainProvider constantChains(String underlying) {
+        LocalDate expiration = LocalDate.of(2024, 2, 16);
+        List<OptionContract> contracts = List.of(
+            new OptionContract(underlying, "CALL", 240, expiration, 0.62, 45, 18.4, 0.09),
+            new OptionContract(underlying, "CALL", 260, expiration, 0.41, 45, 10.2, 0.08),
+            new OptionContract(underlying, "CALL", 275, expiration.plusDays(7), 0.30, 38, 6.1, 0.06),
+            new OptionContract(underlying, "CALL", 290, expiration.plusDays(14), 0.21, 31, 3.4, 0.05),
+            new OptionContract(underlying, "PUT", 240, expiration, -0.36, 45, 8.7, 0.07),
+            new OptionContract(underlying, "PUT", 225, expiration.plusDays(7), -0.24, 38, 4.9, 0.05)
+        );
+        OptionChain chain = new OptionChain(underlying, contracts);
+        return date -> chain;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+}
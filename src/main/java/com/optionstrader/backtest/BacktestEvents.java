@@ -0,0 +1,59 @@
+package com.optionstrader.backtest;
+
+import com.optionstrader.jfr.ChainSelectionEvent;
+import com.optionstrader.jfr.TradeEvent;
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import org.ta4j.core.BarSeries;
+
+import java.util.Optional;
+
+/**
+ * JFR events shared by the backtesters. Fields are filled in only when the event is enabled and
+ * passes its threshold, so a run without a recording pays for little more than the allocation.
+ */
+final class BacktestEvents {
+
+    private BacktestEvents() {
+    }
+
+    static ChainSelectionEvent beginSelection() {
+        ChainSelectionEvent event = new ChainSelectionEvent();
+        event.begin();
+        return event;
+    }
+
+    static Optional<OptionContract> endSelection(ChainSelectionEvent event, String backtester, OptionChain chain,
+                                                 Optional<OptionContract> selected) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.backtester = backtester;
+            event.underlying = chain.underlying();
+            event.candidates = chain.size();
+            event.selected = selected.isPresent();
+            if (selected.isPresent()) {
+                OptionContract contract = selected.get();
+                event.strike = contract.strike();
+                event.delta = contract.delta();
+                event.dte = contract.dte();
+            }
+            event.commit();
+        }
+        return selected;
+    }
+
+    static void trade(String backtester, String action, OptionContract contract, BarSeries series, int i, double pnl) {
+        TradeEvent event = new TradeEvent();
+        if (event.shouldCommit()) {
+            event.backtester = backtester;
+            event.action = action;
+            event.underlying = contract.underlying();
+            event.contractType = contract.type();
+            event.strike = contract.strike();
+            event.barIndex = i;
+            event.tradeDate = series.getBar(i).getEndTime().toLocalDate().toString();
+            event.pnl = pnl;
+            event.commit();
+        }
+    }
+}
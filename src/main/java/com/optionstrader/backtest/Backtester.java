@@ -6,11 +6,23 @@ import org.ta4j.core.Strategy;
 import java.time.LocalDate;
 import java.util.Map;
 
+import com.optionstrader.options.ChainProvider;
 import com.optionstrader.options.OptionChain;
+import com.optionstrader.signal.SignalVector;
 
 /**
  * Interface for option backtesters.
  */
 public interface Backtester {
-    BacktestResult runBacktest(BarSeries series, Strategy strategy, Map<LocalDate, OptionChain> chains);
+    BacktestResult runBacktest(BarSeries series, Strategy strategy, ChainProvider chains);
+
+    default BacktestResult runBacktest(BarSeries series, Strategy strategy, Map<LocalDate, OptionChain> chains) {
+        return runBacktest(series, strategy, ChainProvider.of(chains));
+    }
+
+    /**
+     * Backtests precomputed signals from {@link SignalVector#getStartBar()}: enter on BUY, exit on
+     * SELL. Implementations may skip HOLD runs while flat.
+     */
+    BacktestResult runBacktest(BarSeries series, SignalVector signals, ChainProvider chains);
 }
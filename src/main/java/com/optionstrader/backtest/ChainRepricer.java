@@ -0,0 +1,62 @@
+package com.optionstrader.backtest;
+
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.pricing.Greeks;
+import com.optionstrader.pricing.GreeksEngine;
+import com.optionstrader.pricing.ImpliedVolatilitySolver;
+import org.ta4j.core.BarSeries;
+
+/**
+ * Reprices a backtest's candidate contracts with {@link GreeksEngine} before selection, so the
+ * closest-delta pick follows the underlying through the day instead of the snapshot deltas.
+ * <p>
+ * Each chain's implied volatilities are solved once, from its quoted prices against the close of
+ * the first bar of its trading date. A selection bar then prices the whole chain in one batch at
+ * its own close and elapsed time, and selects from {@link OptionChain#withDeltas} of the model
+ * deltas. Contracts without an implied volatility keep their snapshot delta. Chains are repriced
+ * only at the bars that select from them; the held contract is marked on every bar by
+ * {@link com.optionstrader.pricing.MarkToModel}.
+ */
+final class ChainRepricer {
+
+    private static final double SECONDS_PER_DAY = 86_400;
+
+    private final BarSeries series;
+    private final DailyChainCursor cursor;
+    private final GreeksEngine engine = new GreeksEngine();
+    private final ImpliedVolatilitySolver solver = new ImpliedVolatilitySolver(GreeksEngine.DEFAULT_RATE, 1e-10, 1);
+
+    private OptionChain snapshot;
+    private int anchorBar = -1;
+    private long anchorSecond;
+    private double[] volatilities;
+    private Greeks greeks = new Greeks(0);
+
+    ChainRepricer(BarSeries series, DailyChainCursor cursor) {
+        this.series = series;
+        this.cursor = cursor;
+    }
+
+    /**
+     * {@code chain}, the chain for bar {@code index}, with deltas repriced at that bar.
+     */
+    OptionChain repriceAt(OptionChain chain, int index) {
+        int dayStart = cursor.dayStart(index);
+        if (chain != snapshot || dayStart != anchorBar) {
+            snapshot = chain;
+            anchorBar = dayStart;
+            anchorSecond = series.getBar(dayStart).getEndTime().toEpochSecond();
+            volatilities = solver.impliedVolatilities(chain, series.getBar(dayStart).getClosePrice().doubleValue());
+            if (greeks.capacity() < chain.size()) {
+                greeks = new Greeks(chain.size());
+            }
+        }
+        double elapsedDays = (series.getBar(index).getEndTime().toEpochSecond() - anchorSecond) / SECONDS_PER_DAY;
+        engine.compute(chain, series.getBar(index).getClosePrice().doubleValue(), elapsedDays, volatilities, greeks);
+        double[] deltas = new double[chain.size()];
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = Double.isNaN(volatilities[i]) ? chain.delta(i) : greeks.delta(i);
+        }
+        return chain.withDeltas(deltas);
+    }
+}
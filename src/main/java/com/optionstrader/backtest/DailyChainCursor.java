@@ -0,0 +1,60 @@
+package com.optionstrader.backtest;
+
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.options.ChainProvider;
+import com.optionstrader.options.OptionChain;
+import org.ta4j.core.BarSeries;
+
+import java.time.LocalDate;
+
+/**
+ * Per-bar chain lookup for a backtest loop. Trading dates are precomputed as epoch days, so a bar
+ * on the same day as the previous one costs an {@code int} comparison; the provider is consulted
+ * only when the date changes.
+ */
+final class DailyChainCursor {
+
+    private final ChainProvider chains;
+    private final int[] epochDays;
+
+    private int currentDay = Integer.MIN_VALUE;
+    private LocalDate currentDate;
+    private OptionChain currentChain;
+
+    DailyChainCursor(BarSeries series, ChainProvider chains) {
+        this.chains = chains;
+        this.epochDays = BarColumns.epochDays(series);
+    }
+
+    /**
+     * Chain for the trading date of bar {@code index}, or {@code null} when the provider has none.
+     */
+    OptionChain chainAt(int index) {
+        int day = epochDays[index];
+        if (day != currentDay) {
+            currentDay = day;
+            currentDate = LocalDate.ofEpochDay(day);
+            currentChain = chains.chainFor(currentDate);
+        }
+        return currentChain;
+    }
+
+    /**
+     * First bar of the trading date of bar {@code index}.
+     */
+    int dayStart(int index) {
+        int day = epochDays[index];
+        int first = index;
+        while (first > 0 && epochDays[first - 1] == day) {
+            first--;
+        }
+        return first;
+    }
+
+    /**
+     * Trading date of the bar last passed to {@link #chainAt(int)}.
+     */
+    LocalDate date() {
+        return currentDate;
+    }
+}
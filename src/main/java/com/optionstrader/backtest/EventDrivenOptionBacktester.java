@@ -1,13 +1,23 @@
 package com.optionstrader.backtest;
 
+import com.optionstrader.indicator.IndicatorCache;
+import com.optionstrader.indicator.IndicatorView;
+import com.optionstrader.jfr.ChainSelectionEvent;
+import com.optionstrader.jfr.TradeEvent;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
+import com.optionstrader.options.ChainProvider;
 import com.optionstrader.options.OptionChain;
 import com.optionstrader.options.OptionContract;
+import com.optionstrader.pricing.GreeksEngine;
+import com.optionstrader.pricing.MarkToModel;
+import com.optionstrader.signal.RuleCompiler;
+import com.optionstrader.signal.SignalVector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
-import org.ta4j.core.indicators.SMAIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -18,20 +28,40 @@ import java.util.*;
 public class EventDrivenOptionBacktester implements Backtester {
 
     private static final Logger logger = LoggerFactory.getLogger(EventDrivenOptionBacktester.class);
+    private static final Timer RUN_TIMER = Metrics.timer("backtest.event.run");
+    private static final Counter TRADES = Metrics.counter("backtest.event.trades");
+    private static final String NAME = "event";
+    /** First bar a strategy is evaluated at: the SMA(200) warm-up. */
+    private static final int STRATEGY_START_BAR = 200;
 
     @Override
-    public BacktestResult runBacktest(BarSeries series, Strategy strategy, Map<LocalDate, OptionChain> chains) {
+    public BacktestResult runBacktest(BarSeries series, Strategy strategy, ChainProvider chains) {
+        return run(series, strategy, STRATEGY_START_BAR, chains);
+    }
+
+    /**
+     * Starts at the vector's first bar rather than the strategy warm-up.
+     */
+    @Override
+    public BacktestResult runBacktest(BarSeries series, SignalVector signals, ChainProvider chains) {
+        return run(series, signals.toStrategy(), signals.getStartBar(), chains);
+    }
+
+    private BacktestResult run(BarSeries series, Strategy strategy, int startBar, ChainProvider chains) {
+        long start = RUN_TIMER.start();
         BacktestResult result = new BacktestResult();
         OptionPosition openPosition = null;
-        List<Event> events = new ArrayList<>();
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma50 = new SMAIndicator(closePrice, 50);
-        SMAIndicator sma200 = new SMAIndicator(closePrice, 200);
+        IndicatorView sma50 = IndicatorCache.shared().sma(series, 50);
+        IndicatorView sma200 = IndicatorCache.shared().sma(series, 200);
+        DailyChainCursor cursor = new DailyChainCursor(series, chains);
+        ChainRepricer repricer = new ChainRepricer(series, cursor);
+        // Entry/exit rules become bit tests when the strategy compiles
+        Strategy rules = RuleCompiler.tryCompile(strategy, series);
 
-        for (int i = 200; i < series.getBarCount(); i++) {
-            LocalDate date = series.getBar(i).getEndTime().toLocalDate();
-            OptionChain chain = chains.get(date);
+        for (int i = startBar; i < series.getBarCount(); i++) {
+            OptionChain chain = cursor.chainAt(i);
+            LocalDate date = cursor.date();
             if (chain == null) {
                 logger.warn("No option chain for date {}", date);
                 continue;
@@ -41,7 +71,9 @@ public class EventDrivenOptionBacktester implements Backtester {
             List<Event> currentEvents = new ArrayList<>();
             currentEvents.add(new BarEvent(i, date, chain));
 
-            for (Event event : currentEvents) {
+            // Indexed loop: handling a bar event may queue exit events for this same bar
+            for (int e = 0; e < currentEvents.size(); e++) {
+                Event event = currentEvents.get(e);
                 if (event instanceof BarEvent) {
                     BarEvent barEvent = (BarEvent) event;
                     // Update position if open
@@ -49,20 +81,20 @@ public class EventDrivenOptionBacktester implements Backtester {
                         updatePositionPnL(openPosition, series, barEvent.index);
                         if (shouldRepair(openPosition, strategy, barEvent.index)) {
                             if (isStillBullish(barEvent.index, sma50, sma200)) {
-                                events.add(new RollEvent(openPosition, series, barEvent.index, result));
+                                currentEvents.add(new RollEvent(openPosition, series, barEvent.index, result));
                             } else {
-                                events.add(new HardStopEvent(openPosition, series, barEvent.index, result));
+                                currentEvents.add(new HardStopEvent(openPosition, series, barEvent.index, result));
                             }
                             openPosition = null;
-                        } else if (strategy.shouldExit(barEvent.index)) {
-                            events.add(new ExitEvent(openPosition, series, barEvent.index, result));
+                        } else if (rules.shouldExit(barEvent.index)) {
+                            currentEvents.add(new ExitEvent(openPosition, series, barEvent.index, result));
                             openPosition = null;
                         }
                     }
 
                     // Check entry
-                    if (openPosition == null && strategy.shouldEnter(barEvent.index)) {
-                        Optional<OptionContract> contract = selectContract(barEvent.chain, series.getBar(barEvent.index).getClosePrice().doubleValue());
+                    if (openPosition == null && rules.shouldEnter(barEvent.index)) {
+                        Optional<OptionContract> contract = selectContract(repricer, barEvent.chain, barEvent.index);
                         if (contract.isPresent()) {
                             openPosition = openPosition(contract.get(), series, barEvent.index);
                             logger.info("Opened position: Date={}, Contract={}, Strike={}, EntryDelta={}",
@@ -87,32 +119,34 @@ public class EventDrivenOptionBacktester implements Backtester {
             closePosition(openPosition, series, series.getBarCount() - 1, result);
         }
 
+        RUN_TIMER.stop(start);
+        TRADES.add(result.tradeCount);
         return result;
     }
 
-    private Optional<OptionContract> selectContract(OptionChain chain, double underlyingPrice) {
-        return chain.contracts().stream()
-            .filter(c -> "CALL".equals(c.type()) && c.dte() >= 30 && c.dte() <= 45)
-            .min(Comparator.comparingDouble(c -> Math.abs(c.delta() - 0.30)));
+    private Optional<OptionContract> selectContract(ChainRepricer repricer, OptionChain chain, int i) {
+        ChainSelectionEvent event = BacktestEvents.beginSelection();
+        OptionChain repriced = repricer.repriceAt(chain, i);
+        Optional<OptionContract> selected = repriced.index().closestDelta("CALL", 30, 45, 0.30);
+        return BacktestEvents.endSelection(event, NAME, repriced, selected);
     }
 
     private OptionPosition openPosition(OptionContract contract, BarSeries series, int i) {
-        return new OptionPosition(contract, series.getBar(i).getClosePrice().doubleValue());
+        BacktestEvents.trade(NAME, TradeEvent.OPEN, contract, series, i, 0);
+        return new OptionPosition(contract, MarkToModel.open(contract, series, i, GreeksEngine.DEFAULT_RATE));
     }
 
     private void updatePositionPnL(OptionPosition position, BarSeries series, int i) {
-        double underlyingChange = series.getBar(i).getClosePrice().doubleValue() - series.getBar(i - 1).getClosePrice().doubleValue();
-        double optionChange = position.contract.delta() * underlyingChange;
-        double thetaDecay = position.contract.theta();
-        position.pnl += optionChange - thetaDecay;
+        // Reprice from the bar close and time left, so delta and theta evolve over the hold
+        position.pnl = position.mark.pnlAt(series, i);
     }
 
     private boolean shouldRepair(OptionPosition position, Strategy strategy, int i) {
         return position.pnl < -0.20;
     }
 
-    private boolean isStillBullish(int i, SMAIndicator sma50, SMAIndicator sma200) {
-        return sma50.getValue(i).doubleValue() > sma200.getValue(i).doubleValue();
+    private boolean isStillBullish(int i, IndicatorView sma50, IndicatorView sma200) {
+        return sma50.get(i) > sma200.get(i);
     }
 
     private void closePosition(OptionPosition position, BarSeries series, int i, BacktestResult result) {
@@ -122,6 +156,7 @@ public class EventDrivenOptionBacktester implements Backtester {
         if (finalPnL < 0) result.maxDrawdown = Math.min(result.maxDrawdown, finalPnL);
         logger.info("Closed position: Date={}, Strike={}, ExitReason=Exit, FinalPnL={}",
                     series.getBar(i).getEndTime().toLocalDate(), position.contract.strike(), finalPnL);
+        BacktestEvents.trade(NAME, TradeEvent.CLOSE, position.contract, series, i, finalPnL);
     }
 
     private interface Event {}
@@ -182,10 +217,12 @@ public class EventDrivenOptionBacktester implements Backtester {
 
     private static class OptionPosition {
         OptionContract contract;
+        MarkToModel mark;
         double pnl = 0;
 
-        public OptionPosition(OptionContract contract, double entryPrice) {
+        public OptionPosition(OptionContract contract, MarkToModel mark) {
             this.contract = contract;
+            this.mark = mark;
         }
     }
 }
@@ -1,17 +1,25 @@
 package com.optionstrader.backtest;
 
+import com.optionstrader.indicator.IndicatorCache;
+import com.optionstrader.indicator.IndicatorView;
+import com.optionstrader.jfr.ChainSelectionEvent;
+import com.optionstrader.jfr.TradeEvent;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
+import com.optionstrader.options.ChainProvider;
 import com.optionstrader.options.OptionChain;
 import com.optionstrader.options.OptionContract;
+import com.optionstrader.pricing.GreeksEngine;
+import com.optionstrader.pricing.MarkToModel;
+import com.optionstrader.signal.RuleCompiler;
+import com.optionstrader.signal.SignalVector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
-import org.ta4j.core.indicators.SMAIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 
 import java.time.LocalDate;
-import java.util.Comparator;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -21,20 +29,40 @@ import java.util.concurrent.atomic.AtomicReference;
 public class StreamBasedOptionBacktester implements Backtester {
 
     private static final Logger logger = LoggerFactory.getLogger(StreamBasedOptionBacktester.class);
+    private static final Timer RUN_TIMER = Metrics.timer("backtest.stream.run");
+    private static final Counter TRADES = Metrics.counter("backtest.stream.trades");
+    private static final String NAME = "stream";
+    /** First bar a strategy is evaluated at: the SMA(200) warm-up. */
+    private static final int STRATEGY_START_BAR = 200;
 
     @Override
-    public BacktestResult runBacktest(BarSeries series, Strategy strategy, Map<LocalDate, OptionChain> chains) {
+    public BacktestResult runBacktest(BarSeries series, Strategy strategy, ChainProvider chains) {
+        return run(series, strategy, STRATEGY_START_BAR, chains);
+    }
+
+    /**
+     * Starts at the vector's first bar rather than the strategy warm-up.
+     */
+    @Override
+    public BacktestResult runBacktest(BarSeries series, SignalVector signals, ChainProvider chains) {
+        return run(series, signals.toStrategy(), signals.getStartBar(), chains);
+    }
+
+    private BacktestResult run(BarSeries series, Strategy strategy, int startBar, ChainProvider chains) {
+        long start = RUN_TIMER.start();
         BacktestResult result = new BacktestResult();
         AtomicReference<OptionPosition> openPosition = new AtomicReference<>();
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma50 = new SMAIndicator(closePrice, 50);
-        SMAIndicator sma200 = new SMAIndicator(closePrice, 200);
+        IndicatorView sma50 = IndicatorCache.shared().sma(series, 50);
+        IndicatorView sma200 = IndicatorCache.shared().sma(series, 200);
+        DailyChainCursor cursor = new DailyChainCursor(series, chains);
+        ChainRepricer repricer = new ChainRepricer(series, cursor);
+        // Entry/exit rules become bit tests when the strategy compiles
+        Strategy rules = RuleCompiler.tryCompile(strategy, series);
 
-        int unstable = 200;
-        java.util.stream.IntStream.range(unstable, series.getBarCount()).forEach(i -> {
-            LocalDate date = series.getBar(i).getEndTime().toLocalDate();
-            OptionChain chain = chains.get(date);
+        java.util.stream.IntStream.range(startBar, series.getBarCount()).forEach(i -> {
+            OptionChain chain = cursor.chainAt(i);
+            LocalDate date = cursor.date();
             if (chain == null) {
                 logger.warn("No option chain for date {}", date);
                 return;
@@ -50,14 +78,14 @@ public class StreamBasedOptionBacktester implements Backtester {
                         hardStop(pos, series, i, result);
                     }
                     openPosition.set(null);
-                } else if (strategy.shouldExit(i)) {
+                } else if (rules.shouldExit(i)) {
                     closePosition(pos, series, i, result);
                     openPosition.set(null);
                 }
             }
 
-            if (openPosition.get() == null && strategy.shouldEnter(i)) {
-                Optional<OptionContract> contract = selectContract(chain, series.getBar(i).getClosePrice().doubleValue());
+            if (openPosition.get() == null && rules.shouldEnter(i)) {
+                Optional<OptionContract> contract = selectContract(repricer, chain, i);
                 contract.ifPresent(c -> {
                     OptionPosition newPos = openPosition(c, series, i);
                     openPosition.set(newPos);
@@ -73,32 +101,34 @@ public class StreamBasedOptionBacktester implements Backtester {
             closePosition(remaining, series, series.getBarCount() - 1, result);
         }
 
+        RUN_TIMER.stop(start);
+        TRADES.add(result.tradeCount);
         return result;
     }
 
-    private Optional<OptionContract> selectContract(OptionChain chain, double underlyingPrice) {
-        return chain.contracts().stream()
-            .filter(c -> "CALL".equals(c.type()) && c.dte() >= 30 && c.dte() <= 45)
-            .min(Comparator.comparingDouble(c -> Math.abs(c.delta() - 0.30)));
+    private Optional<OptionContract> selectContract(ChainRepricer repricer, OptionChain chain, int i) {
+        ChainSelectionEvent event = BacktestEvents.beginSelection();
+        OptionChain repriced = repricer.repriceAt(chain, i);
+        Optional<OptionContract> selected = repriced.index().closestDelta("CALL", 30, 45, 0.30);
+        return BacktestEvents.endSelection(event, NAME, repriced, selected);
     }
 
     private OptionPosition openPosition(OptionContract contract, BarSeries series, int i) {
-        return new OptionPosition(contract, series.getBar(i).getClosePrice().doubleValue());
+        BacktestEvents.trade(NAME, TradeEvent.OPEN, contract, series, i, 0);
+        return new OptionPosition(contract, MarkToModel.open(contract, series, i, GreeksEngine.DEFAULT_RATE));
     }
 
     private void updatePositionPnL(OptionPosition position, BarSeries series, int i) {
-        double underlyingChange = series.getBar(i).getClosePrice().doubleValue() - series.getBar(i - 1).getClosePrice().doubleValue();
-        double optionChange = position.contract.delta() * underlyingChange;
-        double thetaDecay = position.contract.theta();
-        position.pnl += optionChange - thetaDecay;
+        // Reprice from the bar close and time left, so delta and theta evolve over the hold
+        position.pnl = position.mark.pnlAt(series, i);
     }
 
     private boolean shouldRepair(OptionPosition position, Strategy strategy, int i) {
         return position.pnl < -0.20;
     }
 
-    private boolean isStillBullish(int i, SMAIndicator sma50, SMAIndicator sma200) {
-        return sma50.getValue(i).doubleValue() > sma200.getValue(i).doubleValue();
+    private boolean isStillBullish(int i, IndicatorView sma50, IndicatorView sma200) {
+        return sma50.get(i) > sma200.get(i);
     }
 
     private void executeRoll(OptionPosition position, OptionChain chain, BarSeries series, int i, BacktestResult result) {
@@ -116,14 +146,17 @@ public class StreamBasedOptionBacktester implements Backtester {
         if (finalPnL < 0) result.maxDrawdown = Math.min(result.maxDrawdown, finalPnL);
         logger.info("Closed position: Date={}, Strike={}, ExitReason=Exit, FinalPnL={}",
                     series.getBar(i).getEndTime().toLocalDate(), position.contract.strike(), finalPnL);
+        BacktestEvents.trade(NAME, TradeEvent.CLOSE, position.contract, series, i, finalPnL);
     }
 
     private static class OptionPosition {
         OptionContract contract;
+        MarkToModel mark;
         double pnl = 0;
 
-        public OptionPosition(OptionContract contract, double entryPrice) {
+        public OptionPosition(OptionContract contract, MarkToModel mark) {
             this.contract = contract;
+            this.mark = mark;
         }
     }
 }
@@ -0,0 +1,53 @@
+package com.optionstrader.indicator;
+
+/**
+ * Average true range with Wilder smoothing, matching ta4j's {@code ATRIndicator} on
+ * {@code DoubleNum}. The first bar's true range is its high-low span.
+ */
+public final class Atr {
+
+    private final Ema average;
+    private double previousClose = Double.NaN;
+    private double value = Double.NaN;
+
+    public Atr(int period) {
+        this.average = Ema.wilder(period);
+    }
+
+    public double update(double high, double low, double close) {
+        double trueRange = Math.abs(high - low);
+        if (!Double.isNaN(previousClose)) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(previousClose - low)));
+        }
+        previousClose = close;
+        value = average.update(trueRange);
+        return value;
+    }
+
+    public double value() {
+        return value;
+    }
+
+    public boolean isReady() {
+        return average.isReady();
+    }
+
+    public void reset() {
+        average.reset();
+        previousClose = Double.NaN;
+        value = Double.NaN;
+    }
+
+    public double[] apply(double[] highs, double[] lows, double[] closes) {
+        reset();
+        double[] result = new double[closes.length];
+        for (int i = 0; i < closes.length; i++) {
+            result[i] = update(highs[i], lows[i], closes[i]);
+        }
+        return result;
+    }
+
+    public int getPeriod() {
+        return average.getPeriod();
+    }
+}
@@ -0,0 +1,57 @@
+package com.optionstrader.indicator;
+
+/**
+ * Exponential moving average {@code prev + (x - prev) * k}, seeded with the first input. With
+ * {@code k = 2 / (period + 1)} it reproduces ta4j's {@code EMAIndicator} on {@code DoubleNum}
+ * bit for bit; {@link #wilder(int)} gives the {@code 1 / period} smoothing of ta4j's
+ * {@code MMAIndicator} used by RSI and ATR.
+ */
+public final class Ema implements RollingIndicator {
+
+    private final int period;
+    private final double multiplier;
+    private long count;
+    private double value = Double.NaN;
+
+    public Ema(int period) {
+        this(period, 2.0 / (period + 1));
+    }
+
+    private Ema(int period, double multiplier) {
+        this.period = period;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Wilder's modified moving average.
+     */
+    public static Ema wilder(int period) {
+        return new Ema(period, 1.0 / period);
+    }
+
+    @Override
+    public double update(double input) {
+        value = count++ == 0 ? input : value + (input - value) * multiplier;
+        return value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= period;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        value = Double.NaN;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,134 @@
+package com.optionstrader.indicator;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Registry of indicators keyed by (series identity, indicator type, parameters). Each indicator
+ * is evaluated once with ta4j's own implementation, copied into a {@code double[]}, and handed
+ * out as a shared {@link IndicatorView}, so the signal engine, the strategy rules and the
+ * backtesters read identical values without recomputing them. The ta4j indicator and its
+ * per-bar {@code Num} cache are dropped after the copy.
+ * <p>
+ * Series are held weakly. A view is recomputed when its series has changed since it was built:
+ * a new bar, a replaced last bar ({@code addBar(bar, true)}), or bars removed by a maximum bar
+ * count, which are told apart by the end index, the removed-bar count and the last bar's time
+ * and prices. Edits to earlier bars are not detected; call {@link #invalidate} after them.
+ */
+public final class IndicatorCache {
+
+    private static final IndicatorCache SHARED = new IndicatorCache();
+
+    private final Map<BarSeries, Map<Key, Cached>> bySeries = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong computeNanos = new AtomicLong();
+
+    /**
+     * Process-wide cache used by the engines and backtesters.
+     */
+    public static IndicatorCache shared() {
+        return SHARED;
+    }
+
+    public IndicatorView closePrice(BarSeries series) {
+        return view(series, "close", 0, ClosePriceIndicator::new);
+    }
+
+    public IndicatorView sma(BarSeries series, int period) {
+        return view(series, "sma", period, s -> new SMAIndicator(new ClosePriceIndicator(s), period));
+    }
+
+    public IndicatorView rsi(BarSeries series, int period) {
+        return view(series, "rsi", period, s -> new RSIIndicator(new ClosePriceIndicator(s), period));
+    }
+
+    /**
+     * Cached values of the indicator {@code factory} builds, identified by {@code type} and
+     * {@code period}; the pair must determine the indicator for a given series.
+     */
+    public IndicatorView view(BarSeries series, String type, int period, Function<BarSeries, Indicator<Num>> factory) {
+        Map<Key, Cached> views = bySeries.computeIfAbsent(series, s -> new ConcurrentHashMap<>());
+        Key key = new Key(type, period);
+        Cached cached = views.get(key);
+        Stamp stamp = Stamp.of(series);
+        if (cached != null && cached.stamp().equals(stamp)) {
+            hits.incrementAndGet();
+            return cached.view();
+        }
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        Indicator<Num> indicator = factory.apply(series);
+        int begin = Math.max(series.getBeginIndex(), 0);
+        double[] values = new double[series.getBarCount()];
+        // In index order, so recursive ta4j indicators never recurse deeply
+        for (int i = 0; i < values.length; i++) {
+            values[i] = indicator.getValue(begin + i).doubleValue();
+        }
+        IndicatorView view = new IndicatorView(type + (period > 0 ? "(" + period + ")" : ""), values, begin,
+                                               indicator.getUnstableBars());
+        computeNanos.addAndGet(System.nanoTime() - start);
+        views.put(key, new Cached(view, stamp));
+        return view;
+    }
+
+    /** Drops every view computed for {@code series}. */
+    public void invalidate(BarSeries series) {
+        bySeries.remove(series);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getTotalComputeNanos() {
+        return computeNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndicatorCache{series=%d, hits=%d, misses=%d, computeMs=%.1f}",
+                             bySeries.size(), getHits(), getMisses(), getTotalComputeNanos() / 1e6);
+    }
+
+    private record Key(String type, int period) {
+    }
+
+    private record Cached(IndicatorView view, Stamp stamp) {
+    }
+
+    /**
+     * What a view was computed from: the series' extent and its last bar.
+     */
+    private record Stamp(int endIndex, int removedBars, long lastEndMillis, double lastOpen, double lastHigh,
+                         double lastLow, double lastClose, double lastVolume) {
+
+        static Stamp of(BarSeries series) {
+            if (series.isEmpty()) {
+                return new Stamp(series.getEndIndex(), series.getRemovedBarsCount(), 0, 0, 0, 0, 0, 0);
+            }
+            Bar last = series.getLastBar();
+            return new Stamp(series.getEndIndex(), series.getRemovedBarsCount(),
+                             last.getEndTime().toInstant().toEpochMilli(), last.getOpenPrice().doubleValue(),
+                             last.getHighPrice().doubleValue(), last.getLowPrice().doubleValue(),
+                             last.getClosePrice().doubleValue(), last.getVolume().doubleValue());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.optionstrader.indicator;
+
+import java.util.Optional;
+
+/**
+ * Array kernels for the data-parallel steps of indicator and signal computation. Every
+ * implementation produces bit-identical results, so callers may pick any of them.
+ * <p>
+ * {@link #get()} returns the SIMD implementation built on {@code jdk.incubator.vector} when it was
+ * compiled in (the {@code vector} Maven profile) and the module is present at runtime
+ * ({@code --add-modules jdk.incubator.vector}), and the scalar one otherwise. The system property {@code optionstrader.kernels=scalar|vector} overrides the choice.
+ * <p>
+ * Masks are bitsets indexed by bar: bit {@code i} lives in {@code bits[i >>> 6]}.
+ */
+public interface IndicatorKernels {
+
+    String name();
+
+    /**
+     * {@code gains[i] = max(closes[i] - closes[i - 1], 0)} and the matching losses; index 0 is 0.
+     */
+    void gainsAndLosses(double[] closes, double[] gains, double[] losses);
+
+    /**
+     * {@code ratios[i] = |opens[i] - closes[i - 1]| / closes[i - 1]}; index 0 is 0.
+     */
+    void gapRatios(double[] opens, double[] closes, double[] ratios);
+
+    /**
+     * Double-double running sums: {@code high[i] + low[i]} is the sum of {@code values[0..i)}
+     * carried to about twice double precision. Both outputs have {@code values.length + 1} slots.
+     * The scan is sequential by nature, so this is shared by all implementations.
+     */
+    default void prefixSums(double[] values, double[] high, double[] low) {
+        double hi = 0;
+        double lo = 0;
+        for (int i = 0; i < values.length; i++) {
+            double x = values[i];
+            double sum = hi + x;
+            double virtual = sum - hi;
+            lo += (hi - (sum - virtual)) + (x - virtual);
+            hi = sum;
+            high[i + 1] = hi;
+            low[i + 1] = lo;
+        }
+    }
+
+    /**
+     * Moving averages from {@link #prefixSums} output; the first {@code period - 1} entries
+     * average the values seen so far, as ta4j does.
+     */
+    void windowMeans(double[] prefixHigh, double[] prefixLow, int period, double[] means);
+
+    /**
+     * Sets bit {@code i} for each {@code i} in {@code [from, to)} where {@code values[i] > threshold}.
+     */
+    void greaterThanMask(double[] values, double threshold, int from, int to, long[] bits);
+
+    /**
+     * Entry ({@code fast > slow && rsi < entryRsi}) and exit ({@code rsi > exitRsi || fast < slow})
+     * conditions of the Volatility-Optimized strategy over {@code [from, to)}.
+     */
+    void trendMasks(double[] fast, double[] slow, double[] rsi, double entryRsi, double exitRsi,
+                    int from, int to, long[] entryBits, long[] exitBits);
+
+    static IndicatorKernels get() {
+        return KernelSelection.SELECTED;
+    }
+
+    static IndicatorKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * The SIMD kernels, if the vector module is available in this JVM.
+     */
+    static Optional<IndicatorKernels> vector() {
+        return Optional.ofNullable(KernelSelection.VECTOR);
+    }
+
+    static long[] newMask(int length) {
+        return new long[(length + 63) >>> 6];
+    }
+
+    static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.optionstrader.indicator;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.AbstractIndicator;
+import org.ta4j.core.num.Num;
+
+import java.util.Arrays;
+
+/**
+ * Read-only view of an indicator computed once into a primitive array by {@link IndicatorCache}.
+ * Index {@code i} is bar {@code i} of the series it was computed from, in ta4j's indexing: the
+ * values cover {@code [getBeginIndex(), getBeginIndex() + size())}, which is everything from the
+ * series' begin index once a maximum bar count has removed older bars.
+ */
+public final class IndicatorView {
+
+    private final String name;
+    private final double[] values;
+    private final int beginIndex;
+    private final int unstableBars;
+
+    IndicatorView(String name, double[] values, int beginIndex, int unstableBars) {
+        this.name = name;
+        this.values = values;
+        this.beginIndex = beginIndex;
+        this.unstableBars = unstableBars;
+    }
+
+    public double get(int index) {
+        return values[index - beginIndex];
+    }
+
+    /** Number of bars covered. */
+    public int size() {
+        return values.length;
+    }
+
+    /** Series index of the first value. */
+    public int getBeginIndex() {
+        return beginIndex;
+    }
+
+    public int getUnstableBars() {
+        return unstableBars;
+    }
+
+    /** Copy of the values; position {@code p} is series index {@code getBeginIndex() + p}. */
+    public double[] toArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    /**
+     * ta4j adapter over the cached values, for rules. Values are converted with the series'
+     * {@code numOf}, so a {@code DoubleNum} series sees exactly what the source indicator returned.
+     */
+    public Indicator<Num> asIndicator(BarSeries series) {
+        return new Adapter(series, this);
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + values.length + "]";
+    }
+
+    /**
+     * The ta4j adapter returned by {@link #asIndicator}; exposes its view so rule compilers can
+     * read the primitive values directly.
+     */
+    public static final class Adapter extends AbstractIndicator<Num> {
+        private final IndicatorView view;
+
+        Adapter(BarSeries series, IndicatorView view) {
+            super(series);
+            this.view = view;
+        }
+
+        public IndicatorView getView() {
+            return view;
+        }
+
+        @Override
+        public Num getValue(int index) {
+            return numOf(view.get(index));
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return view.unstableBars;
+        }
+
+        @Override
+        public String toString() {
+            return view.name;
+        }
+    }
+}
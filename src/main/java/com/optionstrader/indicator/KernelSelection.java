@@ -0,0 +1,42 @@
+package com.optionstrader.indicator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the {@link IndicatorKernels} implementation once per JVM.
+ */
+final class KernelSelection {
+
+    private static final Logger logger = LoggerFactory.getLogger(KernelSelection.class);
+
+    static final IndicatorKernels VECTOR = loadVector();
+    static final IndicatorKernels SELECTED = select();
+
+    private KernelSelection() {
+    }
+
+    private static IndicatorKernels loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // Loaded reflectively so this class links without the incubator module
+            return (IndicatorKernels) Class.forName("com.optionstrader.indicator.VectorKernels")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Vector kernels unavailable, using scalar: {}", e.toString());
+            return null;
+        }
+    }
+
+    private static IndicatorKernels select() {
+        String requested = System.getProperty("optionstrader.kernels", "auto");
+        IndicatorKernels selected = "scalar".equals(requested) || VECTOR == null ? ScalarKernels.INSTANCE : VECTOR;
+        if ("vector".equals(requested) && VECTOR == null) {
+            logger.warn("Vector kernels requested but not available; build with -Pvector and run with --add-modules jdk.incubator.vector");
+        }
+        logger.info("Using {} indicator kernels", selected.name());
+        return selected;
+    }
+}
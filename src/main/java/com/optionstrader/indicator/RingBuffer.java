@@ -0,0 +1,62 @@
+package com.optionstrader.indicator;
+
+/**
+ * Fixed-capacity ring of doubles holding the most recent window of inputs.
+ */
+public final class RingBuffer {
+
+    private final double[] values;
+    private int head; // index of the oldest value
+    private int size;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Appends {@code value}, returning the value it displaced, or {@code NaN} while not yet full.
+     */
+    public double push(double value) {
+        if (size < values.length) {
+            int slot = head + size;
+            values[slot >= values.length ? slot - values.length : slot] = value;
+            size++;
+            return Double.NaN;
+        }
+        double evicted = values[head];
+        values[head] = value;
+        head = head + 1 == values.length ? 0 : head + 1;
+        return evicted;
+    }
+
+    /**
+     * Value {@code age} positions back from the newest (0 is the newest).
+     */
+    public double get(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("Age " + age + " outside window of " + size);
+        }
+        int slot = head + size - 1 - age;
+        return values[slot >= values.length ? slot - values.length : slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
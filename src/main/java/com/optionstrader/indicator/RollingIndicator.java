@@ -0,0 +1,42 @@
+package com.optionstrader.indicator;
+
+/**
+ * Single-input indicator updated one value at a time in O(1), with state bounded by its period.
+ * Values before the indicator is ready follow the ta4j convention for the same indicator (a
+ * partial-window average, a seeded recursion), so arrays produced by {@link #apply(double[])}
+ * line up index for index with the ta4j indicator over the same series.
+ */
+public interface RollingIndicator {
+
+    /**
+     * Feeds the next input value and returns the indicator value at that position.
+     */
+    double update(double value);
+
+    /**
+     * The value returned by the last {@link #update(double)}, or {@code NaN} before the first.
+     */
+    double value();
+
+    /**
+     * Whether a full period of input has been seen.
+     */
+    boolean isReady();
+
+    /**
+     * Discards all state, as if freshly constructed.
+     */
+    void reset();
+
+    /**
+     * Resets the indicator and runs it over {@code values}, returning the value at every index.
+     */
+    default double[] apply(double[] values) {
+        reset();
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = update(values[i]);
+        }
+        return result;
+    }
+}
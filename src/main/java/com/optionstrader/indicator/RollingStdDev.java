@@ -0,0 +1,67 @@
+package com.optionstrader.indicator;
+
+/**
+ * Population standard deviation over a sliding window, kept with Welford's update extended to
+ * replace the evicted value, which avoids the cancellation of a sum-of-squares formulation.
+ * Matches ta4j's {@code StandardDeviationIndicator} (including its partial first windows) to
+ * within rounding.
+ */
+public final class RollingStdDev implements RollingIndicator {
+
+    private final int period;
+    private final RingBuffer window;
+    private double mean;
+    private double m2;
+    private double value = Double.NaN;
+
+    public RollingStdDev(int period) {
+        this.period = period;
+        this.window = new RingBuffer(period);
+    }
+
+    @Override
+    public double update(double input) {
+        double evicted = window.push(input);
+        int n = window.size();
+        if (Double.isNaN(evicted)) {
+            double delta = input - mean;
+            mean += delta / n;
+            m2 += delta * (input - mean);
+        } else {
+            double previousMean = mean;
+            mean += (input - evicted) / n;
+            m2 += (input - evicted) * (input - mean + evicted - previousMean);
+        }
+        value = Math.sqrt(Math.max(0, m2) / n);
+        return value;
+    }
+
+    /**
+     * Mean of the current window.
+     */
+    public double mean() {
+        return mean;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        mean = 0;
+        m2 = 0;
+        value = Double.NaN;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
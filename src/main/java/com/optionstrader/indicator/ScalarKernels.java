@@ -0,0 +1,77 @@
+package com.optionstrader.indicator;
+
+/**
+ * Plain-loop reference implementation of {@link IndicatorKernels}.
+ */
+final class ScalarKernels implements IndicatorKernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void gainsAndLosses(double[] closes, double[] gains, double[] losses) {
+        if (closes.length == 0) {
+            return;
+        }
+        gains[0] = 0;
+        losses[0] = 0;
+        for (int i = 1; i < closes.length; i++) {
+            double close = closes[i];
+            double previous = closes[i - 1];
+            gains[i] = close > previous ? close - previous : 0;
+            losses[i] = close < previous ? previous - close : 0;
+        }
+    }
+
+    @Override
+    public void gapRatios(double[] opens, double[] closes, double[] ratios) {
+        if (closes.length == 0) {
+            return;
+        }
+        ratios[0] = 0;
+        for (int i = 1; i < closes.length; i++) {
+            ratios[i] = Math.abs(opens[i] - closes[i - 1]) / closes[i - 1];
+        }
+    }
+
+    @Override
+    public void windowMeans(double[] prefixHigh, double[] prefixLow, int period, double[] means) {
+        windowMeans(prefixHigh, prefixLow, period, means, 0, means.length);
+    }
+
+    static void windowMeans(double[] prefixHigh, double[] prefixLow, int period, double[] means, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int start = Math.max(0, i + 1 - period);
+            means[i] = ((prefixHigh[i + 1] - prefixHigh[start]) + (prefixLow[i + 1] - prefixLow[start])) / (i + 1 - start);
+        }
+    }
+
+    @Override
+    public void greaterThanMask(double[] values, double threshold, int from, int to, long[] bits) {
+        for (int i = from; i < to; i++) {
+            if (values[i] > threshold) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void trendMasks(double[] fast, double[] slow, double[] rsi, double entryRsi, double exitRsi,
+                           int from, int to, long[] entryBits, long[] exitBits) {
+        for (int i = from; i < to; i++) {
+            if (fast[i] > slow[i] && rsi[i] < entryRsi) {
+                entryBits[i >>> 6] |= 1L << i;
+            }
+            if (rsi[i] > exitRsi || fast[i] < slow[i]) {
+                exitBits[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+}
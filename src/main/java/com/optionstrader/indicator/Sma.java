@@ -0,0 +1,64 @@
+package com.optionstrader.indicator;
+
+/**
+ * Simple moving average over a ring buffer with a running sum. The sum is compensated
+ * (Neumaier), so adding and subtracting millions of values does not drift: results stay within
+ * a few ulps of summing each window from scratch, which is what ta4j's {@code SMAIndicator} does.
+ * Before the window is full the average is taken over the values seen so far, as in ta4j.
+ */
+public final class Sma implements RollingIndicator {
+
+    private final int period;
+    private final RingBuffer window;
+    private double sum;
+    private double compensation;
+    private double value = Double.NaN;
+
+    public Sma(int period) {
+        this.period = period;
+        this.window = new RingBuffer(period);
+    }
+
+    @Override
+    public double update(double input) {
+        double evicted = window.push(input);
+        add(input);
+        if (!Double.isNaN(evicted)) {
+            add(-evicted);
+        }
+        value = (sum + compensation) / window.size();
+        return value;
+    }
+
+    private void add(double x) {
+        double t = sum + x;
+        if (Math.abs(sum) >= Math.abs(x)) {
+            compensation += (sum - t) + x;
+        } else {
+            compensation += (x - t) + sum;
+        }
+        sum = t;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        sum = 0;
+        compensation = 0;
+        value = Double.NaN;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,142 @@
+package com.optionstrader.indicator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link IndicatorKernels} on the incubating Vector API, using the widest double species of the
+ * CPU. Lanes perform the same IEEE operations as {@link ScalarKernels}, so results match it bit
+ * for bit; loop tails fall back to the scalar code. Only instantiated reflectively by
+ * {@link KernelSelection}, after checking that {@code jdk.incubator.vector} is present.
+ */
+final class VectorKernels implements IndicatorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final DoubleVector ZERO = DoubleVector.zero(SPECIES);
+    // 1, 2, 4, ... per lane: summing the selected weights packs a mask into an integer
+    private static final DoubleVector LANE_BITS = DoubleVector.fromArray(SPECIES, laneBits(), 0);
+
+    @Override
+    public String name() {
+        return "vector(" + LANES + "x64)";
+    }
+
+    @Override
+    public void gainsAndLosses(double[] closes, double[] gains, double[] losses) {
+        int n = closes.length;
+        if (n == 0) {
+            return;
+        }
+        gains[0] = 0;
+        losses[0] = 0;
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        int i = 1;
+        for (int bound = 1 + SPECIES.loopBound(n - 1); i < bound; i += LANES) {
+            DoubleVector close = DoubleVector.fromArray(SPECIES, closes, i);
+            DoubleVector previous = DoubleVector.fromArray(SPECIES, closes, i - 1);
+            zero.blend(close.sub(previous), close.compare(VectorOperators.GT, previous)).intoArray(gains, i);
+            zero.blend(previous.sub(close), close.compare(VectorOperators.LT, previous)).intoArray(losses, i);
+        }
+        for (; i < n; i++) {
+            double close = closes[i];
+            double previous = closes[i - 1];
+            gains[i] = close > previous ? close - previous : 0;
+            losses[i] = close < previous ? previous - close : 0;
+        }
+    }
+
+    @Override
+    public void gapRatios(double[] opens, double[] closes, double[] ratios) {
+        int n = closes.length;
+        if (n == 0) {
+            return;
+        }
+        ratios[0] = 0;
+        int i = 1;
+        for (int bound = 1 + SPECIES.loopBound(n - 1); i < bound; i += LANES) {
+            DoubleVector previous = DoubleVector.fromArray(SPECIES, closes, i - 1);
+            DoubleVector.fromArray(SPECIES, opens, i).sub(previous).abs().div(previous).intoArray(ratios, i);
+        }
+        for (; i < n; i++) {
+            ratios[i] = Math.abs(opens[i] - closes[i - 1]) / closes[i - 1];
+        }
+    }
+
+    @Override
+    public void windowMeans(double[] prefixHigh, double[] prefixLow, int period, double[] means) {
+        int n = means.length;
+        int first = Math.min(n, period - 1);
+        ScalarKernels.windowMeans(prefixHigh, prefixLow, period, means, 0, first);
+        int i = first;
+        for (int bound = first + SPECIES.loopBound(n - first); i < bound; i += LANES) {
+            DoubleVector high = DoubleVector.fromArray(SPECIES, prefixHigh, i + 1)
+                .sub(DoubleVector.fromArray(SPECIES, prefixHigh, i + 1 - period));
+            DoubleVector low = DoubleVector.fromArray(SPECIES, prefixLow, i + 1)
+                .sub(DoubleVector.fromArray(SPECIES, prefixLow, i + 1 - period));
+            high.add(low).div(period).intoArray(means, i);
+        }
+        ScalarKernels.windowMeans(prefixHigh, prefixLow, period, means, i, n);
+    }
+
+    @Override
+    public void greaterThanMask(double[] values, double threshold, int from, int to, long[] bits) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            orBits(bits, i, DoubleVector.fromArray(SPECIES, values, i).compare(VectorOperators.GT, threshold));
+        }
+        for (; i < to; i++) {
+            if (values[i] > threshold) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Override
+    public void trendMasks(double[] fast, double[] slow, double[] rsi, double entryRsi, double exitRsi,
+                           int from, int to, long[] entryBits, long[] exitBits) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector f = DoubleVector.fromArray(SPECIES, fast, i);
+            DoubleVector s = DoubleVector.fromArray(SPECIES, slow, i);
+            DoubleVector r = DoubleVector.fromArray(SPECIES, rsi, i);
+            orBits(entryBits, i, f.compare(VectorOperators.GT, s).and(r.compare(VectorOperators.LT, entryRsi)));
+            orBits(exitBits, i, r.compare(VectorOperators.GT, exitRsi).or(f.compare(VectorOperators.LT, s)));
+        }
+        for (; i < to; i++) {
+            if (fast[i] > slow[i] && rsi[i] < entryRsi) {
+                entryBits[i >>> 6] |= 1L << i;
+            }
+            if (rsi[i] > exitRsi || fast[i] < slow[i]) {
+                exitBits[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    private static double[] laneBits() {
+        double[] bits = new double[LANES];
+        for (int lane = 0; lane < LANES; lane++) {
+            bits[lane] = 1L << lane;
+        }
+        return bits;
+    }
+
+    /**
+     * ORs the lane bits of {@code mask} into the bitset at {@code index}, spilling into the next
+     * word when the lanes straddle a 64-bit boundary.
+     */
+    private static void orBits(long[] bits, int index, VectorMask<Double> mask) {
+        // VectorMask.toLong() is not intrinsified on JDK 17; a lane reduction is
+        long lanes = (long) ZERO.blend(LANE_BITS, mask).reduceLanes(VectorOperators.ADD);
+        if (lanes == 0) {
+            return;
+        }
+        int shift = index & 63;
+        bits[index >>> 6] |= lanes << shift;
+        if (shift + LANES > 64) {
+            bits[(index >>> 6) + 1] |= lanes >>> (64 - shift);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.optionstrader.indicator;
+
+/**
+ * Relative strength index with Wilder smoothing of gains and losses, matching ta4j's
+ * {@code RSIIndicator} on {@code DoubleNum}: the first bar contributes a zero gain and loss, the
+ * averages are seeded from it, and a zero average loss yields 100 (or 0 when gains are zero too).
+ */
+public final class WilderRsi implements RollingIndicator {
+
+    private final int period;
+    private final Ema averageGain;
+    private final Ema averageLoss;
+    private double previous = Double.NaN;
+    private double value = Double.NaN;
+
+    public WilderRsi(int period) {
+        this.period = period;
+        this.averageGain = Ema.wilder(period);
+        this.averageLoss = Ema.wilder(period);
+    }
+
+    @Override
+    public double update(double close) {
+        double gain = 0;
+        double loss = 0;
+        if (!Double.isNaN(previous)) {
+            if (close > previous) {
+                gain = close - previous;
+            } else if (close < previous) {
+                loss = previous - close;
+            }
+        }
+        previous = close;
+        double avgGain = averageGain.update(gain);
+        double avgLoss = averageLoss.update(loss);
+        if (avgLoss == 0) {
+            value = avgGain == 0 ? 0 : 100;
+        } else {
+            value = 100 - 100 / (1 + avgGain / avgLoss);
+        }
+        return value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public boolean isReady() {
+        return averageGain.isReady();
+    }
+
+    @Override
+    public void reset() {
+        averageGain.reset();
+        averageLoss.reset();
+        previous = Double.NaN;
+        value = Double.NaN;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,520 @@
+package com.optionstrader.ingestion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Hand-rolled scanner for the Massive aggregate response shape
+ * {@code {"ticker":..,"results":[{"t":..,"o":..,"h":..,"l":..,"c":..,"v":..},..],..}}.
+ * It walks the UTF-8 bytes in a reusable buffer and writes numbers straight into a
+ * {@link BarColumns} store: no field-name strings, boxed numbers or time objects are created
+ * per bar. Unknown keys (e.g. {@code vw}, {@code n}) are skipped structurally. A bar whose
+ * timestamp or prices are null or absent is rejected, as the Jackson loaders reject it; a null
+ * volume reads as 0.
+ */
+final class AggregateByteScanner {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // Exact powers of ten for the Clinger fast path (10^0 .. 10^22 are exactly representable).
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // Bar fields that must be present, in bit order of the mask scanBar builds
+    private static final String REQUIRED_KEYS = "tohlc";
+    private static final int REQUIRED_FIELDS = (1 << REQUIRED_KEYS.length()) - 1;
+
+    private static final byte[] TICKER = "ticker".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESULTS = "results".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESULTS_COUNT = "resultsCount".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEXT_URL = "next_url".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream in;
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    private final byte[] keyBuf = new byte[32];
+    private int keyLength;
+
+    private String ticker = "";
+    private String nextUrl;
+    private int resultsCount = -1;
+
+    AggregateByteScanner(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    AggregateByteScanner(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buf = new byte[bufferSize];
+    }
+
+    /**
+     * Scans one response body. Bars are appended to {@code target}; when {@code target} is null
+     * a new store named after the response ticker is created.
+     */
+    BarColumns scan(BarColumns target, Duration barDuration, ZoneId zone) throws IOException {
+        BarColumns columns = target;
+        expect('{');
+        if (skipWhitespaceAndPeek() == '}') {
+            pos++;
+        } else {
+            do {
+                readKey();
+                expect(':');
+                if (keyEquals(RESULTS)) {
+                    if (columns == null) {
+                        columns = new BarColumns(ticker, barDuration, zone, Math.max(resultsCount, 16));
+                    } else if (resultsCount > 0) {
+                        columns.ensureCapacity(columns.size() + resultsCount);
+                    }
+                    scanResults(columns);
+                } else if (keyEquals(TICKER)) {
+                    ticker = readStringOrNull();
+                } else if (keyEquals(NEXT_URL)) {
+                    nextUrl = readStringOrNull();
+                } else if (keyEquals(RESULTS_COUNT)) {
+                    resultsCount = (int) readLong();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+        if (columns == null) {
+            columns = new BarColumns(ticker, barDuration, zone);
+        }
+        return columns;
+    }
+
+    String ticker() {
+        return ticker;
+    }
+
+    /**
+     * The pagination cursor of the last scanned response, or null when it was the final page.
+     */
+    String nextUrl() {
+        return nextUrl;
+    }
+
+    /**
+     * Number of bytes consumed from the input so far.
+     */
+    long bytesConsumed() {
+        return consumed + pos;
+    }
+
+    private void scanResults(BarColumns columns) throws IOException {
+        int c = skipWhitespaceAndPeek();
+        if (c == 'n') {
+            skipValue(); // null
+            return;
+        }
+        expect('[');
+        if (skipWhitespaceAndPeek() == ']') {
+            pos++;
+            return;
+        }
+        do {
+            scanBar(columns);
+        } while (nextMember(']'));
+    }
+
+    private void scanBar(BarColumns columns) throws IOException {
+        long start = bytesConsumed();
+        long timestampMs = 0;
+        double open = 0, high = 0, low = 0, close = 0;
+        long volume = 0;
+        int seen = 0;
+        expect('{');
+        if (skipWhitespaceAndPeek() == '}') {
+            pos++;
+        } else {
+            do {
+                readKey();
+                expect(':');
+                if (keyLength == 1) {
+                    switch (keyBuf[0]) {
+                        case 't':
+                            timestampMs = readLong();
+                            seen |= 1;
+                            break;
+                        case 'o':
+                            open = readRequiredDouble('o');
+                            seen |= 2;
+                            break;
+                        case 'h':
+                            high = readRequiredDouble('h');
+                            seen |= 4;
+                            break;
+                        case 'l':
+                            low = readRequiredDouble('l');
+                            seen |= 8;
+                            break;
+                        case 'c':
+                            close = readRequiredDouble('c');
+                            seen |= 16;
+                            break;
+                        case 'v':
+                            volume = (long) readDouble();
+                            break;
+                        default:
+                            skipValue();
+                    }
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+        if (seen != REQUIRED_FIELDS) {
+            StringBuilder missing = new StringBuilder();
+            for (int field = 0; field < REQUIRED_KEYS.length(); field++) {
+                if ((seen & (1 << field)) == 0) {
+                    missing.append(missing.length() == 0 ? "" : ", ").append(REQUIRED_KEYS.charAt(field));
+                }
+            }
+            throw new IOException("Bar at byte " + start + " is missing " + missing);
+        }
+        columns.add(timestampMs, open, high, low, close, volume);
+    }
+
+    // ---- Structural helpers ----
+
+    /**
+     * Consumes a member separator. Returns true if another member follows, false on {@code close}.
+     */
+    private boolean nextMember(char close) throws IOException {
+        int c = skipWhitespaceAndPeek();
+        pos++;
+        if (c == ',') {
+            return true;
+        }
+        if (c == close) {
+            return false;
+        }
+        throw error("Expected ',' or '" + close + "'", c);
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = skipWhitespaceAndPeek();
+        if (c != expected) {
+            throw error("Expected '" + expected + "'", c);
+        }
+        pos++;
+    }
+
+    private int skipWhitespaceAndPeek() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            byte b = buf[pos];
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                pos++;
+            } else {
+                return b;
+            }
+        }
+    }
+
+    private int next() throws IOException {
+        if (pos == limit && !fill()) {
+            throw new IOException("Unexpected end of input at byte " + bytesConsumed());
+        }
+        return buf[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    /**
+     * Reads an object key into {@link #keyBuf}. Keys longer than the buffer are truncated,
+     * which is harmless because they never match a key we care about.
+     */
+    private void readKey() throws IOException {
+        expect('"');
+        keyLength = 0;
+        while (true) {
+            int b = next();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                b = next();
+            }
+            if (keyLength < keyBuf.length) {
+                keyBuf[keyLength] = (byte) b;
+            }
+            keyLength++;
+        }
+    }
+
+    private boolean keyEquals(byte[] key) {
+        if (keyLength != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (keyBuf[i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a string value. Allocates, so only used for per-response fields.
+     */
+    private String readStringOrNull() throws IOException {
+        int c = skipWhitespaceAndPeek();
+        if (c == 'n') {
+            skipValue();
+            return null;
+        }
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        while (true) {
+            int b = next();
+            if (b == '"') {
+                break;
+            }
+            if (b == '\\') {
+                int e = next();
+                switch (e) {
+                    case 'n': bytes.write('\n'); break;
+                    case 't': bytes.write('\t'); break;
+                    case 'r': bytes.write('\r'); break;
+                    case 'b': bytes.write('\b'); break;
+                    case 'f': bytes.write('\f'); break;
+                    case 'u': {
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = (code << 4) | Character.digit(next(), 16);
+                        }
+                        flush(bytes, sb);
+                        sb.append((char) code);
+                        break;
+                    }
+                    default: bytes.write(e);
+                }
+            } else {
+                bytes.write(b);
+            }
+        }
+        flush(bytes, sb);
+        return sb.toString();
+    }
+
+    private static void flush(ByteArrayOutputStream bytes, StringBuilder sb) {
+        if (bytes.size() > 0) {
+            sb.append(bytes.toString(StandardCharsets.UTF_8));
+            bytes.reset();
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = skipWhitespaceAndPeek();
+        switch (c) {
+            case '"':
+                pos++;
+                skipStringBody();
+                break;
+            case '{':
+            case '[':
+                skipContainer();
+                break;
+            default:
+                // number, true, false, null
+                while (true) {
+                    int b = peek();
+                    if (b == -1 || b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                        break;
+                    }
+                    pos++;
+                }
+        }
+    }
+
+    private void skipStringBody() throws IOException {
+        while (true) {
+            int b = next();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                next();
+            }
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int depth = 0;
+        while (true) {
+            int b = next();
+            if (b == '"') {
+                skipStringBody();
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (--depth == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // ---- Number parsing ----
+
+    private long readLong() throws IOException {
+        skipWhitespaceAndPeek();
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (true) {
+            int b = peek();
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits++;
+                pos++;
+            } else if (b == '.' || b == 'e' || b == 'E') {
+                // Not an integer literal after all; finish it as a double and truncate
+                double d = finishDouble(value, digits, negative);
+                return (long) d;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            throw error("Expected number", peek());
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * A price field, which unlike volume may not be null.
+     */
+    private double readRequiredDouble(char key) throws IOException {
+        int c = skipWhitespaceAndPeek();
+        if (c == 'n') {
+            throw new IOException("Bar field \"" + key + "\" is null at byte " + bytesConsumed());
+        }
+        return readDouble();
+    }
+
+    private double readDouble() throws IOException {
+        int c = skipWhitespaceAndPeek();
+        if (c == 'n') {
+            skipValue();
+            return 0;
+        }
+        boolean negative = false;
+        if (c == '-') {
+            negative = true;
+            pos++;
+        }
+        return finishDouble(0, 0, negative);
+    }
+
+    /**
+     * Continues parsing a JSON number whose leading integer digits ({@code mantissa}, {@code digits})
+     * were already consumed. Uses the exact fast path when the mantissa fits in 53 bits and the
+     * decimal exponent is within 10^±22; otherwise falls back to {@link Double#parseDouble}, so
+     * results are always correctly rounded and bit-identical to Jackson.
+     */
+    private double finishDouble(long mantissa, int digits, boolean negative) throws IOException {
+        int significant = mantissa == 0 ? 0 : digits;
+        int scale = 0;
+        StringBuilder tail = null; // digits beyond 18 significant, only for pathological inputs
+        int b;
+        while ((b = peek()) >= '0' && b <= '9') {
+            if (significant < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) significant++;
+            } else {
+                if (tail == null) tail = new StringBuilder();
+                tail.append((char) b);
+            }
+            digits++;
+            pos++;
+        }
+        if (b == '.') {
+            pos++;
+            while ((b = peek()) >= '0' && b <= '9') {
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) significant++;
+                } else {
+                    if (tail == null) tail = new StringBuilder();
+                    tail.append((char) b);
+                }
+                scale--;
+                digits++;
+                pos++;
+            }
+        }
+        int exponent = 0;
+        if (b == 'e' || b == 'E') {
+            pos++;
+            boolean expNegative = false;
+            b = peek();
+            if (b == '+' || b == '-') {
+                expNegative = b == '-';
+                pos++;
+            }
+            while ((b = peek()) >= '0' && b <= '9') {
+                if (exponent < 10000) {
+                    exponent = exponent * 10 + (b - '0');
+                }
+                pos++;
+            }
+            if (expNegative) {
+                exponent = -exponent;
+            }
+        }
+        if (digits == 0) {
+            throw error("Expected number", b);
+        }
+        int totalScale = scale + exponent;
+        double value;
+        if (tail == null && mantissa < MAX_EXACT_MANTISSA && totalScale >= -22 && totalScale <= 22) {
+            value = totalScale >= 0 ? mantissa * POWERS_OF_TEN[totalScale] : mantissa / POWERS_OF_TEN[-totalScale];
+        } else {
+            value = Double.parseDouble(mantissa + (tail == null ? "" : tail.toString()) + "E" + totalScale);
+        }
+        return negative ? -value : value;
+    }
+
+    private IOException error(String message, int found) {
+        String actual = found == -1 ? "end of input" : "'" + (char) found + "'";
+        return new IOException(message + " but found " + actual + " at byte " + bytesConsumed());
+    }
+}
@@ -0,0 +1,219 @@
+package com.optionstrader.ingestion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Versioned binary bar cache. A file holds one series in columnar layout:
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "OTBC"
+ *      4     4  format version
+ *      8     4  bar count
+ *     12     4  data offset (start of the time column, 8-byte aligned)
+ *     16     8  bar duration in millis
+ *     24     8  source file size in bytes
+ *     32     8  source file last-modified in epoch millis
+ *     40     2  ticker length, followed by UTF-8 ticker bytes
+ *      ..    2  zone id length, followed by UTF-8 zone id bytes
+ *      ..    2  source path length, followed by the UTF-8 absolute source path
+ *   data  8*n  time column (epoch millis), then open, high, low, close, volume columns
+ * </pre>
+ *
+ * All values are little-endian. A file is mapped as one buffer, which caps a cache at roughly
+ * 44M bars. {@link #isFresh} compares the source size and timestamp recorded at write time to
+ * detect that the JSON has changed, and the recorded source path and zone to reject a cache
+ * written for another file or read with another exchange zone.
+ * <p>
+ * Reading is a fast binary load, not a zero-copy view: {@link BarColumns} hands its raw heap
+ * arrays to hot loops, so {@link #read} bulk-copies each mapped column onto the heap and
+ * recomputes trading dates. Startup therefore stays linear in the bar count, but skips JSON
+ * tokenizing and number parsing entirely.
+ */
+public final class BarCacheFile {
+
+    static final int MAGIC = 0x4342544F; // "OTBC" read little-endian
+    static final int VERSION = 2;
+    private static final int FIXED_HEADER = 40;
+
+    private BarCacheFile() {
+    }
+
+    /**
+     * Writes {@code columns} to {@code cacheFile}, stamping it with the size and modification
+     * time of {@code source}. The file is written to a temporary sibling and moved into place,
+     * so readers never observe a partial cache.
+     */
+    public static void write(BarColumns columns, Path cacheFile, Path source) throws IOException {
+        byte[] ticker = columns.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] zone = columns.getZone().getId().getBytes(StandardCharsets.UTF_8);
+        byte[] sourcePath = sourcePath(source).getBytes(StandardCharsets.UTF_8);
+        int headerLength = FIXED_HEADER + 2 + ticker.length + 2 + zone.length + 2 + sourcePath.length;
+        int dataOffset = (headerLength + 7) & ~7;
+        int count = columns.size();
+        long fileSize = dataOffset + 48L * count;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Series of " + count + " bars exceeds the 2 GB single-mapping cache limit");
+        }
+
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC)
+                      .putInt(VERSION)
+                      .putInt(count)
+                      .putInt(dataOffset)
+                      .putLong(columns.getBarDuration().toMillis())
+                      .putLong(Files.size(source))
+                      .putLong(Files.getLastModifiedTime(source).toMillis())
+                      .putShort((short) ticker.length)
+                      .put(ticker)
+                      .putShort((short) zone.length)
+                      .put(zone)
+                      .putShort((short) sourcePath.length)
+                      .put(sourcePath);
+                buffer.position(dataOffset);
+                buffer.asLongBuffer().put(columns.timeColumn(), 0, count);
+                putColumn(buffer, dataOffset, 1, count, columns.openColumn());
+                putColumn(buffer, dataOffset, 2, count, columns.highColumn());
+                putColumn(buffer, dataOffset, 3, count, columns.lowColumn());
+                putColumn(buffer, dataOffset, 4, count, columns.closeColumn());
+                putColumn(buffer, dataOffset, 5, count, columns.volumeColumn());
+                buffer.force();
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps {@code cacheFile} and bulk-copies its columns into a new heap-backed store; the mapping
+     * is not retained.
+     */
+    public static BarColumns read(Path cacheFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            Header header = readHeader(buffer);
+            if (header == null) {
+                throw new IOException("Not a version " + VERSION + " bar cache: " + cacheFile);
+            }
+            int count = header.count;
+            if (channel.size() < header.dataOffset + 48L * count) {
+                throw new IOException("Truncated bar cache: " + cacheFile);
+            }
+            long[] times = new long[count];
+            double[] opens = new double[count];
+            double[] highs = new double[count];
+            double[] lows = new double[count];
+            double[] closes = new double[count];
+            double[] volumes = new double[count];
+            buffer.position(header.dataOffset);
+            buffer.asLongBuffer().get(times);
+            getColumn(buffer, header.dataOffset, 1, opens);
+            getColumn(buffer, header.dataOffset, 2, highs);
+            getColumn(buffer, header.dataOffset, 3, lows);
+            getColumn(buffer, header.dataOffset, 4, closes);
+            getColumn(buffer, header.dataOffset, 5, volumes);
+            return BarColumns.wrap(header.ticker, Duration.ofMillis(header.barDurationMillis), ZoneId.of(header.zone),
+                                   times, opens, highs, lows, closes, volumes);
+        }
+    }
+
+    /**
+     * True when {@code cacheFile} exists, has the current format version and was written from
+     * {@code source}, in {@code zone}, while the source had the size and modification time it has
+     * now.
+     */
+    public static boolean isFresh(Path cacheFile, Path source, ZoneId zone) throws IOException {
+        if (!Files.isRegularFile(cacheFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            ByteBuffer fixed = ByteBuffer.allocate((int) Math.min(channel.size(), FIXED_HEADER))
+                                         .order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(fixed, 0);
+            fixed.flip();
+            if (fixed.remaining() < FIXED_HEADER || fixed.getInt(0) != MAGIC || fixed.getInt(4) != VERSION) {
+                return false;
+            }
+            int dataOffset = fixed.getInt(12);
+            if (dataOffset < FIXED_HEADER || dataOffset > channel.size()) {
+                return false;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(buffer, 0);
+            buffer.flip();
+            Header header = readHeader(buffer);
+            return header != null
+                && header.sourceSize == Files.size(source)
+                && header.sourceModifiedMillis == Files.getLastModifiedTime(source).toMillis()
+                && header.sourcePath.equals(sourcePath(source))
+                && header.zone.equals(zone.getId());
+        }
+    }
+
+    private static String sourcePath(Path source) {
+        return source.toAbsolutePath().normalize().toString();
+    }
+
+    private static Header readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < FIXED_HEADER || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+        Header header = new Header();
+        header.count = buffer.getInt();
+        header.dataOffset = buffer.getInt();
+        header.barDurationMillis = buffer.getLong();
+        header.sourceSize = buffer.getLong();
+        header.sourceModifiedMillis = buffer.getLong();
+        header.ticker = readString(buffer);
+        header.zone = readString(buffer);
+        header.sourcePath = readString(buffer);
+        return header;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putColumn(ByteBuffer buffer, int dataOffset, int column, int count, double[] values) {
+        buffer.position(dataOffset + column * 8 * count);
+        buffer.asDoubleBuffer().put(values, 0, count);
+    }
+
+    private static void getColumn(ByteBuffer buffer, int dataOffset, int column, double[] values) {
+        buffer.position(dataOffset + column * 8 * values.length);
+        buffer.asDoubleBuffer().get(values);
+    }
+
+    private static class Header {
+        int count;
+        int dataOffset;
+        long barDurationMillis;
+        long sourceSize;
+        long sourceModifiedMillis;
+        String ticker;
+        String zone;
+        String sourcePath;
+    }
+}
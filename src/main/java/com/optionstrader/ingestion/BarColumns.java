@@ -0,0 +1,391 @@
+package com.optionstrader.ingestion;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Columnar, primitive-backed bar store. Each OHLCV field lives in its own parallel array,
+ * so a bar costs 48 bytes instead of a {@code BaseBar} with six {@code DecimalNum} values
+ * and a {@code ZonedDateTime}. Loaders append directly into this store; ta4j consumers see
+ * it through {@link #asBarSeries()}.
+ * <p>
+ * Epoch millis are the primary key. Alongside them the store keeps each bar's trading date in
+ * the exchange zone as an epoch-day {@code int}, resolved once per day boundary while bars are
+ * appended, so per-bar date checks are integer comparisons that do not depend on the host zone.
+ */
+public class BarColumns implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Zone of the US equity and options exchanges, used unless a loader is configured otherwise.
+     */
+    public static final ZoneId DEFAULT_ZONE = ZoneId.of("America/New_York");
+
+    private final String name;
+    private final Duration barDuration;
+    private final ZoneId zone;
+
+    private long[] times;
+    private int[] epochDays;
+    private double[] opens;
+    private double[] highs;
+    private double[] lows;
+    private double[] closes;
+    private double[] volumes;
+    private int size;
+
+    // Millis bounds of the trading day most recently resolved; avoids a zone conversion per bar
+    private transient long dayStartMs;
+    private transient long dayEndMs;
+    private transient int currentEpochDay;
+
+    public BarColumns(String name, Duration barDuration, ZoneId zone) {
+        this(name, barDuration, zone, DEFAULT_CAPACITY);
+    }
+
+    public BarColumns(String name, Duration barDuration, ZoneId zone, int initialCapacity) {
+        this.name = name;
+        this.barDuration = barDuration;
+        this.zone = zone;
+        int capacity = Math.max(initialCapacity, 16);
+        this.times = new long[capacity];
+        this.epochDays = new int[capacity];
+        this.opens = new double[capacity];
+        this.highs = new double[capacity];
+        this.lows = new double[capacity];
+        this.closes = new double[capacity];
+        this.volumes = new double[capacity];
+    }
+
+    /**
+     * Adopts already-populated column arrays without copying. Used by the binary cache reader.
+     */
+    static BarColumns wrap(String name, Duration barDuration, ZoneId zone, long[] times, double[] opens,
+                           double[] highs, double[] lows, double[] closes, double[] volumes) {
+        BarColumns columns = new BarColumns(name, barDuration, zone, 0);
+        columns.times = times;
+        columns.opens = opens;
+        columns.highs = highs;
+        columns.lows = lows;
+        columns.closes = closes;
+        columns.volumes = volumes;
+        columns.size = times.length;
+        columns.epochDays = new int[times.length];
+        for (int i = 0; i < times.length; i++) {
+            columns.epochDays[i] = columns.epochDayOf(times[i]);
+        }
+        return columns;
+    }
+
+    /**
+     * Appends one bar. {@code endTimeMs} is the epoch-millis bar timestamp as delivered by Massive.
+     */
+    public void add(long endTimeMs, double open, double high, double low, double close, double volume) {
+        if (size == times.length) {
+            grow(size + 1);
+        }
+        times[size] = endTimeMs;
+        epochDays[size] = epochDayOf(endTimeMs);
+        opens[size] = open;
+        highs[size] = high;
+        lows[size] = low;
+        closes[size] = close;
+        volumes[size] = volume;
+        size++;
+    }
+
+    /**
+     * Appends every bar of {@code other} in one bulk copy per column.
+     */
+    public void addAll(BarColumns other) {
+        int count = other.size;
+        ensureCapacity(size + count);
+        System.arraycopy(other.times, 0, times, size, count);
+        if (zone.equals(other.zone)) {
+            System.arraycopy(other.epochDays, 0, epochDays, size, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                epochDays[size + i] = epochDayOf(other.times[i]);
+            }
+        }
+        System.arraycopy(other.opens, 0, opens, size, count);
+        System.arraycopy(other.highs, 0, highs, size, count);
+        System.arraycopy(other.lows, 0, lows, size, count);
+        System.arraycopy(other.closes, 0, closes, size, count);
+        System.arraycopy(other.volumes, 0, volumes, size, count);
+        size += count;
+    }
+
+    /**
+     * Overwrites the bar at {@code index}; used when a source re-delivers the last bar.
+     */
+    public void set(int index, long endTimeMs, double open, double high, double low, double close, double volume) {
+        checkIndex(index);
+        times[index] = endTimeMs;
+        epochDays[index] = epochDayOf(endTimeMs);
+        opens[index] = open;
+        highs[index] = high;
+        lows[index] = low;
+        closes[index] = close;
+        volumes[index] = volume;
+    }
+
+    /**
+     * Ensures room for at least {@code capacity} bars without further reallocation.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > times.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Releases unused trailing capacity once loading is complete.
+     */
+    public void trimToSize() {
+        if (size < times.length) {
+            resize(Math.max(size, 16));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getBarDuration() {
+        return barDuration;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public long time(int index) {
+        checkIndex(index);
+        return times[index];
+    }
+
+    /**
+     * Trading date of the bar in the exchange zone, as days since 1970-01-01.
+     */
+    public int epochDay(int index) {
+        checkIndex(index);
+        return epochDays[index];
+    }
+
+    public LocalDate tradingDate(int index) {
+        return LocalDate.ofEpochDay(epochDay(index));
+    }
+
+    public double open(int index) {
+        checkIndex(index);
+        return opens[index];
+    }
+
+    public double high(int index) {
+        checkIndex(index);
+        return highs[index];
+    }
+
+    public double low(int index) {
+        checkIndex(index);
+        return lows[index];
+    }
+
+    public double close(int index) {
+        checkIndex(index);
+        return closes[index];
+    }
+
+    public double volume(int index) {
+        checkIndex(index);
+        return volumes[index];
+    }
+
+    // Raw column access for hot loops. Arrays may be longer than size(); callers must not modify them.
+
+    public long[] timeColumn() {
+        return times;
+    }
+
+    public int[] epochDayColumn() {
+        return epochDays;
+    }
+
+    public double[] openColumn() {
+        return opens;
+    }
+
+    public double[] highColumn() {
+        return highs;
+    }
+
+    public double[] lowColumn() {
+        return lows;
+    }
+
+    public double[] closeColumn() {
+        return closes;
+    }
+
+    public double[] volumeColumn() {
+        return volumes;
+    }
+
+    /**
+     * Copies bars {@code [from, to)} into a new, independent store.
+     */
+    public BarColumns copyOfRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") outside [0, " + size + ")");
+        }
+        int length = to - from;
+        BarColumns copy = new BarColumns(name, barDuration, zone, length);
+        System.arraycopy(times, from, copy.times, 0, length);
+        System.arraycopy(epochDays, from, copy.epochDays, 0, length);
+        System.arraycopy(opens, from, copy.opens, 0, length);
+        System.arraycopy(highs, from, copy.highs, 0, length);
+        System.arraycopy(lows, from, copy.lows, 0, length);
+        System.arraycopy(closes, from, copy.closes, 0, length);
+        System.arraycopy(volumes, from, copy.volumes, 0, length);
+        copy.size = length;
+        return copy;
+    }
+
+    /**
+     * Returns a ta4j view of this store backed by {@code DoubleNum}. Bars added through either
+     * API are visible through the other.
+     */
+    public ColumnarBarSeries asBarSeries() {
+        return new ColumnarBarSeries(this);
+    }
+
+    /**
+     * Returns the store behind a columnar series, or copies any other series into a new store.
+     */
+    public static BarColumns from(BarSeries series) {
+        if (series instanceof ColumnarBarSeries) {
+            return ((ColumnarBarSeries) series).columns();
+        }
+        int count = series.getBarCount();
+        Duration barDuration = count > 0 ? series.getBar(0).getTimePeriod() : Duration.ofMinutes(1);
+        ZoneId zone = count > 0 ? series.getBar(0).getEndTime().getZone() : DEFAULT_ZONE;
+        BarColumns columns = new BarColumns(series.getName(), barDuration, zone, count);
+        for (int i = 0; i < count; i++) {
+            Bar bar = series.getBar(i);
+            columns.add(bar.getEndTime().toInstant().toEpochMilli(),
+                        bar.getOpenPrice().doubleValue(),
+                        bar.getHighPrice().doubleValue(),
+                        bar.getLowPrice().doubleValue(),
+                        bar.getClosePrice().doubleValue(),
+                        bar.getVolume().doubleValue());
+        }
+        return columns;
+    }
+
+    /**
+     * Extracts close prices from any series, reading the column directly when the series is columnar.
+     */
+    public static double[] closePrices(BarSeries series) {
+        if (series instanceof ColumnarBarSeries) {
+            BarColumns columns = ((ColumnarBarSeries) series).columns();
+            return Arrays.copyOf(columns.closes, columns.size);
+        }
+        int count = series.getBarCount();
+        double[] result = new double[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = series.getBar(i).getClosePrice().doubleValue();
+        }
+        return result;
+    }
+
+    /**
+     * Extracts open prices from any series, reading the column directly when the series is columnar.
+     */
+    public static double[] openPrices(BarSeries series) {
+        if (series instanceof ColumnarBarSeries) {
+            BarColumns columns = ((ColumnarBarSeries) series).columns();
+            return Arrays.copyOf(columns.opens, columns.size);
+        }
+        int count = series.getBarCount();
+        double[] result = new double[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = series.getBar(i).getOpenPrice().doubleValue();
+        }
+        return result;
+    }
+
+    /**
+     * Extracts per-bar trading dates (epoch days) from any series, reading the column directly
+     * when the series is columnar. Other series are resolved in their bars' own zone.
+     */
+    public static int[] epochDays(BarSeries series) {
+        if (series instanceof ColumnarBarSeries) {
+            BarColumns columns = ((ColumnarBarSeries) series).columns();
+            return Arrays.copyOf(columns.epochDays, columns.size);
+        }
+        int count = series.getBarCount();
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (int) series.getBar(i).getEndTime().toLocalDate().toEpochDay();
+        }
+        return result;
+    }
+
+    /**
+     * Trading date (epoch day) of bar {@code index} of any series: a column read for columnar
+     * series, otherwise resolved in the bar's own zone.
+     */
+    public static int epochDay(BarSeries series, int index) {
+        if (series instanceof ColumnarBarSeries) {
+            return ((ColumnarBarSeries) series).columns().epochDay(index);
+        }
+        return (int) series.getBar(index).getEndTime().toLocalDate().toEpochDay();
+    }
+
+    private int epochDayOf(long timeMs) {
+        if (timeMs >= dayStartMs && timeMs < dayEndMs) {
+            return currentEpochDay;
+        }
+        LocalDate date = Instant.ofEpochMilli(timeMs).atZone(zone).toLocalDate();
+        dayStartMs = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        dayEndMs = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        currentEpochDay = (int) date.toEpochDay();
+        return currentEpochDay;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Bar index " + index + " outside [0, " + size + ")");
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(minCapacity, times.length + (times.length >> 1));
+        resize(newCapacity);
+    }
+
+    private void resize(int capacity) {
+        times = Arrays.copyOf(times, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        opens = Arrays.copyOf(opens, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        closes = Arrays.copyOf(closes, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+    }
+}
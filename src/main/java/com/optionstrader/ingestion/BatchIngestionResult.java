@@ -0,0 +1,26 @@
+package com.optionstrader.ingestion;
+
+import org.ta4j.core.BarSeries;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link BatchIngestionService} run: the merged series per ticker plus throughput figures.
+ */
+public record BatchIngestionResult(
+    Map<String, BarSeries> seriesByTicker,
+    int fileCount,
+    long barCount,
+    long byteCount,
+    long elapsedNanos,
+    Map<Path, String> failures // file -> error message
+) {
+    public double barsPerSecond() {
+        return elapsedNanos == 0 ? 0 : barCount / (elapsedNanos / 1e9);
+    }
+
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (byteCount / 1e6) / (elapsedNanos / 1e9);
+    }
+}
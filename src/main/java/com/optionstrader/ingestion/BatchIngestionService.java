@@ -0,0 +1,183 @@
+package com.optionstrader.ingestion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads many aggregate files (typically one per ticker per day) concurrently and merges them
+ * into one series per ticker.
+ * <p>
+ * Parsing is CPU-bound, so files are fanned out over a bounded {@link ForkJoinPool} sized to the
+ * available cores rather than one thread per file; the pool is torn down after each batch.
+ * Files are grouped by the {@code ticker} field of each response, and each ticker's day files
+ * are stitched together in timestamp order.
+ */
+public class BatchIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchIngestionService.class);
+
+    private final MassiveDataLoader loader;
+    private final int parallelism;
+
+    public BatchIngestionService(MassiveDataLoader loader) {
+        this(loader, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchIngestionService(MassiveDataLoader loader, int parallelism) {
+        this.loader = loader;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Ingests every {@code *.json} file under {@code directory}, recursively.
+     */
+    public BatchIngestionResult ingestDirectory(Path directory) {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            List<Path> files = walk
+                .filter(Files::isRegularFile)
+                .filter(p -> p.getFileName().toString().endsWith(".json"))
+                .sorted()
+                .collect(Collectors.toList());
+            return ingest(files);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error listing " + directory, e);
+        }
+    }
+
+    /**
+     * Ingests the files listed in a manifest: one path per line, relative paths resolved against
+     * the manifest's directory, blank lines and lines starting with {@code #} ignored.
+     */
+    public BatchIngestionResult ingestManifest(Path manifest) {
+        try (Stream<String> lines = Files.lines(manifest)) {
+            Path base = manifest.toAbsolutePath().getParent();
+            List<Path> files = lines
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(base::resolve)
+                .collect(Collectors.toList());
+            return ingest(files);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading manifest " + manifest, e);
+        }
+    }
+
+    public BatchIngestionResult ingest(List<Path> files) {
+        long start = System.nanoTime();
+        Map<Path, String> failures = new ConcurrentHashMap<>();
+        BarColumns[] parsed = new BarColumns[files.size()];
+        long[] sizes = new long[files.size()];
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                final int index = i;
+                tasks.add(pool.submit(() -> {
+                    Path file = files.get(index);
+                    try {
+                        sizes[index] = Files.size(file);
+                        parsed[index] = BarColumns.from(loader.loadData(file));
+                    } catch (Exception e) {
+                        failures.put(file, String.valueOf(e.getMessage()));
+                        logger.warn("Failed to ingest {}: {}", file, e.getMessage());
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<String, List<BarColumns>> byTicker = new TreeMap<>();
+        long bytes = 0;
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] != null) {
+                byTicker.computeIfAbsent(parsed[i].getName(), k -> new ArrayList<>()).add(parsed[i]);
+                bytes += sizes[i];
+            }
+        }
+
+        Map<String, BarSeries> seriesByTicker = new LinkedHashMap<>();
+        long bars = 0;
+        for (Map.Entry<String, List<BarColumns>> entry : byTicker.entrySet()) {
+            BarColumns merged = mergeInTimeOrder(entry.getValue());
+            bars += merged.size();
+            seriesByTicker.put(entry.getKey(), merged.asBarSeries());
+        }
+
+        BatchIngestionResult result = new BatchIngestionResult(
+            seriesByTicker, files.size() - failures.size(), bars, bytes, System.nanoTime() - start, failures);
+        logger.info("Ingested {} files ({} tickers, {} bars, {} MB) in {} ms: {} bars/sec, {} failures",
+                    result.fileCount(), seriesByTicker.size(), bars, String.format("%.1f", bytes / 1e6),
+                    result.elapsedNanos() / 1_000_000, String.format("%.0f", result.barsPerSecond()), failures.size());
+        return result;
+    }
+
+    /**
+     * Concatenates day segments by first timestamp. Segments that overlap fall back to a full
+     * stable sort by timestamp, keeping the bar from the later segment when timestamps collide.
+     */
+    static BarColumns mergeInTimeOrder(List<BarColumns> segments) {
+        List<BarColumns> ordered = segments.stream()
+            .filter(s -> s.size() > 0)
+            .sorted(Comparator.comparingLong(s -> s.time(0)))
+            .collect(Collectors.toList());
+        if (ordered.isEmpty()) {
+            return segments.get(0);
+        }
+        if (ordered.size() == 1) {
+            return ordered.get(0);
+        }
+        BarColumns first = ordered.get(0);
+        int total = ordered.stream().mapToInt(BarColumns::size).sum();
+        BarColumns merged = new BarColumns(first.getName(), first.getBarDuration(), first.getZone(), total);
+        boolean overlapping = false;
+        for (BarColumns segment : ordered) {
+            if (merged.size() > 0 && segment.time(0) <= merged.time(merged.size() - 1)) {
+                overlapping = true;
+            }
+            merged.addAll(segment);
+        }
+        return overlapping ? sortAndDeduplicate(merged) : merged;
+    }
+
+    private static BarColumns sortAndDeduplicate(BarColumns columns) {
+        int count = columns.size();
+        long[] times = columns.timeColumn();
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> times[i]));
+        BarColumns result = new BarColumns(columns.getName(), columns.getBarDuration(), columns.getZone(), count);
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            if (k + 1 < count && times[order[k + 1]] == times[i]) {
+                continue; // a later duplicate supersedes this bar
+            }
+            result.add(times[i], columns.open(i), columns.high(i), columns.low(i), columns.close(i), columns.volume(i));
+        }
+        return result;
+    }
+}
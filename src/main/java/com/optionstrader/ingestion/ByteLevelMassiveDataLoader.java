@@ -0,0 +1,81 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.options.OptionChain;
+import org.ta4j.core.BarSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Byte-level parsing implementation that scans the UTF-8 aggregate payload directly into
+ * primitive columns, bypassing Jackson for bars entirely. Option chains are delegated to the
+ * streaming loader.
+ */
+public class ByteLevelMassiveDataLoader implements MassiveDataLoader {
+
+    private static final LoadMetrics METRICS = new LoadMetrics("byte");
+
+    private final ZoneId zone;
+    private final MassiveDataLoader chainLoader;
+
+    public ByteLevelMassiveDataLoader() {
+        this(BarColumns.DEFAULT_ZONE);
+    }
+
+    /**
+     * @param zone exchange zone that bar timestamps are bucketed into trading dates with
+     */
+    public ByteLevelMassiveDataLoader(ZoneId zone) {
+        this.zone = zone;
+        this.chainLoader = new StreamingMassiveDataLoader(zone);
+    }
+
+    @Override
+    public BarSeries loadData(String json) {
+        return loadData(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public BarSeries loadData(InputStream in) {
+        LoadMetrics.Parse stage = METRICS.start();
+        try {
+            BarColumns columns = new AggregateByteScanner(in).scan(null, Duration.ofMinutes(1), zone);
+            columns.trimToSize();
+            return METRICS.record(stage, columns.asBarSeries(), -1);
+        } catch (Exception e) {
+            throw new RuntimeException("Error in byte-level parsing", e);
+        }
+    }
+
+    @Override
+    public BarSeries loadData(Path path) {
+        LoadMetrics.Parse stage = METRICS.start();
+        try (MappedFileInputStream in = new MappedFileInputStream(path)) {
+            BarColumns columns = new AggregateByteScanner(in).scan(null, Duration.ofMinutes(1), zone);
+            columns.trimToSize();
+            return METRICS.record(stage, columns.asBarSeries(), in.size());
+        } catch (Exception e) {
+            throw new RuntimeException("Error in byte-level parsing of " + path, e);
+        }
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json) {
+        return chainLoader.loadOptionChain(json);
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json, LocalDate asOf) {
+        return chainLoader.loadOptionChain(json, asOf);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+}
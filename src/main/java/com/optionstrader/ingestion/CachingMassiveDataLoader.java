@@ -0,0 +1,111 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.options.OptionChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Decorator that keeps a {@link BarCacheFile} next to every aggregate file it loads by path.
+ * The first load parses the JSON with the delegate and writes the cache; later loads bulk-copy
+ * the binary columns from the cache instead, until the source file's size or modification time
+ * changes. A cache is only used for the source path it was written from and the delegate's
+ * zone.
+ * String and stream inputs have no identity to cache against and go straight to the delegate.
+ */
+public class CachingMassiveDataLoader implements MassiveDataLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingMassiveDataLoader.class);
+
+    static final String CACHE_SUFFIX = ".bars";
+
+    private final MassiveDataLoader delegate;
+    private final Path cacheDirectory;
+
+    /**
+     * @param cacheDirectory where cache files are kept; null places each cache beside its source
+     */
+    public CachingMassiveDataLoader(MassiveDataLoader delegate, Path cacheDirectory) {
+        this.delegate = delegate;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @Override
+    public BarSeries loadData(Path path) {
+        Path cacheFile = cacheFileFor(path);
+        try {
+            if (BarCacheFile.isFresh(cacheFile, path, delegate.getZone())) {
+                return BarCacheFile.read(cacheFile).asBarSeries();
+            }
+        } catch (IOException e) {
+            logger.warn("Discarding unreadable bar cache {}: {}", cacheFile, e.getMessage());
+        }
+
+        BarSeries series = delegate.loadData(path);
+        BarColumns columns = BarColumns.from(series);
+        try {
+            BarCacheFile.write(columns, cacheFile, path);
+            logger.info("Wrote bar cache {} ({} bars)", cacheFile, columns.size());
+        } catch (IOException e) {
+            logger.warn("Could not write bar cache {}: {}", cacheFile, e.getMessage());
+        }
+        return series;
+    }
+
+    @Override
+    public BarSeries loadData(String json) {
+        return delegate.loadData(json);
+    }
+
+    @Override
+    public BarSeries loadData(InputStream in) {
+        return delegate.loadData(in);
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json) {
+        return delegate.loadOptionChain(json);
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json, LocalDate asOf) {
+        return delegate.loadOptionChain(json, asOf);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return delegate.getZone();
+    }
+
+    Path cacheFileFor(Path source) {
+        Path absolute = source.toAbsolutePath().normalize();
+        if (cacheDirectory == null) {
+            return absolute.resolveSibling(source.getFileName() + CACHE_SUFFIX);
+        }
+        // Same-named files from different directories share a cache directory, so qualify by path
+        return cacheDirectory.resolve(source.getFileName() + "-" + pathDigest(absolute) + CACHE_SUFFIX);
+    }
+
+    /**
+     * First 128 bits of the SHA-256 of {@code path}, in hex. The cache header also records the
+     * full path, so even a collision is caught on read.
+     */
+    private static String pathDigest(Path path) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(path.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.optionstrader.ingestion;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Read-only view of one row of a {@link BarColumns} store.
+ */
+class ColumnarBar implements Bar {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BarColumns columns;
+    private final int index;
+
+    ColumnarBar(BarColumns columns, int index) {
+        this.columns = columns;
+        this.index = index;
+    }
+
+    @Override
+    public Duration getTimePeriod() {
+        return columns.getBarDuration();
+    }
+
+    @Override
+    public ZonedDateTime getBeginTime() {
+        return getEndTime().minus(columns.getBarDuration());
+    }
+
+    @Override
+    public ZonedDateTime getEndTime() {
+        return Instant.ofEpochMilli(columns.time(index)).atZone(columns.getZone());
+    }
+
+    @Override
+    public Num getOpenPrice() {
+        return DoubleNum.valueOf(columns.open(index));
+    }
+
+    @Override
+    public Num getHighPrice() {
+        return DoubleNum.valueOf(columns.high(index));
+    }
+
+    @Override
+    public Num getLowPrice() {
+        return DoubleNum.valueOf(columns.low(index));
+    }
+
+    @Override
+    public Num getClosePrice() {
+        return DoubleNum.valueOf(columns.close(index));
+    }
+
+    @Override
+    public Num getVolume() {
+        return DoubleNum.valueOf(columns.volume(index));
+    }
+
+    @Override
+    public Num getAmount() {
+        return DoubleNum.ZERO;
+    }
+
+    @Override
+    public long getTrades() {
+        return 0;
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        throw new UnsupportedOperationException("Columnar bars are immutable");
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        throw new UnsupportedOperationException("Columnar bars are immutable");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ColumnarBar)) return false;
+        ColumnarBar other = (ColumnarBar) obj;
+        return columns.time(index) == other.columns.time(other.index)
+            && Double.compare(columns.open(index), other.columns.open(other.index)) == 0
+            && Double.compare(columns.high(index), other.columns.high(other.index)) == 0
+            && Double.compare(columns.low(index), other.columns.low(other.index)) == 0
+            && Double.compare(columns.close(index), other.columns.close(other.index)) == 0
+            && Double.compare(columns.volume(index), other.columns.volume(other.index)) == 0
+            && columns.getBarDuration().equals(other.columns.getBarDuration())
+            && columns.getZone().equals(other.columns.getZone());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(columns.time(index), columns.open(index), columns.high(index), columns.low(index),
+                            columns.close(index), columns.volume(index));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{end time: %s, close price: %s, open price: %s, low price: %s, high price: %s, volume: %s}",
+                             getEndTime(), columns.close(index), columns.open(index), columns.low(index),
+                             columns.high(index), columns.volume(index));
+    }
+}
@@ -0,0 +1,161 @@
+package com.optionstrader.ingestion;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * ta4j {@link BarSeries} adapter over a {@link BarColumns} store. Bars are handed out as
+ * lightweight views that materialize {@link DoubleNum} values on demand, so the series itself
+ * holds nothing but primitive arrays.
+ */
+public class ColumnarBarSeries implements BarSeries {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BarColumns columns;
+
+    public ColumnarBarSeries(BarColumns columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * The primitive store behind this series.
+     */
+    public BarColumns columns() {
+        return columns;
+    }
+
+    @Override
+    public String getName() {
+        return columns.getName();
+    }
+
+    @Override
+    public Num num() {
+        return DoubleNum.ZERO;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        if (i < 0 || i >= columns.size()) {
+            throw new IndexOutOfBoundsException("Bar index " + i + " outside [0, " + columns.size() + ")");
+        }
+        return new ColumnarBar(columns, i);
+    }
+
+    @Override
+    public int getBarCount() {
+        return columns.size();
+    }
+
+    @Override
+    public List<Bar> getBarData() {
+        return new AbstractList<>() {
+            @Override
+            public Bar get(int index) {
+                return getBar(index);
+            }
+
+            @Override
+            public int size() {
+                return columns.size();
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return columns.size() == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return columns.size() - 1;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw new UnsupportedOperationException("Columnar series do not evict bars");
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return 0;
+    }
+
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        long endTimeMs = bar.getEndTime().toInstant().toEpochMilli();
+        double open = bar.getOpenPrice().doubleValue();
+        double high = bar.getHighPrice().doubleValue();
+        double low = bar.getLowPrice().doubleValue();
+        double close = bar.getClosePrice().doubleValue();
+        double volume = bar.getVolume().doubleValue();
+        if (replace && columns.size() > 0) {
+            columns.set(columns.size() - 1, endTimeMs, open, high, low, close, volume);
+        } else {
+            columns.add(endTimeMs, open, high, low, close, volume);
+        }
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        throw new UnsupportedOperationException("Columnar series only accept complete OHLCV bars");
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice,
+                       Num volume, Num amount) {
+        addBar(columns.getBarDuration(), endTime, openPrice, highPrice, lowPrice, closePrice, volume);
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+                       Num closePrice, Num volume) {
+        if (!timePeriod.equals(columns.getBarDuration())) {
+            throw new IllegalArgumentException("Bar period " + timePeriod + " does not match series period "
+                                               + columns.getBarDuration());
+        }
+        columns.add(endTime.toInstant().toEpochMilli(), openPrice.doubleValue(), highPrice.doubleValue(),
+                    lowPrice.doubleValue(), closePrice.doubleValue(), volume.doubleValue());
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+                       Num closePrice, Num volume, Num amount) {
+        addBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume);
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        throw new UnsupportedOperationException("Columnar bars are immutable");
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        throw new UnsupportedOperationException("Columnar bars are immutable");
+    }
+
+    @Override
+    public BarSeries getSubSeries(int startIndex, int endIndex) {
+        int from = Math.max(startIndex, 0);
+        int to = Math.min(endIndex, columns.size());
+        if (from >= to) {
+            throw new IllegalArgumentException(
+                String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        return new ColumnarBarSeries(columns.copyOfRange(from, to));
+    }
+}
@@ -0,0 +1,38 @@
+package com.optionstrader.ingestion;
+
+/**
+ * Parse-time predicate for option contracts. It sees only primitive fields, so a rejected
+ * contract is never materialized as an {@code OptionContract}.
+ */
+@FunctionalInterface
+public interface ContractFilter {
+
+    /**
+     * @param type   {@code "CALL"} or {@code "PUT"} (the interned constants), or any other
+     *               snapshot contract type upper-cased
+     * @param strike strike price
+     * @param dte    days to expiration relative to the snapshot date
+     * @param delta  delta as reported by the snapshot
+     */
+    boolean accept(String type, double strike, int dte, double delta);
+
+    static ContractFilter all() {
+        return (type, strike, dte, delta) -> true;
+    }
+
+    static ContractFilter callsOnly() {
+        return (type, strike, dte, delta) -> "CALL".equals(type);
+    }
+
+    static ContractFilter putsOnly() {
+        return (type, strike, dte, delta) -> "PUT".equals(type);
+    }
+
+    static ContractFilter dteBetween(int minDte, int maxDte) {
+        return (type, strike, dte, delta) -> dte >= minDte && dte <= maxDte;
+    }
+
+    default ContractFilter and(ContractFilter other) {
+        return (type, strike, dte, delta) -> accept(type, strike, dte, delta) && other.accept(type, strike, dte, delta);
+    }
+}
@@ -0,0 +1,58 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.jfr.FileParseEvent;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
+import org.ta4j.core.BarSeries;
+
+/**
+ * Parse timer, bar counter and {@link FileParseEvent} for one loader implementation, under
+ * {@code loader.<kind>.*}.
+ */
+final class LoadMetrics {
+
+    private final String kind;
+    private final Timer parseTimer;
+    private final Counter bars;
+
+    LoadMetrics(String kind) {
+        this.kind = kind;
+        this.parseTimer = Metrics.timer("loader." + kind + ".parse");
+        this.bars = Metrics.counter("loader." + kind + ".bars");
+    }
+
+    Parse start() {
+        FileParseEvent event = new FileParseEvent();
+        event.begin();
+        return new Parse(parseTimer.start(), event);
+    }
+
+    /**
+     * @param bytes payload size, or -1 when unknown
+     */
+    BarSeries record(Parse stage, BarSeries series, long bytes) {
+        parseTimer.stop(stage.timerStart);
+        bars.add(series.getBarCount());
+        FileParseEvent event = stage.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.loader = kind;
+            event.ticker = series.getName();
+            event.bytes = bytes;
+            event.bars = series.getBarCount();
+            event.commit();
+        }
+        return series;
+    }
+
+    static final class Parse {
+        private final long timerStart;
+        private final FileParseEvent event;
+
+        private Parse(long timerStart, FileParseEvent event) {
+            this.timerStart = timerStart;
+            this.event = event;
+        }
+    }
+}
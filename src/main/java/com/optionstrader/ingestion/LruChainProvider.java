@@ -0,0 +1,221 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.options.ChainProvider;
+import com.optionstrader.options.OptionChain;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link ChainProvider} that loads per-date chain snapshots from disk on demand.
+ * <p>
+ * Loaded chains are kept in a bounded LRU keyed by date. Every lookup of a new date also queues
+ * background loads for the next {@code prefetchDays} dates that have a snapshot file, skipping
+ * weekends and holidays, so a backtest walking forward in time normally finds the next chain
+ * already parsed. Dates without a snapshot file are remembered as absent in a separate set, which
+ * keeps per-bar lookups on non-trading days off the file system without evicting real chains.
+ * A failed background load is retried on the calling thread, so its exception surfaces there and
+ * the date can be looked up again later.
+ * Lookups are meant to come from a single backtest thread; only loading runs concurrently.
+ */
+public class LruChainProvider implements ChainProvider, AutoCloseable {
+
+    /** Prefetch stops looking ahead after this many consecutive days without a snapshot file. */
+    private static final int MAX_GAP_DAYS = 7;
+
+    private final Function<LocalDate, Path> locator;
+    private final ContractFilter filter;
+    private final int prefetchDays;
+    private final StreamingOptionChainLoader loader = new StreamingOptionChainLoader();
+    private final Map<LocalDate, OptionChain> cache;
+    private final Set<LocalDate> absent = new HashSet<>();
+    private final Map<LocalDate, CompletableFuture<Optional<OptionChain>>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService prefetcher;
+
+    private LocalDate lastDate;
+    private OptionChain lastChain;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong prefetchHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Reads snapshots from {@code directory/yyyy-MM-dd.json}.
+     */
+    public LruChainProvider(Path directory, ContractFilter filter, int capacity, int prefetchDays) {
+        this(date -> directory.resolve(date + ".json"), filter, capacity, prefetchDays);
+    }
+
+    public LruChainProvider(Function<LocalDate, Path> locator, ContractFilter filter, int capacity, int prefetchDays) {
+        this.locator = locator;
+        this.filter = filter;
+        this.prefetchDays = prefetchDays;
+        this.cache = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, OptionChain> eldest) {
+                boolean evict = size() > capacity;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+        this.prefetcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "chain-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public OptionChain chainFor(LocalDate date) {
+        // Backtests ask for the same date on every bar of a session
+        if (date.equals(lastDate)) {
+            hits.incrementAndGet();
+            return lastChain;
+        }
+        OptionChain chain;
+        synchronized (cache) {
+            chain = cache.get(date);
+        }
+        if (chain != null || absent.contains(date)) {
+            hits.incrementAndGet();
+        } else {
+            Optional<OptionChain> loaded;
+            CompletableFuture<Optional<OptionChain>> pending = inFlight.get(date);
+            try {
+                if (pending != null) {
+                    loaded = awaitPrefetch(date, pending);
+                } else {
+                    misses.incrementAndGet();
+                    loaded = load(date);
+                }
+            } finally {
+                inFlight.remove(date);
+            }
+            if (loaded.isPresent()) {
+                chain = loaded.get();
+                synchronized (cache) {
+                    cache.put(date, chain);
+                }
+            } else {
+                absent.add(date);
+            }
+            // Prefetched dates that were skipped over (no bars that day) would otherwise pile up
+            inFlight.keySet().removeIf(d -> d.isBefore(date));
+            schedulePrefetch(date);
+        }
+        lastDate = date;
+        lastChain = chain;
+        return lastChain;
+    }
+
+    private Optional<OptionChain> awaitPrefetch(LocalDate date, CompletableFuture<Optional<OptionChain>> pending) {
+        try {
+            Optional<OptionChain> loaded = pending.join();
+            prefetchHits.incrementAndGet();
+            return loaded;
+        } catch (CompletionException e) {
+            // Retry here, so the failure is thrown unwrapped and nothing is remembered for the date
+            misses.incrementAndGet();
+            return load(date);
+        }
+    }
+
+    /**
+     * Queues loads for the next {@code prefetchDays} dates with a snapshot file, recording the
+     * dates in between as absent.
+     */
+    private void schedulePrefetch(LocalDate date) {
+        int queued = 0;
+        int gap = 0;
+        for (LocalDate next = date.plusDays(1); queued < prefetchDays && gap < MAX_GAP_DAYS; next = next.plusDays(1)) {
+            if (absent.contains(next)) {
+                gap++;
+                continue;
+            }
+            boolean cached;
+            synchronized (cache) {
+                cached = cache.containsKey(next);
+            }
+            if (!cached && !inFlight.containsKey(next)) {
+                if (!Files.isRegularFile(locator.apply(next))) {
+                    absent.add(next);
+                    gap++;
+                    continue;
+                }
+                inFlight.computeIfAbsent(next, d -> CompletableFuture.supplyAsync(() -> load(d), prefetcher));
+            }
+            gap = 0;
+            queued++;
+        }
+    }
+
+    private Optional<OptionChain> load(LocalDate date) {
+        Path path = locator.apply(date);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        OptionChain chain = loader.load(path, date, filter);
+        loadNanos.addAndGet(System.nanoTime() - start);
+        loads.incrementAndGet();
+        return Optional.of(chain);
+    }
+
+    /** Lookups answered from the LRU. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Lookups answered by a background prefetch (possibly waiting for it to finish). */
+    public long getPrefetchHits() {
+        return prefetchHits.get();
+    }
+
+    /** Lookups that had to load synchronously. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Snapshot files parsed, on either thread. */
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    public long getTotalLoadNanos() {
+        return loadNanos.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public void close() {
+        prefetcher.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LruChainProvider{hits=%d, prefetchHits=%d, misses=%d, loads=%d, loadMs=%.1f, evictions=%d}",
+                             getHits(), getPrefetchHits(), getMisses(), getLoadCount(), getTotalLoadNanos() / 1e6,
+                             getEvictions());
+    }
+}
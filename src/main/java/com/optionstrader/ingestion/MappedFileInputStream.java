@@ -0,0 +1,105 @@
+package com.optionstrader.ingestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStream} over a memory-mapped file. The file is mapped in fixed-size windows so
+ * files larger than 2 GB can be read, and bytes are served straight from the page cache without
+ * being copied onto the Java heap first.
+ */
+public class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_WINDOW = 1L << 30; // 1 GB
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW);
+    }
+
+    MappedFileInputStream(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.windowStart = 0;
+        mapWindow();
+    }
+
+    /**
+     * Total size of the underlying file in bytes.
+     */
+    public long size() {
+        return fileSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long position = windowStart + (window == null ? 0 : window.position());
+        long target = Math.min(fileSize, position + Math.max(n, 0));
+        long windowEnd = windowStart + (window == null ? 0 : window.limit());
+        if (target < windowEnd) {
+            window.position((int) (target - windowStart));
+        } else {
+            windowStart = target;
+            mapWindow();
+        }
+        return target - position;
+    }
+
+    @Override
+    public int available() {
+        return window == null ? 0 : window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean ensureRemaining() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (window != null) {
+            windowStart += window.limit();
+        }
+        mapWindow();
+        return window != null && window.hasRemaining();
+    }
+
+    private void mapWindow() throws IOException {
+        long length = Math.min(windowSize, fileSize - windowStart);
+        window = length > 0 ? channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length) : null;
+    }
+}
@@ -4,10 +4,52 @@ import org.ta4j.core.BarSeries;
 
 import com.optionstrader.options.OptionChain;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
 /**
  * Interface for loading data from JSON.
  */
 public interface MassiveDataLoader {
     BarSeries loadData(String json);
+
+    /**
+     * Parses an option chain snapshot. DTE is measured from the snapshot's own trading date, taken
+     * from each result's {@code last_updated} timestamp in the loader's exchange zone; results
+     * without one are rejected.
+     */
     OptionChain loadOptionChain(String json);
+
+    /**
+     * Parses an option chain snapshot with DTE measured from {@code asOf}, e.g. the date a
+     * historical snapshot was taken on.
+     */
+    OptionChain loadOptionChain(String json, LocalDate asOf);
+
+    /**
+     * Parses aggregate bars from UTF-8 JSON bytes without first decoding them into a {@code String}.
+     * The stream is consumed but not closed.
+     */
+    BarSeries loadData(InputStream in);
+
+    /**
+     * Exchange zone that bar timestamps are bucketed into trading dates with.
+     */
+    ZoneId getZone();
+
+    /**
+     * Parses an aggregate file from disk. Implementations may override this to memory-map the file.
+     */
+    default BarSeries loadData(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return loadData(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading " + path, e);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.options.OptionChain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a Massive option chain snapshot ({@code /v3/snapshot/options/{underlying}}) that has been
+ * deserialized to maps into an {@link OptionChain}. Each result carries {@code details},
+ * {@code greeks}, {@code last_quote}, {@code day} and {@code underlying_asset} objects; the
+ * contract price is the quote midpoint, falling back to the day close.
+ * <p>
+ * DTE is measured from an explicit as-of date when one is given, otherwise from the trading date
+ * of the result's own {@code last_updated} timestamp (underlying, then day, then quote), so
+ * historical snapshots never depend on the current date.
+ */
+final class OptionSnapshotMapper {
+
+    private OptionSnapshotMapper() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static OptionChain fromRoot(Map<String, Object> root, LocalDate asOf, ZoneId zone) {
+        List<Map<String, Object>> results = (List<Map<String, Object>>) root.get("results");
+        OptionChain.Builder contracts = new OptionChain.Builder(results == null ? 0 : results.size());
+        String chainUnderlying = "";
+        if (results != null) {
+            for (Map<String, Object> result : results) {
+                Map<String, Object> details = child(result, "details");
+                Map<String, Object> greeks = child(result, "greeks");
+                Map<String, Object> quote = child(result, "last_quote");
+                Map<String, Object> day = child(result, "day");
+                Map<String, Object> asset = child(result, "underlying_asset");
+
+                String underlying = asset.containsKey("ticker") ? (String) asset.get("ticker") : "";
+                if (chainUnderlying.isEmpty()) {
+                    chainUnderlying = underlying;
+                }
+                String type = ((String) details.get("contract_type")).toUpperCase();
+                double strike = number(details, "strike_price");
+                LocalDate expiration = LocalDate.parse((String) details.get("expiration_date"));
+                double price = quote.containsKey("midpoint") ? number(quote, "midpoint") : number(day, "close");
+                contracts.add(
+                    underlying,
+                    type,
+                    strike,
+                    expiration,
+                    number(greeks, "delta"),
+                    (int) ChronoUnit.DAYS.between(asOf != null ? asOf : snapshotDate(asset, day, quote, zone), expiration),
+                    price,
+                    number(greeks, "theta")
+                );
+            }
+        }
+        return contracts.build(chainUnderlying);
+    }
+
+    private static LocalDate snapshotDate(Map<String, Object> asset, Map<String, Object> day,
+                                          Map<String, Object> quote, ZoneId zone) {
+        for (Map<String, Object> source : List.of(asset, day, quote)) {
+            Object nanos = source.get("last_updated");
+            if (nanos instanceof Number) {
+                return Instant.EPOCH.plusNanos(((Number) nanos).longValue()).atZone(zone).toLocalDate();
+            }
+        }
+        throw new IllegalArgumentException("Snapshot result has no last_updated timestamp; pass an as-of date");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> parent, String key) {
+        Object value = parent.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static double number(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
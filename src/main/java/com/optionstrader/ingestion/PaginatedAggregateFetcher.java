@@ -0,0 +1,192 @@
+package com.optionstrader.ingestion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches a Massive aggregate query over HTTP, following {@code next_url} pagination and
+ * appending every page into one series.
+ * <p>
+ * Pages are pipelined: as soon as a body has arrived its {@code next_url} is located with a
+ * backwards byte search (the cursor trails the results array) and the next request is sent before
+ * the current page is scanned, so network latency overlaps parsing. Bodies are scanned with the
+ * byte-level aggregate scanner straight into the shared {@link BarColumns}. Connection failures,
+ * HTTP 429 and 5xx responses are retried with exponential backoff; other statuses fail the fetch.
+ */
+public class PaginatedAggregateFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaginatedAggregateFetcher.class);
+
+    private static final byte[] NEXT_URL_KEY = "\"next_url\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpClient client;
+    private final String apiKey;
+    private final ZoneId zone;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration requestTimeout = Duration.ofSeconds(30);
+
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public PaginatedAggregateFetcher(String apiKey) {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build(), apiKey,
+             BarColumns.DEFAULT_ZONE, 4, Duration.ofMillis(250));
+    }
+
+    /**
+     * @param apiKey         sent as a bearer token; null for servers that need none
+     * @param maxAttempts    attempts per page, including the first
+     * @param initialBackoff delay before the first retry, doubled on each further retry
+     */
+    public PaginatedAggregateFetcher(HttpClient client, String apiKey, ZoneId zone, int maxAttempts,
+                                     Duration initialBackoff) {
+        this.client = client;
+        this.apiKey = apiKey;
+        this.zone = zone;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * Fetches {@code url} and every page after it.
+     */
+    public BarSeries fetch(String url) {
+        long start = System.nanoTime();
+        BarColumns columns = null;
+        int pageCount = 0;
+        try {
+            CompletableFuture<byte[]> pending = fetchPage(URI.create(url), 1);
+            while (pending != null) {
+                byte[] body = pending.join();
+                pageCount++;
+                String next = findNextUrl(body);
+                CompletableFuture<byte[]> prefetch = next == null ? null : fetchPage(URI.create(next), 1);
+
+                AggregateByteScanner scanner = new AggregateByteScanner(new ByteArrayInputStream(body));
+                columns = scanner.scan(columns, Duration.ofMinutes(1), zone);
+
+                // The byte search is only a hint; the scanner has the authoritative cursor
+                if (!Objects.equals(next, scanner.nextUrl())) {
+                    if (prefetch != null) {
+                        prefetch.cancel(true);
+                    }
+                    prefetch = scanner.nextUrl() == null ? null : fetchPage(URI.create(scanner.nextUrl()), 1);
+                }
+                pending = prefetch;
+            }
+        } catch (CompletionException e) {
+            throw new RuntimeException("Error in paginated fetch of " + url, e.getCause());
+        } catch (IOException e) {
+            throw new RuntimeException("Error in paginated fetch parsing of " + url, e);
+        }
+        columns.trimToSize();
+        logger.info("Fetched {} bars of {} in {} pages in {} ms",
+                    columns.size(), columns.getName(), pageCount, (System.nanoTime() - start) / 1_000_000);
+        return columns.asBarSeries();
+    }
+
+    private CompletableFuture<byte[]> fetchPage(URI uri, int attempt) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .timeout(requestTimeout)
+            .header("Accept", "application/json")
+            .GET();
+        if (apiKey != null) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, error) -> {
+                if (error == null && response.statusCode() == 200) {
+                    pages.incrementAndGet();
+                    bytes.addAndGet(response.body().length);
+                    return CompletableFuture.completedFuture(response.body());
+                }
+                boolean retryable = error != null || response.statusCode() == 429 || response.statusCode() >= 500;
+                String reason = error != null ? String.valueOf(error.getMessage()) : "HTTP " + response.statusCode();
+                if (!retryable || attempt >= maxAttempts) {
+                    return CompletableFuture.<byte[]>failedFuture(
+                        new IOException("Error fetching " + uri + " after " + attempt + " attempt(s): " + reason, error));
+                }
+                long delayMs = initialBackoff.toMillis() << (attempt - 1);
+                retries.incrementAndGet();
+                logger.warn("Fetching {} failed ({}), retrying in {} ms", uri, reason, delayMs);
+                return CompletableFuture.supplyAsync(() -> uri, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS))
+                    .thenCompose(u -> fetchPage(u, attempt + 1));
+            })
+            .thenCompose(future -> future);
+    }
+
+    /**
+     * Finds the last {@code "next_url"} string value in a response body, or null when the key is
+     * absent, null, or uses escapes other than {@code \/}.
+     */
+    static String findNextUrl(byte[] body) {
+        outer:
+        for (int i = body.length - NEXT_URL_KEY.length; i >= 0; i--) {
+            for (int k = 0; k < NEXT_URL_KEY.length; k++) {
+                if (body[i + k] != NEXT_URL_KEY[k]) {
+                    continue outer;
+                }
+            }
+            int p = skipWhitespace(body, i + NEXT_URL_KEY.length);
+            if (p >= body.length || body[p] != ':') {
+                return null;
+            }
+            p = skipWhitespace(body, p + 1);
+            if (p >= body.length || body[p] != '"') {
+                return null;
+            }
+            StringBuilder url = new StringBuilder();
+            for (p++; p < body.length && body[p] != '"'; p++) {
+                if (body[p] == '\\') {
+                    if (p + 1 < body.length && body[p + 1] == '/') {
+                        p++;
+                    } else {
+                        return null;
+                    }
+                }
+                url.append((char) (body[p] & 0xFF));
+            }
+            return p < body.length ? url.toString() : null;
+        }
+        return null;
+    }
+
+    private static int skipWhitespace(byte[] body, int p) {
+        while (p < body.length && (body[p] == ' ' || body[p] == '\t' || body[p] == '\n' || body[p] == '\r')) {
+            p++;
+        }
+        return p;
+    }
+
+    /** Pages received successfully, including prefetched pages. */
+    public long getPageCount() {
+        return pages.get();
+    }
+
+    /** Requests re-sent after a retryable failure. */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getByteCount() {
+        return bytes.get();
+    }
+}
@@ -1,17 +1,16 @@
 package com.optionstrader.ingestion;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.optionstrader.options.OptionChain;
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseBar;
-import org.ta4j.core.BaseBarSeries;
-import org.ta4j.core.num.DecimalNum;
 
+import java.io.InputStream;
 import java.time.Duration;
-import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -20,42 +19,77 @@ import java.util.Map;
  */
 public class RecordBasedMassiveDataLoader implements MassiveDataLoader {
 
+    private static final LoadMetrics METRICS = new LoadMetrics("record");
+
     private final ObjectMapper objectMapper;
+    private final ZoneId zone;
 
     public RecordBasedMassiveDataLoader() {
+        this(BarColumns.DEFAULT_ZONE);
+    }
+
+    /**
+     * @param zone exchange zone that bar timestamps are bucketed into trading dates with
+     */
+    public RecordBasedMassiveDataLoader(ZoneId zone) {
+        this.zone = zone;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.getFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
     }
 
     @Override
     public BarSeries loadData(String json) {
+        LoadMetrics.Parse stage = METRICS.start();
         try {
-            Map<String, Object> root = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-            List<Map<String, Object>> results = (List<Map<String, Object>>) root.get("results");
-            BarSeries series = new BaseBarSeries();
-            for (Map<String, Object> result : results) {
-                long timestampMs = ((Number) result.get("t")).longValue();
-                double open = ((Number) result.get("o")).doubleValue();
-                double high = ((Number) result.get("h")).doubleValue();
-                double low = ((Number) result.get("l")).doubleValue();
-                double close = ((Number) result.get("c")).doubleValue();
-                long volume = ((Number) result.get("v")).longValue();
-                ZonedDateTime zdt = Instant.ofEpochMilli(timestampMs).atZone(ZoneId.systemDefault());
-                BaseBar bar = new BaseBar(
-                    Duration.ofMinutes(1),
-                    zdt,
-                    DecimalNum.valueOf(open),
-                    DecimalNum.valueOf(high),
-                    DecimalNum.valueOf(low),
-                    DecimalNum.valueOf(close),
-                    DecimalNum.valueOf(volume),
-                    DecimalNum.valueOf(0) // trades
-                );
-                series.addBar(bar);
-            }
-            return series;
+            return METRICS.record(stage, toSeries(objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {})), json.length());
+        } catch (Exception e) {
+            throw new RuntimeException("Error in record-based parsing", e);
+        }
+    }
+
+    @Override
+    public BarSeries loadData(InputStream in) {
+        LoadMetrics.Parse stage = METRICS.start();
+        try {
+            return METRICS.record(stage, toSeries(objectMapper.readValue(in, new TypeReference<Map<String, Object>>() {})), -1);
         } catch (Exception e) {
             throw new RuntimeException("Error in record-based parsing", e);
         }
     }
+
+    private BarSeries toSeries(Map<String, Object> root) {
+        List<Map<String, Object>> results = (List<Map<String, Object>>) root.get("results");
+        BarColumns columns = new BarColumns((String) root.getOrDefault("ticker", ""), Duration.ofMinutes(1), zone, results.size());
+        for (Map<String, Object> result : results) {
+            long timestampMs = ((Number) result.get("t")).longValue();
+            double open = ((Number) result.get("o")).doubleValue();
+            double high = ((Number) result.get("h")).doubleValue();
+            double low = ((Number) result.get("l")).doubleValue();
+            double close = ((Number) result.get("c")).doubleValue();
+            long volume = ((Number) result.get("v")).longValue();
+            columns.add(timestampMs, open, high, low, close, volume);
+        }
+        return columns.asBarSeries();
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json) {
+        return loadOptionChain(json, null);
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json, LocalDate asOf) {
+        try {
+            Map<String, Object> root = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            return OptionSnapshotMapper.fromRoot(root, asOf, zone);
+        } catch (Exception e) {
+            throw new RuntimeException("Error in record-based option chain parsing", e);
+        }
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
 }
@@ -4,87 +4,155 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.optionstrader.options.OptionChain;
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseBar;
-import org.ta4j.core.BaseBarSeries;
-import org.ta4j.core.num.DecimalNum;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 
 /**
  * Streaming parsing implementation using Jackson JsonParser for incremental processing.
  */
 public class StreamingMassiveDataLoader implements MassiveDataLoader {
 
+    private static final LoadMetrics METRICS = new LoadMetrics("streaming");
+
     private final ObjectMapper objectMapper;
+    private final ZoneId zone;
+    private final StreamingOptionChainLoader chainLoader;
 
     public StreamingMassiveDataLoader() {
+        this(BarColumns.DEFAULT_ZONE);
+    }
+
+    /**
+     * @param zone exchange zone that bar timestamps are bucketed into trading dates with
+     */
+    public StreamingMassiveDataLoader(ZoneId zone) {
+        this.zone = zone;
+        this.chainLoader = new StreamingOptionChainLoader(zone);
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.getFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
     }
 
     @Override
     public BarSeries loadData(String json) {
+        LoadMetrics.Parse stage = METRICS.start();
         try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
-            BarSeries series = new BaseBarSeries();
-            if (parser.nextToken() != JsonToken.START_OBJECT) {
-                throw new RuntimeException("Expected start of object");
-            }
-            while (parser.nextToken() != JsonToken.END_OBJECT) {
-                String fieldName = parser.getCurrentName();
-                if ("results".equals(fieldName)) {
-                    parser.nextToken(); // START_ARRAY
-                    while (parser.nextToken() != JsonToken.END_ARRAY) {
-                        long timestampMs = 0;
-                        double open = 0, high = 0, low = 0, close = 0;
-                        long volume = 0;
-                        while (parser.nextToken() != JsonToken.END_OBJECT) {
-                            String key = parser.getCurrentName();
-                            parser.nextToken();
-                            switch (key) {
-                                case "t":
-                                    timestampMs = parser.getLongValue();
-                                    break;
-                                case "o":
-                                    open = parser.getDoubleValue();
-                                    break;
-                                case "h":
-                                    high = parser.getDoubleValue();
-                                    break;
-                                case "l":
-                                    low = parser.getDoubleValue();
-                                    break;
-                                case "c":
-                                    close = parser.getDoubleValue();
-                                    break;
-                                case "v":
-                                    volume = parser.getLongValue();
-                                    break;
-                            }
+            return METRICS.record(stage, parse(parser), json.length());
+        } catch (Exception e) {
+            throw new RuntimeException("Error in streaming parsing", e);
+        }
+    }
+
+    @Override
+    public BarSeries loadData(InputStream in) {
+        LoadMetrics.Parse stage = METRICS.start();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return METRICS.record(stage, parse(parser), -1);
+        } catch (Exception e) {
+            throw new RuntimeException("Error in streaming parsing", e);
+        }
+    }
+
+    /**
+     * Parses straight from a memory-mapped view of the file, so heap usage is bounded by the
+     * resulting columns rather than the file size.
+     */
+    @Override
+    public BarSeries loadData(Path path) {
+        LoadMetrics.Parse stage = METRICS.start();
+        try (MappedFileInputStream in = new MappedFileInputStream(path);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return METRICS.record(stage, parse(parser), in.size());
+        } catch (Exception e) {
+            throw new RuntimeException("Error in streaming parsing of " + path, e);
+        }
+    }
+
+    private BarSeries parse(JsonParser parser) throws IOException {
+        String ticker = "";
+        BarColumns columns = null;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new RuntimeException("Expected start of object");
+        }
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            String fieldName = parser.getCurrentName();
+            if ("ticker".equals(fieldName)) {
+                parser.nextToken();
+                ticker = parser.getText();
+            } else if ("results".equals(fieldName)) {
+                parser.nextToken(); // START_ARRAY
+                if (columns == null) {
+                    columns = new BarColumns(ticker, Duration.ofMinutes(1), zone);
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    long timestampMs = 0;
+                    double open = 0, high = 0, low = 0, close = 0;
+                    long volume = 0;
+                    int seen = 0;
+                    while (parser.nextToken() != JsonToken.END_OBJECT) {
+                        String key = parser.getCurrentName();
+                        parser.nextToken();
+                        switch (key) {
+                            case "t":
+                                timestampMs = parser.getLongValue();
+                                seen |= 1;
+                                break;
+                            case "o":
+                                open = parser.getDoubleValue();
+                                seen |= 2;
+                                break;
+                            case "h":
+                                high = parser.getDoubleValue();
+                                seen |= 4;
+                                break;
+                            case "l":
+                                low = parser.getDoubleValue();
+                                seen |= 8;
+                                break;
+                            case "c":
+                                close = parser.getDoubleValue();
+                                seen |= 16;
+                                break;
+                            case "v":
+                                volume = parser.getLongValue();
+                                break;
                         }
-                        ZonedDateTime zdt = Instant.ofEpochMilli(timestampMs).atZone(ZoneId.systemDefault());
-                        BaseBar bar = new BaseBar(
-                            Duration.ofMinutes(1),
-                            zdt,
-                            DecimalNum.valueOf(open),
-                            DecimalNum.valueOf(high),
-                            DecimalNum.valueOf(low),
-                            DecimalNum.valueOf(close),
-                            DecimalNum.valueOf(volume),
-                            DecimalNum.valueOf(0) // trades
-                        );
-                        series.addBar(bar);
                     }
-                } else {
-                    parser.skipChildren();
+                    if (seen != 31) {
+                        throw new IOException("Bar " + columns.size() + " lacks a timestamp or price");
+                    }
+                    columns.add(timestampMs, open, high, low, close, volume);
                 }
+            } else {
+                parser.skipChildren();
             }
-            return series;
-        } catch (Exception e) {
-            throw new RuntimeException("Error in streaming parsing", e);
         }
+        if (columns == null) {
+            columns = new BarColumns(ticker, Duration.ofMinutes(1), zone);
+        }
+        columns.trimToSize();
+        return columns.asBarSeries();
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json) {
+        return chainLoader.load(json, ContractFilter.all());
+    }
+
+    @Override
+    public OptionChain loadOptionChain(String json, LocalDate asOf) {
+        return chainLoader.load(json, asOf, ContractFilter.all());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
     }
 }
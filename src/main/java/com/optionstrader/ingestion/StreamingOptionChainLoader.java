@@ -0,0 +1,392 @@
+package com.optionstrader.ingestion;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.optionstrader.options.OptionChain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Token-level loader for Massive option chain snapshots. Each result is read field by field into
+ * primitives; the {@link ContractFilter} is applied before the contract is appended to the
+ * columnar {@link OptionChain.Builder}, so no {@code OptionContract} is ever allocated. Expiration dates and the underlying ticker are
+ * parsed from the token characters and cached, since a chain repeats a handful of each.
+ * <p>
+ * DTE is measured from the given as-of date or, without one, from the trading date of each
+ * result's {@code last_updated} timestamp (underlying, then day, then quote) in the exchange zone.
+ */
+public class StreamingOptionChainLoader {
+
+    private static final String CALL = "CALL";
+    private static final String PUT = "PUT";
+
+    private final JsonFactory jsonFactory;
+    private final ZoneId zone;
+
+    public StreamingOptionChainLoader() {
+        this(BarColumns.DEFAULT_ZONE);
+    }
+
+    /**
+     * @param zone exchange zone that snapshot timestamps are bucketed into trading dates with
+     */
+    public StreamingOptionChainLoader(ZoneId zone) {
+        this.zone = zone;
+        this.jsonFactory = new JsonFactory();
+        this.jsonFactory.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    /**
+     * Loads a snapshot with DTE measured from its own {@code last_updated} timestamps.
+     */
+    public OptionChain load(String json, ContractFilter filter) {
+        return load(json, null, filter);
+    }
+
+    /**
+     * Loads a snapshot with DTE measured from its own {@code last_updated} timestamps.
+     */
+    public OptionChain load(Path path, ContractFilter filter) {
+        return load(path, null, filter);
+    }
+
+    public OptionChain load(String json, LocalDate asOf, ContractFilter filter) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return parse(parser, asOf, filter);
+        } catch (Exception e) {
+            throw new RuntimeException("Error in streaming option chain parsing", e);
+        }
+    }
+
+    public OptionChain load(InputStream in, LocalDate asOf, ContractFilter filter) {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return parse(parser, asOf, filter);
+        } catch (Exception e) {
+            throw new RuntimeException("Error in streaming option chain parsing", e);
+        }
+    }
+
+    public OptionChain load(Path path, LocalDate asOf, ContractFilter filter) {
+        try (MappedFileInputStream in = new MappedFileInputStream(path);
+             JsonParser parser = jsonFactory.createParser(in)) {
+            return parse(parser, asOf, filter);
+        } catch (Exception e) {
+            throw new RuntimeException("Error in streaming option chain parsing of " + path, e);
+        }
+    }
+
+    /**
+     * Loads one snapshot per calendar day in {@code [from, to]} from {@code directory/yyyy-MM-dd.json}.
+     */
+    public Map<LocalDate, OptionChain> loadRange(Path directory, LocalDate from, LocalDate to, ContractFilter filter) {
+        return loadRange(date -> directory.resolve(date + ".json"), from, to, filter);
+    }
+
+    /**
+     * Loads one snapshot per calendar day in {@code [from, to]}, each located by {@code locator}.
+     * Days without a file (weekends, holidays) are skipped. DTE is measured from each snapshot's
+     * own date, and dates are parsed in parallel.
+     */
+    public Map<LocalDate, OptionChain> loadRange(Function<LocalDate, Path> locator, LocalDate from, LocalDate to,
+                                                 ContractFilter filter) {
+        Map<LocalDate, OptionChain> chains = new ConcurrentHashMap<>();
+        List<LocalDate> dates = Stream.iterate(from, d -> !d.isAfter(to), d -> d.plusDays(1))
+            .collect(Collectors.toList());
+        dates.parallelStream().forEach(date -> {
+            Path path = locator.apply(date);
+            if (Files.isRegularFile(path)) {
+                chains.put(date, load(path, date, filter));
+            }
+        });
+        return new TreeMap<>(chains);
+    }
+
+    private OptionChain parse(JsonParser parser, LocalDate asOf, ContractFilter filter) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new RuntimeException("Expected start of object");
+        }
+        ContractReader reader = new ContractReader(asOf, zone);
+        OptionChain.Builder contracts = new OptionChain.Builder();
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("results".equals(fieldName) && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    reader.read(parser);
+                    if (reader.type != null && filter.accept(reader.type, reader.strike, reader.dte, reader.delta)) {
+                        reader.addTo(contracts);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return contracts.build(reader.underlying);
+    }
+
+    /**
+     * Mutable per-result scratch state, reused across all results of one snapshot.
+     */
+    private static final class ContractReader {
+        /** Long.MIN_VALUE when DTE is measured from each result's own timestamp. */
+        private final long asOfEpochDay;
+        private final ZoneId zone;
+        private final Map<Integer, LocalDate> expirations = new HashMap<>();
+        private int lastExpirationKey = -1;
+        private LocalDate lastExpiration;
+        private long lastUpdatedNanos;
+        private long lastUpdatedEpochDay;
+
+        String underlying = "";
+        String type;
+        double strike;
+        LocalDate expiration;
+        int dte;
+        double delta;
+        double theta;
+        double midpoint;
+        double dayClose;
+        boolean hasMidpoint;
+        long underlyingUpdated;
+        long dayUpdated;
+        long quoteUpdated;
+
+        ContractReader(LocalDate asOf, ZoneId zone) {
+            this.asOfEpochDay = asOf == null ? Long.MIN_VALUE : asOf.toEpochDay();
+            this.zone = zone;
+        }
+
+        void read(JsonParser parser) throws IOException {
+            type = null;
+            strike = 0;
+            expiration = null;
+            dte = 0;
+            delta = 0;
+            theta = 0;
+            midpoint = 0;
+            dayClose = 0;
+            hasMidpoint = false;
+            underlyingUpdated = 0;
+            dayUpdated = 0;
+            quoteUpdated = 0;
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (name) {
+                    case "details":
+                        readDetails(parser);
+                        break;
+                    case "greeks":
+                        readGreeks(parser);
+                        break;
+                    case "last_quote":
+                        readQuote(parser);
+                        break;
+                    case "day":
+                        readDay(parser);
+                        break;
+                    case "underlying_asset":
+                        readUnderlying(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (expiration != null) {
+                dte = (int) (expiration.toEpochDay() - asOfEpochDay());
+            }
+        }
+
+        /**
+         * Epoch day DTE is measured from: the as-of date, else the trading date of this result's
+         * timestamp. Consecutive results usually share the timestamp, so the last one is cached.
+         */
+        private long asOfEpochDay() {
+            if (asOfEpochDay != Long.MIN_VALUE) {
+                return asOfEpochDay;
+            }
+            long nanos = underlyingUpdated != 0 ? underlyingUpdated : dayUpdated != 0 ? dayUpdated : quoteUpdated;
+            if (nanos == 0) {
+                throw new IllegalArgumentException("Snapshot result has no last_updated timestamp; pass an as-of date");
+            }
+            if (nanos != lastUpdatedNanos) {
+                lastUpdatedEpochDay = Instant.EPOCH.plusNanos(nanos).atZone(zone).toLocalDate().toEpochDay();
+                lastUpdatedNanos = nanos;
+            }
+            return lastUpdatedEpochDay;
+        }
+
+        void addTo(OptionChain.Builder contracts) {
+            contracts.add(underlying, type, strike, expiration, delta, dte, hasMidpoint ? midpoint : dayClose, theta);
+        }
+
+        private void readDetails(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "contract_type":
+                        if (value == JsonToken.VALUE_STRING) {
+                            // Same types as OptionSnapshotMapper: anything but call or put keeps its own name
+                            type = sameTextIgnoreCase(parser, CALL) ? CALL
+                                : sameTextIgnoreCase(parser, PUT) ? PUT
+                                : parser.getText().toUpperCase();
+                        }
+                        break;
+                    case "strike_price":
+                        strike = number(parser, value);
+                        break;
+                    case "expiration_date":
+                        if (value == JsonToken.VALUE_STRING) {
+                            readExpiration(parser);
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        private void readGreeks(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("delta".equals(name)) {
+                    delta = number(parser, value);
+                } else if ("theta".equals(name)) {
+                    theta = number(parser, value);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void readQuote(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("midpoint".equals(name) && value.isNumeric()) {
+                    midpoint = parser.getDoubleValue();
+                    hasMidpoint = true;
+                } else if ("last_updated".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    quoteUpdated = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void readDay(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("close".equals(name)) {
+                    dayClose = number(parser, value);
+                } else if ("last_updated".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    dayUpdated = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        private void readUnderlying(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_OBJECT) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("ticker".equals(name) && value == JsonToken.VALUE_STRING) {
+                    if (!sameText(parser, underlying)) {
+                        underlying = parser.getText();
+                    }
+                } else if ("last_updated".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    underlyingUpdated = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        /**
+         * Parses {@code yyyy-MM-dd} from the token characters, reusing the {@code LocalDate} for
+         * expirations already seen in this snapshot.
+         */
+        private void readExpiration(JsonParser parser) throws IOException {
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            if (parser.getTextLength() != 10) {
+                expiration = LocalDate.parse(parser.getText());
+            } else {
+                int year = digits(chars, offset, 4);
+                int month = digits(chars, offset + 5, 2);
+                int day = digits(chars, offset + 8, 2);
+                int key = year * 10000 + month * 100 + day;
+                if (key != lastExpirationKey) {
+                    lastExpiration = expirations.computeIfAbsent(key, k -> LocalDate.of(year, month, day));
+                    lastExpirationKey = key;
+                }
+                expiration = lastExpiration;
+            }
+        }
+
+        private static int digits(char[] chars, int offset, int count) {
+            int value = 0;
+            for (int i = 0; i < count; i++) {
+                value = value * 10 + (chars[offset + i] - '0');
+            }
+            return value;
+        }
+
+        private static boolean sameText(JsonParser parser, String text) throws IOException {
+            int length = parser.getTextLength();
+            if (length != text.length()) {
+                return false;
+            }
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            for (int i = 0; i < length; i++) {
+                if (chars[offset + i] != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean sameTextIgnoreCase(JsonParser parser, String text) throws IOException {
+            int length = parser.getTextLength();
+            if (length != text.length()) {
+                return false;
+            }
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            for (int i = 0; i < length; i++) {
+                if (Character.toUpperCase(chars[offset + i]) != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static double number(JsonParser parser, JsonToken value) throws IOException {
+            return value.isNumeric() ? parser.getDoubleValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.optionstrader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A backtester choosing a contract from an option chain.
+ */
+@Name("com.optionstrader.ChainSelection")
+@Label("Chain Selection")
+@Category({"Option Trader", "Backtest"})
+@Description("Contract selection from an option chain")
+public class ChainSelectionEvent extends jdk.jfr.Event {
+
+    @Label("Backtester")
+    public String backtester;
+
+    @Label("Underlying")
+    public String underlying;
+
+    @Label("Candidates")
+    @Description("Contracts in the chain")
+    public int candidates;
+
+    @Label("Selected")
+    public boolean selected;
+
+    @Label("Strike")
+    public double strike;
+
+    @Label("Delta")
+    public double delta;
+
+    @Label("Days To Expiration")
+    public int dte;
+}
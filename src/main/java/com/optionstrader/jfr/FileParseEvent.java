@@ -0,0 +1,32 @@
+package com.optionstrader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One aggregate payload parsed into a bar series, timed from the start of parsing to the
+ * finished series.
+ */
+@Name("com.optionstrader.FileParse")
+@Label("File Parse")
+@Category({"Option Trader", "Ingestion"})
+@Description("Aggregate JSON parsed into a bar series")
+public class FileParseEvent extends jdk.jfr.Event {
+
+    @Label("Loader")
+    public String loader;
+
+    @Label("Ticker")
+    public String ticker;
+
+    @Label("Bytes")
+    @Description("Payload size (characters for String input), or -1 when read from an unsized stream")
+    @DataAmount
+    public long bytes;
+
+    @Label("Bars")
+    public int bars;
+}
@@ -0,0 +1,35 @@
+package com.optionstrader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One signal engine pass over a series (or a batch of aligned series).
+ */
+@Name("com.optionstrader.SignalGeneration")
+@Label("Signal Generation")
+@Category({"Option Trader", "Signal"})
+@Description("Signal engine pass over a bar series")
+public class SignalGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Engine")
+    public String engine;
+
+    @Label("Ticker")
+    public String ticker;
+
+    @Label("Bars")
+    public long bars;
+
+    @Label("Signals")
+    @Description("Signals emitted, including HOLD")
+    public long signals;
+
+    @Label("Buy Signals")
+    public long buySignals;
+
+    @Label("Sell Signals")
+    public long sellSignals;
+}
@@ -0,0 +1,44 @@
+package com.optionstrader.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A backtester opening or closing an option position.
+ */
+@Name("com.optionstrader.Trade")
+@Label("Trade")
+@Category({"Option Trader", "Backtest"})
+@Description("Option position opened or closed by a backtester")
+public class TradeEvent extends jdk.jfr.Event {
+
+    public static final String OPEN = "OPEN";
+    public static final String CLOSE = "CLOSE";
+
+    @Label("Backtester")
+    public String backtester;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Underlying")
+    public String underlying;
+
+    @Label("Contract Type")
+    public String contractType;
+
+    @Label("Strike")
+    public double strike;
+
+    @Label("Bar Index")
+    public int barIndex;
+
+    @Label("Trade Date")
+    public String tradeDate;
+
+    @Label("PnL")
+    @Description("Position PnL at the time of the event; 0 on open")
+    public double pnl;
+}
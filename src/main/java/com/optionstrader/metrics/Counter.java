@@ -0,0 +1,42 @@
+package com.optionstrader.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count. Updates are dropped while the owning registry is disabled.
+ */
+public final class Counter {
+
+    private final String name;
+    private final MetricsRegistry registry;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, MetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    public void increment() {
+        if (registry.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if (registry.isEnabled()) {
+            count.add(amount);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,52 @@
+package com.optionstrader.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Process-wide {@link MetricsRegistry} used by the loaders, signal engines, translator and
+ * backtesters. Recording is off unless {@code -Doptionstrader.metrics=true} is set or
+ * {@link MetricsRegistry#setEnabled} is called. With {@code -Doptionstrader.metrics.dump=<file>}
+ * the registry is written to that file (Prometheus text for {@code .prom}/{@code .txt}, JSON
+ * otherwise) when the JVM exits.
+ */
+public final class Metrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+
+    public static final String ENABLED_PROPERTY = "optionstrader.metrics";
+    public static final String DUMP_PROPERTY = "optionstrader.metrics.dump";
+
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry(Boolean.getBoolean(ENABLED_PROPERTY));
+
+    static {
+        String dump = System.getProperty(DUMP_PROPERTY);
+        if (dump != null && !dump.isEmpty()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    REGISTRY.writeTo(Paths.get(dump));
+                } catch (IOException e) {
+                    logger.warn("Could not write metrics to {}: {}", dump, e.getMessage());
+                }
+            }, "metrics-dump"));
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    public static Counter counter(String name) {
+        return REGISTRY.counter(name);
+    }
+
+    public static Timer timer(String name) {
+        return REGISTRY.timer(name);
+    }
+}
@@ -0,0 +1,136 @@
+package com.optionstrader.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named counters and timers, with JSON and Prometheus text exposition. Metrics are created once
+ * (usually into {@code static final} fields) and checked against the registry's enabled flag on
+ * every update, so a disabled registry costs one field read per call site.
+ */
+public final class MetricsRegistry {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter(n, this));
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Timer(n, this));
+    }
+
+    /** Zeroes every metric; registrations are kept. */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+    }
+
+    /**
+     * Counters by name, then timers with count, sum, min, max, mean and percentiles in nanoseconds.
+     * Metrics that never recorded anything are omitted.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"counters\": {");
+        String separator = "\n";
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            if (counter.count() != 0) {
+                json.append(separator).append("    \"").append(counter.getName()).append("\": ").append(counter.count());
+                separator = ",\n";
+            }
+        }
+        json.append("\n  },\n  \"timers\": {");
+        separator = "\n";
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            LatencyHistogram histogram = timer.histogram();
+            if (histogram.count() == 0) {
+                continue;
+            }
+            json.append(separator).append("    \"").append(timer.getName()).append("\": {")
+                .append("\"count\": ").append(histogram.count())
+                .append(", \"sumNanos\": ").append(histogram.sum())
+                .append(", \"minNanos\": ").append(histogram.min())
+                .append(", \"maxNanos\": ").append(histogram.max())
+                .append(", \"meanNanos\": ").append(String.format(Locale.ROOT, "%.1f", histogram.mean()));
+            for (double percentile : PERCENTILES) {
+                json.append(", \"p").append(percentileLabel(percentile).replace(".", "")).append("Nanos\": ")
+                    .append(histogram.valueAtPercentile(percentile));
+            }
+            json.append('}');
+            separator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+
+    /**
+     * Prometheus text format: counters as {@code _total} families, timers as summaries in seconds.
+     */
+    public String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            // The text format matches samples to the TYPE line by exact name, suffix included
+            String name = prometheusName(counter.getName()) + "_total";
+            text.append("# TYPE ").append(name).append(" counter\n")
+                .append(name).append(' ').append(counter.count()).append('\n');
+        }
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            LatencyHistogram histogram = timer.histogram();
+            String name = prometheusName(timer.getName()) + "_seconds";
+            text.append("# TYPE ").append(name).append(" summary\n");
+            for (double percentile : PERCENTILES) {
+                text.append(name).append("{quantile=\"").append(percentileLabel(percentile / 100)).append("\"} ")
+                    .append(seconds(histogram.valueAtPercentile(percentile))).append('\n');
+            }
+            text.append(name).append("_sum ").append(seconds(histogram.sum())).append('\n')
+                .append(name).append("_count ").append(histogram.count()).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the Prometheus text when {@code file} ends in {@code .prom} or {@code .txt},
+     * JSON otherwise.
+     */
+    public void writeTo(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        String body = name.endsWith(".prom") || name.endsWith(".txt") ? toPrometheus() : toJson();
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Files.writeString(file, body, StandardCharsets.UTF_8);
+    }
+
+    private static String prometheusName(String name) {
+        return "optionstrader_" + name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    private static String percentileLabel(double value) {
+        String label = String.format(Locale.ROOT, "%.4f", value);
+        return label.replaceAll("0+$", "").replaceAll("\\.$", "");
+    }
+}
@@ -0,0 +1,66 @@
+package com.optionstrader.metrics;
+
+/**
+ * Stage timer backed by a {@link LatencyHistogram} of nanosecond durations. Typical use:
+ *
+ * <pre>
+ * long start = TIMER.start();
+ * ...
+ * TIMER.stop(start);
+ * </pre>
+ *
+ * While the registry is disabled {@link #start()} returns {@link #DISABLED} without reading the
+ * clock and {@link #stop(long)} ignores it.
+ */
+public final class Timer {
+
+    /**
+     * Start value handed out while the registry is disabled. {@code System.nanoTime()} may return
+     * any long, including 0, so the sentinel is the value furthest from any realistic reading.
+     */
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    private final String name;
+    private final MetricsRegistry registry;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    Timer(String name, MetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    public long start() {
+        return registry.isEnabled() ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Records the time since {@code start}, a value returned by {@link #start()}.
+     */
+    public void stop(long start) {
+        if (start != DISABLED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    public void record(long nanos) {
+        if (registry.isEnabled()) {
+            histogram.record(nanos);
+        }
+    }
+
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    public long count() {
+        return histogram.count();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void reset() {
+        histogram.reset();
+    }
+}
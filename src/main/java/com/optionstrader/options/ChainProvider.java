@@ -0,0 +1,23 @@
+package com.optionstrader.options;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Source of per-date option chains for backtests.
+ */
+@FunctionalInterface
+public interface ChainProvider {
+
+    /**
+     * Returns the chain snapshot for {@code date}, or null when there is none.
+     */
+    OptionChain chainFor(LocalDate date);
+
+    /**
+     * Adapts a fully materialized chain map.
+     */
+    static ChainProvider of(Map<LocalDate, OptionChain> chains) {
+        return chains::get;
+    }
+}
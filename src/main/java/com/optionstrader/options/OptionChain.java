@@ -1,13 +1,349 @@
 package com.optionstrader.options;
 
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
  * Represents an options chain for an underlying asset.
+ * <p>
+ * Contracts are stored column by column: primitive arrays for strike, delta, DTE, price and
+ * theta, and small per-chain tables for the type, expiration and underlying strings, referenced
+ * by code. {@link #contracts()} is a read-only view that builds an {@link OptionContract} per
+ * access; scans that only need a few fields should read the columns by position instead
+ * ({@link #size()}, {@link #delta(int)}, ...). A chain is immutable, and two chains are equal when
+ * their underlying and contracts are.
  */
-public record OptionChain(
-    String underlying,
-    List<OptionContract> contracts
-) {
-    // Additional methods if needed
+public final class OptionChain {
+
+    private final String underlying;
+    private final int size;
+    private final String[] typeTable;
+    private final byte[] typeCodes;
+    private final LocalDate[] expirationTable;
+    private final int[] expirationCodes;
+    private final String[] underlyingTable;
+    /** Null when every contract has {@code underlyingTable[0]}. */
+    private final int[] underlyingCodes;
+    private final double[] strikes;
+    private final double[] deltas;
+    private final int[] dtes;
+    private final double[] prices;
+    private final double[] thetas;
+    private final List<OptionContract> view = new ContractList();
+    private volatile OptionChainIndex index;
+
+    public OptionChain(String underlying, List<OptionContract> contracts) {
+        this(copyOf(contracts), underlying);
+    }
+
+    private OptionChain(Builder builder, String underlying) {
+        this.underlying = underlying;
+        this.size = builder.size;
+        this.typeTable = builder.types.table(new String[0]);
+        this.typeCodes = Arrays.copyOf(builder.typeCodes, size);
+        this.expirationTable = builder.expirations.table(new LocalDate[0]);
+        this.expirationCodes = Arrays.copyOf(builder.expirationCodes, size);
+        this.underlyingTable = builder.underlyings.table(new String[0]);
+        this.underlyingCodes = underlyingTable.length > 1 ? Arrays.copyOf(builder.underlyingCodes, size) : null;
+        this.strikes = Arrays.copyOf(builder.strikes, size);
+        this.deltas = Arrays.copyOf(builder.deltas, size);
+        this.dtes = Arrays.copyOf(builder.dtes, size);
+        this.prices = Arrays.copyOf(builder.prices, size);
+        this.thetas = Arrays.copyOf(builder.thetas, size);
+    }
+
+    private OptionChain(OptionChain source, double[] deltas) {
+        this.underlying = source.underlying;
+        this.size = source.size;
+        this.typeTable = source.typeTable;
+        this.typeCodes = source.typeCodes;
+        this.expirationTable = source.expirationTable;
+        this.expirationCodes = source.expirationCodes;
+        this.underlyingTable = source.underlyingTable;
+        this.underlyingCodes = source.underlyingCodes;
+        this.strikes = source.strikes;
+        this.deltas = deltas;
+        this.dtes = source.dtes;
+        this.prices = source.prices;
+        this.thetas = source.thetas;
+    }
+
+    private static Builder copyOf(List<OptionContract> contracts) {
+        Builder builder = new Builder(contracts.size());
+        for (OptionContract contract : contracts) {
+            builder.add(contract);
+        }
+        return builder;
+    }
+
+    public String underlying() {
+        return underlying;
+    }
+
+    /**
+     * Read-only view of the contracts, in chain order.
+     */
+    public List<OptionContract> contracts() {
+        return view;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Contract at {@code position}, materialized from the columns.
+     */
+    public OptionContract contract(int position) {
+        Objects.checkIndex(position, size);
+        return new OptionContract(underlying(position), type(position), strikes[position],
+                                  expirationTable[expirationCodes[position]], deltas[position], dtes[position],
+                                  prices[position], thetas[position]);
+    }
+
+    public String underlying(int position) {
+        return underlyingTable[underlyingCodes == null ? 0 : underlyingCodes[position]];
+    }
+
+    public String type(int position) {
+        return typeTable[typeCodes[position]];
+    }
+
+    public double strike(int position) {
+        return strikes[position];
+    }
+
+    public LocalDate expiration(int position) {
+        return expirationTable[expirationCodes[position]];
+    }
+
+    public double delta(int position) {
+        return deltas[position];
+    }
+
+    public int dte(int position) {
+        return dtes[position];
+    }
+
+    public double price(int position) {
+        return prices[position];
+    }
+
+    public double theta(int position) {
+        return thetas[position];
+    }
+
+    /**
+     * Copy of this chain with the delta column replaced, e.g. by deltas rebuilt from implied
+     * volatility. The other columns are shared, since chains are immutable.
+     */
+    public OptionChain withDeltas(double[] deltas) {
+        if (deltas.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " deltas, got " + deltas.length);
+        }
+        return new OptionChain(this, deltas.clone());
+    }
+
+    /**
+     * Code of {@code type} in this chain's type table, or -1 if no contract has it. Resolve it
+     * once per chain and compare against {@link #typeCode(int)} in loops over contracts.
+     */
+    public int typeCode(String type) {
+        for (int code = 0; code < typeTable.length; code++) {
+            if (Objects.equals(typeTable[code], type)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    int typeTableSize() {
+        return typeTable.length;
+    }
+
+    /**
+     * Type code of the contract at {@code position}; see {@link #typeCode(String)}.
+     */
+    public byte typeCode(int position) {
+        return typeCodes[position];
+    }
+
+    /**
+     * Contracts partitioned by type and DTE and sorted by delta, built once per chain.
+     */
+    public OptionChainIndex index() {
+        OptionChainIndex result = index;
+        if (result == null) {
+            // Racing builders produce identical indexes, so the last write winning is harmless
+            result = new OptionChainIndex(this);
+            index = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OptionChain)) {
+            return false;
+        }
+        OptionChain other = (OptionChain) o;
+        if (size != other.size || !Objects.equals(underlying, other.underlying)
+            || !Arrays.equals(strikes, other.strikes) || !Arrays.equals(deltas, other.deltas)
+            || !Arrays.equals(dtes, other.dtes) || !Arrays.equals(prices, other.prices)
+            || !Arrays.equals(thetas, other.thetas)) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(type(i), other.type(i)) || !Objects.equals(expiration(i), other.expiration(i))
+                || !Objects.equals(underlying(i), other.underlying(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(underlying, size);
+        result = 31 * result + Arrays.hashCode(strikes);
+        result = 31 * result + Arrays.hashCode(deltas);
+        return 31 * result + Arrays.hashCode(dtes);
+    }
+
+    @Override
+    public String toString() {
+        return "OptionChain[underlying=" + underlying + ", contracts=" + view + "]";
+    }
+
+    /**
+     * Appends contracts field by field, so loaders never materialize an {@link OptionContract}.
+     */
+    public static final class Builder {
+        private final Interner<String> types = new Interner<>();
+        private final Interner<LocalDate> expirations = new Interner<>();
+        private final Interner<String> underlyings = new Interner<>();
+        private int size;
+        private byte[] typeCodes;
+        private int[] expirationCodes;
+        private int[] underlyingCodes;
+        private double[] strikes;
+        private double[] deltas;
+        private int[] dtes;
+        private double[] prices;
+        private double[] thetas;
+
+        public Builder() {
+            this(64);
+        }
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.typeCodes = new byte[capacity];
+            this.expirationCodes = new int[capacity];
+            this.underlyingCodes = new int[capacity];
+            this.strikes = new double[capacity];
+            this.deltas = new double[capacity];
+            this.dtes = new int[capacity];
+            this.prices = new double[capacity];
+            this.thetas = new double[capacity];
+        }
+
+        public Builder add(String contractUnderlying, String type, double strike, LocalDate expiration,
+                           double delta, int dte, double price, double theta) {
+            if (size == strikes.length) {
+                grow();
+            }
+            int typeCode = types.code(type);
+            if (typeCode > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many distinct contract types: " + type);
+            }
+            typeCodes[size] = (byte) typeCode;
+            expirationCodes[size] = expirations.code(expiration);
+            underlyingCodes[size] = underlyings.code(contractUnderlying);
+            strikes[size] = strike;
+            deltas[size] = delta;
+            dtes[size] = dte;
+            prices[size] = price;
+            thetas[size] = theta;
+            size++;
+            return this;
+        }
+
+        public Builder add(OptionContract contract) {
+            return add(contract.underlying(), contract.type(), contract.strike(), contract.expiration(),
+                       contract.delta(), contract.dte(), contract.price(), contract.theta());
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public OptionChain build(String underlying) {
+            return new OptionChain(this, underlying);
+        }
+
+        private void grow() {
+            int capacity = strikes.length * 2;
+            typeCodes = Arrays.copyOf(typeCodes, capacity);
+            expirationCodes = Arrays.copyOf(expirationCodes, capacity);
+            underlyingCodes = Arrays.copyOf(underlyingCodes, capacity);
+            strikes = Arrays.copyOf(strikes, capacity);
+            deltas = Arrays.copyOf(deltas, capacity);
+            dtes = Arrays.copyOf(dtes, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            thetas = Arrays.copyOf(thetas, capacity);
+        }
+    }
+
+    /**
+     * Assigns dense codes to distinct values, null included, in first-seen order.
+     */
+    private static final class Interner<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+        private T last;
+        private int lastCode = -1;
+
+        int code(T value) {
+            // Consecutive contracts usually share type, expiration and underlying
+            if (lastCode >= 0 && Objects.equals(last, value)) {
+                return lastCode;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            last = value;
+            lastCode = code;
+            return code;
+        }
+
+        T[] table(T[] array) {
+            return values.toArray(array);
+        }
+    }
+
+    private final class ContractList extends AbstractList<OptionContract> implements RandomAccess {
+        @Override
+        public OptionContract get(int index) {
+            return contract(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package com.optionstrader.options;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Read-only index over a chain's contracts for "closest delta within a DTE window" queries.
+ * <p>
+ * Contracts are partitioned by type, then bucketed by DTE, and sorted by delta inside each
+ * bucket. A query binary-searches the DTE range and, per bucket, the target delta; since
+ * {@code |delta - target|} is monotone on either side of the target, the closest contracts sit
+ * next to the insertion point. Results are identical to
+ * <pre>
+ * contracts.stream()
+ *     .filter(c -&gt; type.equals(c.type()) &amp;&amp; c.dte() &gt;= minDte &amp;&amp; c.dte() &lt;= maxDte)
+ *     .min(Comparator.comparingDouble(c -&gt; Math.abs(c.delta() - targetDelta)))
+ * </pre>
+ * including ties, which go to the contract earliest in the chain, and NaN deltas, which only win
+ * when nothing else qualifies.
+ */
+public final class OptionChainIndex {
+
+    private final OptionChain chain;
+    private final TypeIndex[] byType;
+
+    OptionChainIndex(OptionChain chain) {
+        this.chain = chain;
+        int[] counts = new int[chain.typeTableSize()];
+        for (int i = 0; i < chain.size(); i++) {
+            counts[chain.typeCode(i)]++;
+        }
+        this.byType = new TypeIndex[counts.length];
+        for (int code = 0; code < counts.length; code++) {
+            byType[code] = new TypeIndex(chain, (byte) code, counts[code]);
+        }
+    }
+
+    /**
+     * The contract of {@code type} with DTE in {@code [minDte, maxDte]} whose delta is closest to
+     * {@code targetDelta}, or empty when none qualifies.
+     */
+    public Optional<OptionContract> closestDelta(String type, int minDte, int maxDte, double targetDelta) {
+        int position = closestDeltaPosition(type, minDte, maxDte, targetDelta);
+        return position < 0 ? Optional.empty() : Optional.of(chain.contract(position));
+    }
+
+    /**
+     * Chain position of the {@link #closestDelta} contract, or -1.
+     */
+    public int closestDeltaPosition(String type, int minDte, int maxDte, double targetDelta) {
+        // A null type never matched the stream filter's type.equals(...)
+        int code = type == null ? -1 : chain.typeCode(type);
+        return code < 0 ? -1 : byType[code].closestDelta(minDte, maxDte, targetDelta);
+    }
+
+    /**
+     * One type's contracts: {@code dtes[b]} is the DTE of bucket {@code b}, whose entries occupy
+     * {@code [bucketStart[b], bucketStart[b + 1])} of {@code deltas} and {@code positions}.
+     */
+    private static final class TypeIndex {
+        private final int[] dtes;
+        private final int[] bucketStart;
+        private final double[] deltas;
+        private final int[] positions;
+
+        TypeIndex(OptionChain chain, byte type, int count) {
+            Integer[] order = new Integer[count];
+            int n = 0;
+            for (int i = 0; i < chain.size(); i++) {
+                if (chain.typeCode(i) == type) {
+                    order[n++] = i;
+                }
+            }
+            Arrays.sort(order, (x, y) -> {
+                int byDte = Integer.compare(chain.dte(x), chain.dte(y));
+                return byDte != 0 ? byDte : Double.compare(chain.delta(x), chain.delta(y));
+            });
+
+            this.deltas = new double[count];
+            this.positions = new int[count];
+            int[] bucketDtes = new int[count];
+            int[] starts = new int[count + 1];
+            int buckets = 0;
+            for (int k = 0; k < count; k++) {
+                int dte = chain.dte(order[k]);
+                if (buckets == 0 || bucketDtes[buckets - 1] != dte) {
+                    bucketDtes[buckets] = dte;
+                    starts[buckets++] = k;
+                }
+                deltas[k] = chain.delta(order[k]);
+                positions[k] = order[k];
+            }
+            starts[buckets] = count;
+            this.dtes = Arrays.copyOf(bucketDtes, buckets);
+            this.bucketStart = Arrays.copyOf(starts, buckets + 1);
+        }
+
+        /**
+         * Chain position of the closest contract, or -1.
+         */
+        int closestDelta(int minDte, int maxDte, double target) {
+            int best = -1;
+            double bestDistance = 0;
+            int from = lowerBound(dtes, 0, dtes.length, minDte);
+            for (int b = from; b < dtes.length && dtes[b] <= maxDte; b++) {
+                int start = bucketStart[b];
+                int end = bucketStart[b + 1];
+                int split = lowerBound(deltas, start, end, target);
+                // Closest distance in the bucket is at one of the two neighbours of the split
+                double distance = Double.NaN;
+                if (split > start) {
+                    distance = Math.abs(deltas[split - 1] - target);
+                }
+                if (split < end) {
+                    double right = Math.abs(deltas[split] - target);
+                    if (split == start || Double.compare(right, distance) < 0) {
+                        distance = right;
+                    }
+                }
+                int cmp = best < 0 ? -1 : Double.compare(distance, bestDistance);
+                if (cmp > 0) {
+                    continue;
+                }
+                // Equal distances form runs around the split; take the earliest chain position
+                int candidate = Integer.MAX_VALUE;
+                for (int k = split - 1; k >= start && Double.compare(Math.abs(deltas[k] - target), distance) == 0; k--) {
+                    candidate = Math.min(candidate, positions[k]);
+                }
+                for (int k = split; k < end && Double.compare(Math.abs(deltas[k] - target), distance) == 0; k++) {
+                    candidate = Math.min(candidate, positions[k]);
+                }
+                if (cmp < 0 || candidate < best) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+            return best;
+        }
+
+        private static int lowerBound(int[] values, int from, int to, int key) {
+            while (from < to) {
+                int mid = (from + to) >>> 1;
+                if (values[mid] < key) {
+                    from = mid + 1;
+                } else {
+                    to = mid;
+                }
+            }
+            return from;
+        }
+
+        private static int lowerBound(double[] values, int from, int to, double key) {
+            while (from < to) {
+                int mid = (from + to) >>> 1;
+                if (Double.compare(values[mid], key) < 0) {
+                    from = mid + 1;
+                } else {
+                    to = mid;
+                }
+            }
+            return from;
+        }
+    }
+}
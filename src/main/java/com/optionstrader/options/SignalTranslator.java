@@ -1,39 +1,152 @@
 package com.optionstrader.options;
 
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
 import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.SignalVector;
+import org.ta4j.core.BarSeries;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Translates signals into options trade decisions.
+ * <p>
+ * The best call and best put depend only on the chain, so each is looked up at most once per
+ * chain and the same {@link TradeDecision} is emitted for every BUY or SELL against it.
  */
 public class SignalTranslator {
 
+    private static final Timer TRANSLATE_TIMER = Metrics.timer("translator.translate");
+    private static final Counter DECISIONS = Metrics.counter("translator.decisions");
+
     public List<TradeDecision> translateSignals(List<Signal> signals, OptionChain chain) {
+        long start = TRANSLATE_TIMER.start();
         List<TradeDecision> decisions = new ArrayList<>();
+        Selection selection = new Selection(chain);
+        Consumer<TradeDecision> sink = decisions::add;
         for (Signal signal : signals) {
+            // HOLD does nothing
+            selection.emit(signal, sink);
+        }
+        TRANSLATE_TIMER.stop(start);
+        DECISIONS.add(decisions.size());
+        return decisions;
+    }
+
+    /**
+     * Same decisions as {@link #translateSignals(List, OptionChain)}, visiting only the BUY and
+     * SELL bars of the vector.
+     */
+    public List<TradeDecision> translateSignals(SignalVector signals, OptionChain chain) {
+        long start = TRANSLATE_TIMER.start();
+        List<TradeDecision> decisions = new ArrayList<>();
+        Selection selection = new Selection(chain);
+        Consumer<TradeDecision> sink = decisions::add;
+        signals.forEachSignal((bar, signal) -> selection.emit(signal, sink));
+        TRANSLATE_TIMER.stop(start);
+        DECISIONS.add(decisions.size());
+        return decisions;
+    }
+
+    /**
+     * Translates signals for bars {@code startBar, startBar + 1, ...} of {@code series}, each
+     * against the chain for its bar's date. See
+     * {@link #translateSignals(Iterator, BarSeries, int, ChainProvider, Consumer)}.
+     */
+    public List<TradeDecision> translateSignals(Iterator<Signal> signals, BarSeries series, int startBar,
+                                                ChainProvider chains) {
+        List<TradeDecision> decisions = new ArrayList<>();
+        translateSignals(signals, series, startBar, chains, decisions::add);
+        return decisions;
+    }
+
+    /**
+     * Streams signals for bars {@code startBar, startBar + 1, ...} of {@code series} into
+     * {@code sink}. The provider is asked once per date that has a BUY or SELL, and the best
+     * contracts are resolved once per distinct chain; dates without a chain produce no decisions.
+     * Signals are consumed one at a time, so years of bars need not be materialized. Bar dates
+     * are compared as epoch days, read from the column of a columnar series, and a
+     * {@code LocalDate} is built only when the date changes.
+     */
+    public void translateSignals(Iterator<Signal> signals, BarSeries series, int startBar, ChainProvider chains,
+                                 Consumer<TradeDecision> sink) {
+        long start = TRANSLATE_TIMER.start();
+        long decisions = 0;
+        int lastDay = Integer.MIN_VALUE;
+        Selection selection = null;
+        for (int bar = startBar; signals.hasNext(); bar++) {
+            Signal signal = signals.next();
+            if (signal == Signal.HOLD) {
+                continue;
+            }
+            int day = BarColumns.epochDay(series, bar);
+            if (day != lastDay) {
+                OptionChain chain = chains.chainFor(LocalDate.ofEpochDay(day));
+                if (selection == null || selection.chain != chain) {
+                    selection = chain == null ? null : new Selection(chain);
+                }
+                lastDay = day;
+            }
+            if (selection != null && selection.emit(signal, sink)) {
+                decisions++;
+            }
+        }
+        TRANSLATE_TIMER.stop(start);
+        DECISIONS.add(decisions);
+    }
+
+    /**
+     * Best call and put of one chain, each resolved on first use.
+     */
+    private static final class Selection {
+        private final OptionChain chain;
+        private TradeDecision call;
+        private TradeDecision put;
+        private boolean callResolved;
+        private boolean putResolved;
+
+        Selection(OptionChain chain) {
+            this.chain = chain;
+        }
+
+        /**
+         * Emits the decision for a BUY or SELL, if the chain has a matching contract.
+         */
+        boolean emit(Signal signal, Consumer<TradeDecision> sink) {
+            TradeDecision decision = null;
             if (signal == Signal.BUY) {
-                findBestCall(chain).ifPresent(c -> decisions.add(new TradeDecision(c, "BUY")));
+                if (!callResolved) {
+                    call = findBestCall(chain).map(c -> new TradeDecision(c, "BUY")).orElse(null);
+                    callResolved = true;
+                }
+                decision = call;
             } else if (signal == Signal.SELL) {
-                findBestPut(chain).ifPresent(c -> decisions.add(new TradeDecision(c, "BUY")));
+                if (!putResolved) {
+                    put = findBestPut(chain).map(c -> new TradeDecision(c, "BUY")).orElse(null);
+                    putResolved = true;
+                }
+                decision = put;
             }
-            // HOLD does nothing
+            if (decision == null) {
+                return false;
+            }
+            sink.accept(decision);
+            return true;
         }
-        return decisions;
     }
 
-    private Optional<OptionContract> findBestCall(OptionChain chain) {
-        return chain.contracts().stream()
-            .filter(c -> "CALL".equals(c.type()) && c.dte() >= 30 && c.dte() <= 45)
-            .min(Comparator.comparingDouble(c -> Math.abs(c.delta() - 0.30)));
+    private static Optional<OptionContract> findBestCall(OptionChain chain) {
+        return chain.index().closestDelta("CALL", 30, 45, 0.30);
     }
 
-    private Optional<OptionContract> findBestPut(OptionChain chain) {
-        return chain.contracts().stream()
-            .filter(c -> "PUT".equals(c.type()) && c.dte() >= 30 && c.dte() <= 45)
-            .min(Comparator.comparingDouble(c -> Math.abs(c.delta() + 0.30)));
+    private static Optional<OptionContract> findBestPut(OptionChain chain) {
+        return chain.index().closestDelta("PUT", 30, 45, -0.30);
     }
 }
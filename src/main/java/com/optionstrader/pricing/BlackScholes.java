@@ -0,0 +1,146 @@
+package com.optionstrader.pricing;
+
+/**
+ * Scalar Black-Scholes formulas for European options on a non-dividend-paying underlying.
+ * Time is in years, rates and volatilities are annualized and continuously compounded.
+ */
+public final class BlackScholes {
+
+    static final double SQRT_2PI = Math.sqrt(2 * Math.PI);
+
+    private BlackScholes() {
+    }
+
+    public static double price(boolean call, double spot, double strike, double years, double rate, double volatility) {
+        if (years <= 0 || volatility <= 0) {
+            return intrinsic(call, spot, strike * Math.exp(-rate * Math.max(years, 0)));
+        }
+        double sqrtT = Math.sqrt(years);
+        double d1 = (Math.log(spot / strike) + (rate + 0.5 * volatility * volatility) * years) / (volatility * sqrtT);
+        double d2 = d1 - volatility * sqrtT;
+        double discountedStrike = strike * Math.exp(-rate * years);
+        return call
+            ? spot * cdf(d1) - discountedStrike * cdf(d2)
+            : discountedStrike * cdf(-d2) - spot * cdf(-d1);
+    }
+
+    public static double delta(boolean call, double spot, double strike, double years, double rate, double volatility) {
+        if (years <= 0 || volatility <= 0) {
+            double forwardStrike = strike * Math.exp(-rate * Math.max(years, 0));
+            return call ? (spot > forwardStrike ? 1 : 0) : (spot < forwardStrike ? -1 : 0);
+        }
+        double d1 = (Math.log(spot / strike) + (rate + 0.5 * volatility * volatility) * years) / (volatility * Math.sqrt(years));
+        return call ? cdf(d1) : -cdf(-d1);
+    }
+
+    /**
+     * Sensitivity of the price to volatility, per 1.00 of volatility.
+     */
+    public static double vega(double spot, double strike, double years, double rate, double volatility) {
+        if (years <= 0 || volatility <= 0) {
+            return 0;
+        }
+        double sqrtT = Math.sqrt(years);
+        double d1 = (Math.log(spot / strike) + (rate + 0.5 * volatility * volatility) * years) / (volatility * sqrtT);
+        return spot * pdf(d1) * sqrtT;
+    }
+
+    /**
+     * Volatility at which the model delta equals {@code delta}, or NaN when none exists.
+     * <p>
+     * With {@code d1 = N^-1(delta)} (calls) or {@code N^-1(delta + 1)} (puts), the definition of
+     * {@code d1} is a quadratic in volatility; the smallest positive root is returned.
+     */
+    public static double volatilityFromDelta(boolean call, double spot, double strike, double years, double rate,
+                                             double delta) {
+        double probability = call ? delta : delta + 1;
+        if (!(probability > 0 && probability < 1) || years <= 0 || spot <= 0 || strike <= 0) {
+            return Double.NaN;
+        }
+        double d1 = inverseCdf(probability);
+        double sqrtT = Math.sqrt(years);
+        double c = Math.log(spot / strike) + rate * years;
+        // (T / 2) v^2 - d1 sqrt(T) v + c = 0
+        double discriminant = d1 * d1 * years - 2 * years * c;
+        if (discriminant < 0) {
+            return Double.NaN;
+        }
+        double root = Math.sqrt(discriminant);
+        double low = (d1 * sqrtT - root) / years;
+        double high = (d1 * sqrtT + root) / years;
+        return low > 0 ? low : high > 0 ? high : Double.NaN;
+    }
+
+    static double intrinsic(boolean call, double spot, double strike) {
+        return Math.max(call ? spot - strike : strike - spot, 0);
+    }
+
+    /**
+     * Standard normal density.
+     */
+    public static double pdf(double x) {
+        return Math.exp(-0.5 * x * x) / SQRT_2PI;
+    }
+
+    /**
+     * Standard normal distribution function, accurate to about 1e-15 (Hart's double precision
+     * rational approximation, as given by West, 2005).
+     */
+    public static double cdf(double x) {
+        double z = Math.abs(x);
+        double tail;
+        if (z > 37) {
+            tail = 0;
+        } else {
+            double e = Math.exp(-0.5 * z * z);
+            if (z < 7.07106781186547) {
+                double n = ((((((3.52624965998911e-02 * z + 0.700383064443688) * z + 6.37396220353165) * z
+                    + 33.912866078383) * z + 112.079291497871) * z + 221.213596169931) * z + 220.206867912376);
+                double d = (((((((8.83883476483184e-02 * z + 1.75566716318264) * z + 16.064177579207) * z
+                    + 86.7807322029461) * z + 296.564248779674) * z + 637.333633378831) * z + 793.826512519948) * z
+                    + 440.413735824752);
+                tail = e * n / d;
+            } else {
+                double f = z + 1 / (z + 2 / (z + 3 / (z + 4 / (z + 0.65))));
+                tail = e / (f * SQRT_2PI);
+            }
+        }
+        return x <= 0 ? tail : 1 - tail;
+    }
+
+    /**
+     * Inverse of {@link #cdf}: Acklam's rational approximation polished by one Halley step.
+     */
+    public static double inverseCdf(double p) {
+        if (p <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double x;
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            x = (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838) * q
+                - 2.549732539343734) * q + 4.374664141464968) * q + 2.938163982698783)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996) * q
+                + 3.754408661907416) * q + 1);
+        } else if (p <= 1 - 0.02425) {
+            double q = p - 0.5;
+            double r = q * q;
+            x = (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+        } else {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            x = -(((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838) * q
+                - 2.549732539343734) * q + 4.374664141464968) * q + 2.938163982698783)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996) * q
+                + 3.754408661907416) * q + 1);
+        }
+        double error = cdf(x) - p;
+        double u = error * SQRT_2PI * Math.exp(0.5 * x * x);
+        return x - u / (1 + 0.5 * x * u);
+    }
+}
@@ -0,0 +1,56 @@
+package com.optionstrader.pricing;
+
+/**
+ * Structure-of-arrays output of {@link GreeksEngine}: slot {@code i} holds the model values for
+ * contract {@code i} of the priced batch. Theta is per calendar day and vega per 1.00 of
+ * volatility, matching the units of chain snapshots.
+ */
+public final class Greeks {
+
+    final double[] prices;
+    final double[] deltas;
+    final double[] gammas;
+    final double[] thetas;
+    final double[] vegas;
+    private int size;
+
+    public Greeks(int capacity) {
+        this.prices = new double[capacity];
+        this.deltas = new double[capacity];
+        this.gammas = new double[capacity];
+        this.thetas = new double[capacity];
+        this.vegas = new double[capacity];
+    }
+
+    public int capacity() {
+        return prices.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    public double price(int i) {
+        return prices[i];
+    }
+
+    public double delta(int i) {
+        return deltas[i];
+    }
+
+    public double gamma(int i) {
+        return gammas[i];
+    }
+
+    public double theta(int i) {
+        return thetas[i];
+    }
+
+    public double vega(int i) {
+        return vegas[i];
+    }
+}
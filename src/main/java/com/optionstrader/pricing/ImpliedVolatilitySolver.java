@@ -0,0 +1,404 @@
+package com.optionstrader.pricing;
+
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
+import com.optionstrader.options.OptionChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Backs implied volatility out of contract prices and rebuilds chain deltas from it, so contract
+ * selection does not depend on missing or stale snapshot greeks.
+ * <p>
+ * Each contract is solved with Newton's method started at the Manaster-Koehler point, which is
+ * safeguarded by a bracket on volatility: a step that leaves the bracket becomes a bisection.
+ * When Newton has not converged after a few iterations, or vega vanishes, Brent's method
+ * finishes on the bracket. Prices outside the no-arbitrage bounds, non-positive prices and
+ * expired contracts are left unsolved, and keep their snapshot delta.
+ * <p>
+ * Chain maps are solved in blocks of contracts across a {@link ForkJoinPool}, so one large chain
+ * and many small dated chains parallelize alike; a single chain is solved on the calling thread.
+ * Outcome counts accumulate across calls.
+ */
+public class ImpliedVolatilitySolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpliedVolatilitySolver.class);
+    private static final Timer SOLVE_TIMER = Metrics.timer("pricing.iv.solve");
+    private static final Counter CONTRACTS = Metrics.counter("pricing.iv.contracts");
+
+    public static final double MIN_VOLATILITY = 1e-4;
+    public static final double MAX_VOLATILITY = 10.0;
+    private static final int MAX_NEWTON_ITERATIONS = 12;
+    private static final int MAX_BRENT_ITERATIONS = 100;
+    private static final double VOLATILITY_TOLERANCE = 1e-12;
+    private static final int LEAF_CONTRACTS = 512;
+
+    private final double rate;
+    private final double priceTolerance;
+    private final int parallelism;
+
+    private final LongAdder newtonSolved = new LongAdder();
+    private final LongAdder brentSolved = new LongAdder();
+    private final LongAdder unsolved = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+
+    public ImpliedVolatilitySolver() {
+        this(GreeksEngine.DEFAULT_RATE, 1e-10, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param priceTolerance a volatility is accepted once the model price is this close to the
+     *                       market price
+     */
+    public ImpliedVolatilitySolver(double rate, double priceTolerance, int parallelism) {
+        this.rate = rate;
+        this.priceTolerance = priceTolerance;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Implied volatility of one contract, or NaN when it cannot be solved.
+     */
+    public double solve(boolean call, double spot, double strike, double years, double price) {
+        Tally tally = new Tally();
+        double volatility = solve(call, spot, strike, years, price, tally);
+        tally.flushTo(this);
+        return volatility;
+    }
+
+    /**
+     * Implied volatility of every contract in {@code chain} against {@code spot}, indexed by chain
+     * position; NaN marks unsolved contracts. Time to expiry is each contract's DTE.
+     */
+    public double[] impliedVolatilities(OptionChain chain, double spot) {
+        double[] volatilities = new double[chain.size()];
+        Tally tally = new Tally();
+        solveRange(chain, spot, 0, chain.size(), volatilities, null, tally);
+        tally.flushTo(this);
+        return volatilities;
+    }
+
+    /**
+     * Copy of {@code chain} whose deltas come from implied volatility; unsolved contracts keep the
+     * snapshot delta.
+     */
+    public OptionChain rebuildDeltas(OptionChain chain, double spot) {
+        long start = SOLVE_TIMER.start();
+        double[] deltas = new double[chain.size()];
+        Tally tally = new Tally();
+        solveRange(chain, spot, 0, chain.size(), null, deltas, tally);
+        tally.flushTo(this);
+        SOLVE_TIMER.stop(start);
+        CONTRACTS.add(chain.size());
+        return chain.withDeltas(deltas);
+    }
+
+    /**
+     * Rebuilds the deltas of every chain in parallel. {@code spots} gives the underlying price
+     * for each date; dates whose spot is NaN or not positive are returned unchanged.
+     */
+    public Map<LocalDate, OptionChain> rebuildDeltas(Map<LocalDate, OptionChain> chains,
+                                                     ToDoubleFunction<LocalDate> spots) {
+        long start = SOLVE_TIMER.start();
+        long startNanos = System.nanoTime();
+        List<Block> blocks = new ArrayList<>();
+        Map<LocalDate, double[]> rebuilt = new TreeMap<>();
+        long contracts = 0;
+        for (Map.Entry<LocalDate, OptionChain> entry : chains.entrySet()) {
+            OptionChain chain = entry.getValue();
+            double spot = spots.applyAsDouble(entry.getKey());
+            if (chain == null || !(spot > 0)) {
+                continue;
+            }
+            double[] deltas = new double[chain.size()];
+            rebuilt.put(entry.getKey(), deltas);
+            for (int from = 0; from < chain.size(); from += LEAF_CONTRACTS) {
+                blocks.add(new Block(chain, spot, from, Math.min(chain.size(), from + LEAF_CONTRACTS), deltas));
+            }
+            contracts += chain.size();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SolveBlocks(blocks, 0, blocks.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<LocalDate, OptionChain> result = new TreeMap<>(chains);
+        for (Map.Entry<LocalDate, double[]> entry : rebuilt.entrySet()) {
+            result.put(entry.getKey(), chains.get(entry.getKey()).withDeltas(entry.getValue()));
+        }
+        SOLVE_TIMER.stop(start);
+        CONTRACTS.add(contracts);
+        logger.debug("Solved {} contracts over {} chains in {} ms ({})",
+                     contracts, rebuilt.size(), (System.nanoTime() - startNanos) / 1_000_000, this);
+        return result;
+    }
+
+    /**
+     * Underlying prices from {@code series}: the last close on or before each date, NaN before
+     * the first bar.
+     */
+    public static ToDoubleFunction<LocalDate> closingPrices(BarSeries series) {
+        TreeMap<LocalDate, Double> closes = new TreeMap<>();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            closes.put(series.getBar(i).getEndTime().toLocalDate(), series.getBar(i).getClosePrice().doubleValue());
+        }
+        return date -> {
+            Map.Entry<LocalDate, Double> entry = closes.floorEntry(date);
+            return entry == null ? Double.NaN : entry.getValue();
+        };
+    }
+
+    private void solveRange(OptionChain chain, double spot, int from, int to, double[] volatilities,
+                            double[] deltas, Tally tally) {
+        int callCode = chain.typeCode("CALL");
+        for (int i = from; i < to; i++) {
+            boolean call = chain.typeCode(i) == callCode;
+            double years = chain.dte(i) / GreeksEngine.DAYS_PER_YEAR;
+            double volatility = solve(call, spot, chain.strike(i), years, chain.price(i), tally);
+            if (volatilities != null) {
+                volatilities[i] = volatility;
+            }
+            if (deltas != null) {
+                deltas[i] = Double.isNaN(volatility)
+                    ? chain.delta(i)
+                    : BlackScholes.delta(call, spot, chain.strike(i), years, rate, volatility);
+            }
+        }
+    }
+
+    private double solve(boolean call, double spot, double strike, double years, double price, Tally tally) {
+        if (!(price > 0) || !(years > 0) || !(spot > 0) || !(strike > 0)) {
+            tally.unsolved++;
+            return Double.NaN;
+        }
+        double discountedStrike = strike * Math.exp(-rate * years);
+        double lowerBound = BlackScholes.intrinsic(call, spot, discountedStrike);
+        double upperBound = call ? spot : discountedStrike;
+        if (price <= lowerBound || price >= upperBound) {
+            tally.unsolved++;
+            return Double.NaN;
+        }
+
+        double low = MIN_VOLATILITY;
+        double high = MAX_VOLATILITY;
+        double fLow = BlackScholes.price(call, spot, strike, years, rate, low) - price;
+        double fHigh = BlackScholes.price(call, spot, strike, years, rate, high) - price;
+        if (fLow > 0 || fHigh < 0) {
+            tally.unsolved++;
+            return Double.NaN;
+        }
+
+        // Manaster-Koehler: the inflection point of price in volatility, from which Newton is monotone
+        double volatility = Math.sqrt(2 * Math.abs(Math.log(spot / strike) + rate * years) / years);
+        volatility = volatility > low && volatility < high ? volatility : 0.5;
+        int n = 0;
+        while (n < MAX_NEWTON_ITERATIONS) {
+            n++;
+            double error = BlackScholes.price(call, spot, strike, years, rate, volatility) - price;
+            if (Math.abs(error) <= priceTolerance) {
+                tally.newton++;
+                tally.iterations += n;
+                return volatility;
+            }
+            if (error < 0) {
+                low = volatility;
+                fLow = error;
+            } else {
+                high = volatility;
+                fHigh = error;
+            }
+            double vega = BlackScholes.vega(spot, strike, years, rate, volatility);
+            if (!(vega > 1e-12 * spot)) {
+                break;
+            }
+            double next = volatility - error / vega;
+            if (!(next > low && next < high)) {
+                next = 0.5 * (low + high);
+            }
+            if (Math.abs(next - volatility) <= VOLATILITY_TOLERANCE) {
+                tally.newton++;
+                tally.iterations += n;
+                return next;
+            }
+            volatility = next;
+        }
+        tally.iterations += n;
+        return brent(call, spot, strike, years, price, low, fLow, high, fHigh, tally);
+    }
+
+    /**
+     * Brent's method on a bracket with {@code fLow <= 0 <= fHigh}.
+     */
+    private double brent(boolean call, double spot, double strike, double years, double price,
+                         double a, double fa, double b, double fb, Tally tally) {
+        double c = b;
+        double fc = fb;
+        double d = b - a;
+        double e = d;
+        for (int n = 1; n <= MAX_BRENT_ITERATIONS; n++) {
+            if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tolerance = 2 * Math.ulp(1.0) * Math.abs(b) + 0.5 * VOLATILITY_TOLERANCE;
+            double mid = 0.5 * (c - b);
+            if (Math.abs(mid) <= tolerance || Math.abs(fb) <= priceTolerance) {
+                tally.brent++;
+                tally.iterations += n;
+                return b;
+            }
+            if (Math.abs(e) >= tolerance && Math.abs(fa) > Math.abs(fb)) {
+                // Inverse quadratic interpolation, or the secant step when only two points differ
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    p = 2 * mid * s;
+                    q = 1 - s;
+                } else {
+                    double qa = fa / fc;
+                    double r = fb / fc;
+                    p = s * (2 * mid * qa * (qa - r) - (b - a) * (r - 1));
+                    q = (qa - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                }
+                p = Math.abs(p);
+                if (2 * p < Math.min(3 * mid * q - Math.abs(tolerance * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = mid;
+                    e = d;
+                }
+            } else {
+                d = mid;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tolerance ? d : Math.copySign(tolerance, mid);
+            fb = BlackScholes.price(call, spot, strike, years, rate, b) - price;
+        }
+        tally.unsolved++;
+        tally.iterations += MAX_BRENT_ITERATIONS;
+        return Double.NaN;
+    }
+
+    /** Contracts solved by Newton alone. */
+    public long getNewtonSolved() {
+        return newtonSolved.sum();
+    }
+
+    /** Contracts that needed the Brent fallback. */
+    public long getBrentSolved() {
+        return brentSolved.sum();
+    }
+
+    /** Contracts left without an implied volatility. */
+    public long getUnsolved() {
+        return unsolved.sum();
+    }
+
+    /** Pricing iterations across Newton and Brent. */
+    public long getIterations() {
+        return iterations.sum();
+    }
+
+    public double getMeanIterations() {
+        long solved = getNewtonSolved() + getBrentSolved() + getUnsolved();
+        return solved == 0 ? 0 : (double) getIterations() / solved;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImpliedVolatilitySolver{newton=%d, brent=%d, unsolved=%d, meanIterations=%.2f}",
+                             getNewtonSolved(), getBrentSolved(), getUnsolved(), getMeanIterations());
+    }
+
+    /**
+     * Per-task outcome counts, added to the shared adders once per block.
+     */
+    private static final class Tally {
+        long newton;
+        long brent;
+        long unsolved;
+        long iterations;
+
+        void flushTo(ImpliedVolatilitySolver solver) {
+            solver.newtonSolved.add(newton);
+            solver.brentSolved.add(brent);
+            solver.unsolved.add(unsolved);
+            solver.iterations.add(iterations);
+        }
+    }
+
+    private static final class Block {
+        final OptionChain chain;
+        final double spot;
+        final int from;
+        final int to;
+        final double[] deltas;
+
+        Block(OptionChain chain, double spot, int from, int to, double[] deltas) {
+            this.chain = chain;
+            this.spot = spot;
+            this.from = from;
+            this.to = to;
+            this.deltas = deltas;
+        }
+    }
+
+    private final class SolveBlocks extends RecursiveAction {
+        private final List<Block> blocks;
+        private final int from;
+        private final int to;
+
+        SolveBlocks(List<Block> blocks, int from, int to) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                Tally tally = new Tally();
+                for (int b = from; b < to; b++) {
+                    Block block = blocks.get(b);
+                    solveRange(block.chain, block.spot, block.from, block.to, null, block.deltas, tally);
+                }
+                tally.flushTo(ImpliedVolatilitySolver.this);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SolveBlocks(blocks, from, mid), new SolveBlocks(blocks, mid, to));
+        }
+    }
+}
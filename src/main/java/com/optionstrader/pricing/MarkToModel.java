@@ -0,0 +1,84 @@
+package com.optionstrader.pricing;
+
+import com.optionstrader.options.OptionContract;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+
+/**
+ * Marks one held contract to the Black-Scholes model on every bar, from the bar's close and the
+ * time left to expiry, instead of carrying the snapshot delta and theta as constants.
+ * <p>
+ * Expiry is the contract's DTE counted from the entry bar's date, at 16:00 in the bar's zone.
+ * Volatility is fixed at entry as the implied volatility of the contract's quoted price against
+ * the entry bar's close, and that price is the entry value, so PnL is measured from what was
+ * paid. Only when the price is missing or outside the no-arbitrage bounds is the volatility
+ * backed out of the snapshot delta instead ({@link #DEFAULT_VOLATILITY} when that fails too),
+ * with the model price as the entry value.
+ */
+public final class MarkToModel {
+
+    public static final double DEFAULT_VOLATILITY = 0.5;
+    private static final double PRICE_TOLERANCE = 1e-10;
+    private static final double SECONDS_PER_YEAR = GreeksEngine.DAYS_PER_YEAR * 86_400;
+
+    private final boolean call;
+    private final double strike;
+    private final long expiryEpochSecond;
+    private final double rate;
+    private final double volatility;
+    private final double entryValue;
+
+    private MarkToModel(boolean call, double strike, long expiryEpochSecond, double rate, double volatility,
+                        double entryValue) {
+        this.call = call;
+        this.strike = strike;
+        this.expiryEpochSecond = expiryEpochSecond;
+        this.rate = rate;
+        this.volatility = volatility;
+        this.entryValue = entryValue;
+    }
+
+    public static MarkToModel open(OptionContract contract, BarSeries series, int index, double rate) {
+        Bar bar = series.getBar(index);
+        boolean call = "CALL".equals(contract.type());
+        long expiry = bar.getEndTime().toLocalDate().plusDays(contract.dte())
+            .atTime(16, 0).atZone(bar.getEndTime().getZone()).toEpochSecond();
+        double spot = bar.getClosePrice().doubleValue();
+        double years = (expiry - bar.getEndTime().toEpochSecond()) / SECONDS_PER_YEAR;
+        double volatility = new ImpliedVolatilitySolver(rate, PRICE_TOLERANCE, 1)
+            .solve(call, spot, contract.strike(), years, contract.price());
+        if (!Double.isNaN(volatility)) {
+            return new MarkToModel(call, contract.strike(), expiry, rate, volatility, contract.price());
+        }
+        volatility = BlackScholes.volatilityFromDelta(call, spot, contract.strike(), years, rate, contract.delta());
+        if (Double.isNaN(volatility)) {
+            volatility = DEFAULT_VOLATILITY;
+        }
+        double entryValue = BlackScholes.price(call, spot, contract.strike(), years, rate, volatility);
+        return new MarkToModel(call, contract.strike(), expiry, rate, volatility, entryValue);
+    }
+
+    /**
+     * Model value of the contract at the close of bar {@code index}.
+     */
+    public double valueAt(BarSeries series, int index) {
+        Bar bar = series.getBar(index);
+        double years = (expiryEpochSecond - bar.getEndTime().toEpochSecond()) / SECONDS_PER_YEAR;
+        return BlackScholes.price(call, bar.getClosePrice().doubleValue(), strike, years, rate, volatility);
+    }
+
+    /**
+     * Change in model value since entry, per share.
+     */
+    public double pnlAt(BarSeries series, int index) {
+        return valueAt(series, index) - entryValue;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public double getEntryValue() {
+        return entryValue;
+    }
+}
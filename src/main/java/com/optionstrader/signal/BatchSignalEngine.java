@@ -0,0 +1,115 @@
+package com.optionstrader.signal;
+
+import com.optionstrader.jfr.SignalGenerationEvent;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the Volatility-Optimized strategy over every symbol of a {@link SymbolBatch} in one pass
+ * per symbol. Each symbol streams its contiguous price rows through an
+ * {@link IncrementalSignalEngine}, so work per symbol is O(bars) with constant scratch state, and
+ * symbol ranges are split across a {@link ForkJoinPool}.
+ */
+public class BatchSignalEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchSignalEngine.class);
+
+    private static final int LEAF_SYMBOLS = 8;
+
+    private static final Timer GENERATE_TIMER = Metrics.timer("signal.batch.generate");
+    private static final Counter BARS = Metrics.counter("signal.batch.bars");
+
+    private final StrategyParameters parameters;
+    private final int parallelism;
+
+    public BatchSignalEngine() {
+        this(StrategyParameters.DEFAULT, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSignalEngine(StrategyParameters parameters, int parallelism) {
+        this.parameters = parameters;
+        this.parallelism = parallelism;
+    }
+
+    public SignalMatrix generateSignals(SymbolBatch batch) {
+        long start = System.nanoTime();
+        SignalGenerationEvent event = new SignalGenerationEvent();
+        event.begin();
+        int startBar = parameters.slowPeriod();
+        int length = batch.barCount() > startBar ? batch.barCount() - startBar : 0;
+        SignalMatrix matrix = new SignalMatrix(batch.symbols(), startBar, length);
+        if (length > 0 && batch.symbolCount() > 0) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new SymbolRange(batch, matrix, 0, batch.symbolCount()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        GENERATE_TIMER.record(elapsedNanos);
+        BARS.add((long) batch.symbolCount() * batch.barCount());
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = "batch";
+            event.ticker = batch.symbolCount() + " symbols";
+            event.bars = (long) batch.symbolCount() * batch.barCount();
+            event.signals = (long) batch.symbolCount() * length;
+            for (int symbol = 0; symbol < matrix.symbolCount(); symbol++) {
+                event.buySignals += matrix.count(symbol, Signal.BUY);
+                event.sellSignals += matrix.count(symbol, Signal.SELL);
+            }
+            event.commit();
+        }
+        logger.info("Generated signals for {} symbols x {} bars in {} ms",
+                    batch.symbolCount(), batch.barCount(), elapsedNanos / 1_000_000);
+        return matrix;
+    }
+
+    private void computeSymbol(SymbolBatch batch, SignalMatrix matrix, int symbol, IncrementalSignalEngine engine) {
+        engine.reset();
+        double[] opens = batch.opens();
+        double[] closes = batch.closes();
+        int bars = batch.barCount();
+        int offset = symbol * bars;
+        for (int i = 0; i < bars; i++) {
+            Signal signal = engine.onBar(opens[offset + i], closes[offset + i]);
+            if (signal != null) {
+                matrix.set(symbol, i - matrix.getStartBar(), signal);
+            }
+        }
+    }
+
+    private final class SymbolRange extends RecursiveAction {
+        private final SymbolBatch batch;
+        private final SignalMatrix matrix;
+        private final int from;
+        private final int to;
+
+        SymbolRange(SymbolBatch batch, SignalMatrix matrix, int from, int to) {
+            this.batch = batch;
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SYMBOLS) {
+                IncrementalSignalEngine engine = new IncrementalSignalEngine(parameters);
+                for (int symbol = from; symbol < to; symbol++) {
+                    computeSymbol(batch, matrix, symbol, engine);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SymbolRange(batch, matrix, from, mid), new SymbolRange(batch, matrix, mid, to));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.optionstrader.signal;
+
+import com.optionstrader.indicator.IndicatorKernels;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.AbstractRule;
+
+/**
+ * A strategy whose entry and exit rules have been evaluated once for every bar by
+ * {@link RuleCompiler}. {@code shouldEnter}/{@code shouldExit} are a bit test; bars past the
+ * compiled range are never satisfied.
+ */
+public final class CompiledStrategy extends BaseStrategy {
+
+    private final long[] entries;
+    private final long[] exits;
+    private final int barCount;
+
+    CompiledStrategy(String name, long[] entries, long[] exits, int barCount, int unstableBars) {
+        super(name, new MaskRule(entries, barCount), new MaskRule(exits, barCount), unstableBars);
+        this.entries = entries;
+        this.exits = exits;
+        this.barCount = barCount;
+    }
+
+    /** Number of bars the masks cover. */
+    public int getBarCount() {
+        return barCount;
+    }
+
+    /** Entry rule at {@code index}, ignoring the unstable period. */
+    public boolean isEntry(int index) {
+        return index >= 0 && index < barCount && IndicatorKernels.isSet(entries, index);
+    }
+
+    /** Exit rule at {@code index}, ignoring the unstable period. */
+    public boolean isExit(int index) {
+        return index >= 0 && index < barCount && IndicatorKernels.isSet(exits, index);
+    }
+
+    private static final class MaskRule extends AbstractRule {
+        private final long[] bits;
+        private final int barCount;
+
+        MaskRule(long[] bits, int barCount) {
+            this.bits = bits;
+            this.barCount = barCount;
+        }
+
+        @Override
+        public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            return index >= 0 && index < barCount && IndicatorKernels.isSet(bits, index);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.optionstrader.signal;
+
+import com.optionstrader.jfr.SignalGenerationEvent;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import com.optionstrader.metrics.Timer;
+import org.ta4j.core.BarSeries;
+
+import java.util.List;
+
+/**
+ * Generation timer, bar counter and {@link SignalGenerationEvent} for one signal engine, under
+ * {@code signal.<engine>.*}.
+ */
+final class GenerateMetrics {
+
+    private final String engine;
+    private final Timer generateTimer;
+    private final Counter bars;
+
+    GenerateMetrics(String engine) {
+        this.engine = engine;
+        this.generateTimer = Metrics.timer("signal." + engine + ".generate");
+        this.bars = Metrics.counter("signal." + engine + ".bars");
+    }
+
+    Generation start() {
+        SignalGenerationEvent event = new SignalGenerationEvent();
+        event.begin();
+        return new Generation(generateTimer.start(), event);
+    }
+
+    List<Signal> record(Generation generation, BarSeries series, List<Signal> signals) {
+        generateTimer.stop(generation.timerStart);
+        bars.add(series.getBarCount());
+        SignalGenerationEvent event = generation.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.ticker = series.getName();
+            event.bars = series.getBarCount();
+            event.signals = signals.size();
+            for (Signal signal : signals) {
+                if (signal == Signal.BUY) {
+                    event.buySignals++;
+                } else if (signal == Signal.SELL) {
+                    event.sellSignals++;
+                }
+            }
+            event.commit();
+        }
+        return signals;
+    }
+
+    static final class Generation {
+        private final long timerStart;
+        private final SignalGenerationEvent event;
+
+        private Generation(long timerStart, SignalGenerationEvent event) {
+            this.timerStart = timerStart;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.optionstrader.signal;
+
+import com.optionstrader.indicator.Sma;
+import com.optionstrader.indicator.WilderRsi;
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.metrics.Counter;
+import com.optionstrader.metrics.Metrics;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming form of the Volatility-Optimized strategy. State is the indicator windows (the
+ * slow SMA ring is the largest), the previous close, the gap warm-up counter and the
+ * previous-entry flag, so memory is constant and each bar costs a handful of arithmetic
+ * operations. Fed the same bars, it emits the same signals as {@link ManualSignalEngine},
+ * starting with bar {@code slowPeriod}.
+ */
+public class IncrementalSignalEngine implements StreamingSignalEngine, SignalEngine {
+
+    private static final GenerateMetrics METRICS = new GenerateMetrics("incremental");
+    private static final Counter STREAMED_BARS = Metrics.counter("signal.incremental.onbar");
+
+    private final StrategyParameters parameters;
+    private final Sma fastSma;
+    private final Sma slowSma;
+    private final WilderRsi rsi;
+
+    private long barIndex;
+    private double previousClose = Double.NaN;
+    private int warmUp;
+    private boolean previousEntryCond;
+
+    public IncrementalSignalEngine() {
+        this(StrategyParameters.DEFAULT);
+    }
+
+    public IncrementalSignalEngine(StrategyParameters parameters) {
+        this.parameters = parameters;
+        this.fastSma = new Sma(parameters.fastPeriod());
+        this.slowSma = new Sma(parameters.slowPeriod());
+        this.rsi = new WilderRsi(parameters.rsiPeriod());
+    }
+
+    @Override
+    public Signal onBar(Bar bar) {
+        return onBar(bar.getOpenPrice().doubleValue(), bar.getClosePrice().doubleValue());
+    }
+
+    @Override
+    public Signal onBar(double open, double close) {
+        STREAMED_BARS.increment();
+        return step(open, close);
+    }
+
+    private Signal step(double open, double close) {
+        double fast = fastSma.update(close);
+        double slow = slowSma.update(close);
+        double strength = rsi.update(close);
+        long index = barIndex++;
+        double prevClose = previousClose;
+        previousClose = close;
+        if (index < parameters.slowPeriod()) {
+            return null;
+        }
+
+        // Check for gap
+        if (Math.abs(open - prevClose) / prevClose > parameters.gapThreshold()) {
+            warmUp = parameters.warmUpBars();
+        }
+        if (warmUp > 0) {
+            warmUp--;
+            previousEntryCond = false;
+            return Signal.HOLD;
+        }
+
+        boolean entryCond = fast > slow && strength < parameters.entryRsi();
+        boolean exitCond = strength > parameters.exitRsi() || fast < slow;
+        Signal signal;
+        if (exitCond) {
+            signal = Signal.SELL;
+        } else if (index > parameters.slowPeriod() && entryCond && previousEntryCond) {
+            signal = Signal.BUY;
+        } else {
+            signal = Signal.HOLD;
+        }
+        previousEntryCond = entryCond;
+        return signal;
+    }
+
+    @Override
+    public void reset() {
+        fastSma.reset();
+        slowSma.reset();
+        rsi.reset();
+        barIndex = 0;
+        previousClose = Double.NaN;
+        warmUp = 0;
+        previousEntryCond = false;
+    }
+
+    /**
+     * Replays a complete series through a fresh stream with the same parameters, leaving this
+     * engine's live stream untouched. Replayed bars are not counted as streamed bars.
+     */
+    @Override
+    public List<Signal> generateSignals(BarSeries series) {
+        GenerateMetrics.Generation generation = METRICS.start();
+        IncrementalSignalEngine replay = new IncrementalSignalEngine(parameters);
+        List<Signal> signals = new ArrayList<>();
+        if (series.getBarCount() <= parameters.slowPeriod()) {
+            return METRICS.record(generation, series, signals);
+        }
+        double[] opens = BarColumns.openPrices(series);
+        double[] closes = BarColumns.closePrices(series);
+        for (int i = 0; i < closes.length; i++) {
+            Signal signal = replay.step(opens[i], closes[i]);
+            if (signal != null) {
+                signals.add(signal);
+            }
+        }
+        return METRICS.record(generation, series, signals);
+    }
+
+    /**
+     * Number of bars consumed since construction or the last {@link #reset()}.
+     */
+    public long getBarCount() {
+        return barIndex;
+    }
+}
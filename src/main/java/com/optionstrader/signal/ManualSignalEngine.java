@@ -1,5 +1,9 @@
 package com.optionstrader.signal;
 
+import com.optionstrader.indicator.IndicatorKernels;
+import com.optionstrader.indicator.Sma;
+import com.optionstrader.indicator.WilderRsi;
+import com.optionstrader.ingestion.BarColumns;
 import org.ta4j.core.BarSeries;
 
 import java.util.ArrayList;
@@ -7,76 +11,63 @@ import java.util.List;
 
 /**
  * Pure Java Signal Engine implementing Volatility-Optimized strategy.
+ * Indicators come from the incremental {@code com.optionstrader.indicator} package, so the whole
+ * pass is O(n) regardless of the SMA windows. Gap, entry and exit conditions are evaluated as
+ * bit masks by {@link IndicatorKernels}, which use SIMD lanes when the vector module is present.
  */
 public class ManualSignalEngine implements SignalEngine {
 
+    private static final GenerateMetrics METRICS = new GenerateMetrics("manual");
+
+    private final StrategyParameters parameters;
+    private final IndicatorKernels kernels;
+
+    public ManualSignalEngine() {
+        this(StrategyParameters.DEFAULT);
+    }
+
+    public ManualSignalEngine(StrategyParameters parameters) {
+        this(parameters, IndicatorKernels.get());
+    }
+
+    public ManualSignalEngine(StrategyParameters parameters, IndicatorKernels kernels) {
+        this.parameters = parameters;
+        this.kernels = kernels;
+    }
+
     @Override
     public List<Signal> generateSignals(BarSeries series) {
+        GenerateMetrics.Generation generation = METRICS.start();
         List<Signal> signals = new ArrayList<>();
         int count = series.getBarCount();
-        if (count < 201) {
-            return signals;
+        int unstable = parameters.slowPeriod();
+        if (count < unstable + 1) {
+            return METRICS.record(generation, series, signals);
         }
 
-        double[] closes = new double[count];
-        for (int i = 0; i < count; i++) {
-            closes[i] = series.getBar(i).getClosePrice().doubleValue();
-        }
+        double[] closes = BarColumns.closePrices(series);
+        double[] opens = BarColumns.openPrices(series);
 
-        double[] sma50 = new double[count];
-        for (int i = 49; i < count; i++) {
-            double sum = 0;
-            for (int j = i - 49; j <= i; j++) {
-                sum += closes[j];
-            }
-            sma50[i] = sum / 50;
-        }
+        double[] fastSma = new Sma(parameters.fastPeriod()).apply(closes);
+        double[] slowSma = new Sma(parameters.slowPeriod()).apply(closes);
+        double[] rsi = new WilderRsi(parameters.rsiPeriod()).apply(closes);
 
-        double[] sma200 = new double[count];
-        for (int i = 199; i < count; i++) {
-            double sum = 0;
-            for (int j = i - 199; j <= i; j++) {
-                sum += closes[j];
-            }
-            sma200[i] = sum / 200;
-        }
-
-        double[] gains = new double[count - 1];
-        double[] losses = new double[count - 1];
-        for (int j = 1; j < count; j++) {
-            double change = closes[j] - closes[j - 1];
-            gains[j - 1] = change > 0 ? change : 0;
-            losses[j - 1] = change < 0 ? -change : 0;
-        }
-
-        double[] rsi = new double[count];
-        if (count >= 15) {
-            double avgGain = 0;
-            double avgLoss = 0;
-            for (int j = 0; j < 14; j++) {
-                avgGain += gains[j];
-                avgLoss += losses[j];
-            }
-            avgGain /= 14;
-            avgLoss /= 14;
-            rsi[14] = avgLoss == 0 ? 100 : 100 - (100 / (1 + avgGain / avgLoss));
-            for (int i = 15; i < count; i++) {
-                avgGain = (avgGain * 13 + gains[i - 1]) / 14;
-                avgLoss = (avgLoss * 13 + losses[i - 1]) / 14;
-                rsi[i] = avgLoss == 0 ? 100 : 100 - (100 / (1 + avgGain / avgLoss));
-            }
-        }
+        // Conditions are evaluated for all bars up front; only the warm-up state machine is sequential
+        double[] gapRatios = new double[count];
+        kernels.gapRatios(opens, closes, gapRatios);
+        long[] gaps = IndicatorKernels.newMask(count);
+        long[] entries = IndicatorKernels.newMask(count);
+        long[] exits = IndicatorKernels.newMask(count);
+        kernels.greaterThanMask(gapRatios, parameters.gapThreshold(), unstable, count, gaps);
+        kernels.trendMasks(fastSma, slowSma, rsi, parameters.entryRsi(), parameters.exitRsi(), unstable, count,
+                           entries, exits);
 
         int warmUp = 0;
         boolean previousEntryCond = false;
-        for (int i = 200; i < count; i++) {
+        for (int i = unstable; i < count; i++) {
             // Check for gap
-            if (i > 0) {
-                double open = series.getBar(i).getOpenPrice().doubleValue();
-                double prevClose = series.getBar(i - 1).getClosePrice().doubleValue();
-                if (Math.abs(open - prevClose) / prevClose > 0.02) {
-                    warmUp = 5;
-                }
+            if (IndicatorKernels.isSet(gaps, i)) {
+                warmUp = parameters.warmUpBars();
             }
 
             if (warmUp > 0) {
@@ -86,12 +77,12 @@ public class ManualSignalEngine implements SignalEngine {
                 continue;
             }
 
-            boolean entryCond = sma50[i] > sma200[i] && rsi[i] < 40;
-            boolean exitCond = rsi[i] > 70 || sma50[i] < sma200[i];
+            boolean entryCond = IndicatorKernels.isSet(entries, i);
+            boolean exitCond = IndicatorKernels.isSet(exits, i);
 
             if (exitCond) {
                 signals.add(Signal.SELL);
-            } else if (i > 200 && entryCond && previousEntryCond) {
+            } else if (i > unstable && entryCond && previousEntryCond) {
                 signals.add(Signal.BUY);
             } else {
                 signals.add(Signal.HOLD);
@@ -100,6 +91,6 @@ public class ManualSignalEngine implements SignalEngine {
             previousEntryCond = entryCond;
         }
 
-        return signals;
+        return METRICS.record(generation, series, signals);
     }
 }
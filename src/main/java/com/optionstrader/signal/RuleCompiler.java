@@ -0,0 +1,192 @@
+package com.optionstrader.signal;
+
+import com.optionstrader.indicator.IndicatorKernels;
+import com.optionstrader.indicator.IndicatorView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.AndRule;
+import org.ta4j.core.rules.BooleanRule;
+import org.ta4j.core.rules.NotRule;
+import org.ta4j.core.rules.OrRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Compiles ta4j rule trees built from {@link OverIndicatorRule}, {@link UnderIndicatorRule},
+ * {@link AndRule}, {@link OrRule}, {@link NotRule} and {@link BooleanRule} into per-bar bit
+ * masks. Each distinct indicator is read once into a {@code double[]} (cached
+ * {@link IndicatorView}s without any conversion), comparisons become one pass over the arrays,
+ * and the boolean operators become word-wise operations on the masks.
+ * <p>
+ * Comparisons follow {@code DoubleNum}: {@code Double.compare} ordering, and a NaN on either
+ * side is unsatisfied. The result is therefore exact for {@code DoubleNum} series, which every
+ * loader in this project produces; series of any other {@code Num} type, such as a plain
+ * {@code BaseBarSeries} of {@code DecimalNum}, are rejected, as are series that have dropped
+ * bars to a maximum bar count, since masks are indexed from bar 0. Rules that read the trading
+ * record cannot be precompiled and are rejected too.
+ */
+public final class RuleCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleCompiler.class);
+
+    private final BarSeries series;
+    private final int barCount;
+    private final Map<Indicator<?>, double[]> values = new IdentityHashMap<>();
+
+    private RuleCompiler(BarSeries series) {
+        this.series = series;
+        this.barCount = series.getBarCount();
+    }
+
+    /**
+     * Compiles {@code strategy}'s entry and exit rules over every bar of {@code series}.
+     *
+     * @throws IllegalArgumentException if the series is not {@code DoubleNum} or has removed bars,
+     *                                  or a rule or indicator type is not supported
+     */
+    public static CompiledStrategy compile(Strategy strategy, BarSeries series) {
+        if (!(series.numOf(0) instanceof DoubleNum)) {
+            throw new IllegalArgumentException("Series " + series.getName() + " is not DoubleNum");
+        }
+        if (series.getBeginIndex() > 0) {
+            throw new IllegalArgumentException("Series " + series.getName() + " has removed bars");
+        }
+        long start = System.nanoTime();
+        RuleCompiler compiler = new RuleCompiler(series);
+        long[] entries = compiler.mask(strategy.getEntryRule());
+        long[] exits = compiler.mask(strategy.getExitRule());
+        logger.debug("Compiled {} over {} bars in {} us", strategy.getName(), series.getBarCount(),
+                     (System.nanoTime() - start) / 1_000);
+        return new CompiledStrategy(strategy.getName(), entries, exits, series.getBarCount(), strategy.getUnstableBars());
+    }
+
+    /**
+     * {@link #compile} when the series is {@code DoubleNum} and every rule is supported, otherwise
+     * {@code strategy} itself.
+     */
+    public static Strategy tryCompile(Strategy strategy, BarSeries series) {
+        if (strategy instanceof CompiledStrategy) {
+            return strategy;
+        }
+        try {
+            return compile(strategy, series);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Evaluating {} rule by rule: {}", strategy.getName(), e.getMessage());
+            return strategy;
+        }
+    }
+
+    private long[] mask(Rule rule) {
+        if (rule instanceof AndRule) {
+            AndRule and = (AndRule) rule;
+            long[] left = mask(and.getRule1());
+            long[] right = mask(and.getRule2());
+            for (int w = 0; w < left.length; w++) {
+                left[w] &= right[w];
+            }
+            return left;
+        }
+        if (rule instanceof OrRule) {
+            OrRule or = (OrRule) rule;
+            long[] left = mask(or.getRule1());
+            long[] right = mask(or.getRule2());
+            for (int w = 0; w < left.length; w++) {
+                left[w] |= right[w];
+            }
+            return left;
+        }
+        if (rule instanceof NotRule) {
+            long[] inner = mask(((NotRule) rule).getRuleToNegate());
+            for (int w = 0; w < inner.length; w++) {
+                inner[w] = ~inner[w];
+            }
+            return inner;
+        }
+        if (rule instanceof BooleanRule) {
+            long[] bits = IndicatorKernels.newMask(barCount);
+            if (rule.isSatisfied(0, (TradingRecord) null)) {
+                Arrays.fill(bits, -1L);
+            }
+            return bits;
+        }
+        if (rule instanceof OverIndicatorRule) {
+            return compare(indicator(OverIndicatorRule.class, rule, "first"), indicator(OverIndicatorRule.class, rule, "second"), 1);
+        }
+        if (rule instanceof UnderIndicatorRule) {
+            return compare(indicator(UnderIndicatorRule.class, rule, "first"), indicator(UnderIndicatorRule.class, rule, "second"), -1);
+        }
+        throw new IllegalArgumentException("Cannot compile rule " + rule.getClass().getSimpleName());
+    }
+
+    /**
+     * Bits where {@code Double.compare(first, second)} has the sign of {@code sign}.
+     */
+    private long[] compare(Indicator<Num> first, Indicator<Num> second, int sign) {
+        long[] bits = IndicatorKernels.newMask(barCount);
+        double[] a = values(first);
+        if (second instanceof ConstantIndicator) {
+            double b = second.getValue(0).doubleValue();
+            if (Double.isNaN(b)) {
+                return bits;
+            }
+            for (int i = 0; i < barCount; i++) {
+                if (!Double.isNaN(a[i]) && Integer.signum(Double.compare(a[i], b)) == sign) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            return bits;
+        }
+        double[] b = values(second);
+        for (int i = 0; i < barCount; i++) {
+            if (!Double.isNaN(a[i]) && !Double.isNaN(b[i]) && Integer.signum(Double.compare(a[i], b[i])) == sign) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    private double[] values(Indicator<Num> indicator) {
+        return values.computeIfAbsent(indicator, key -> {
+            if (key.getBarSeries() != series) {
+                throw new IllegalArgumentException("Indicator " + key + " belongs to another series");
+            }
+            if (key instanceof IndicatorView.Adapter) {
+                IndicatorView view = ((IndicatorView.Adapter) key).getView();
+                if (view.getBeginIndex() == 0 && view.size() >= barCount) {
+                    return view.toArray();
+                }
+            }
+            double[] result = new double[barCount];
+            for (int i = 0; i < barCount; i++) {
+                Num value = indicator.getValue(i);
+                result[i] = value.isNaN() ? Double.NaN : value.doubleValue();
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Indicator<Num> indicator(Class<? extends Rule> type, Rule rule, String fieldName) {
+        try {
+            // The comparison rules keep their operands private
+            Field field = type.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return (Indicator<Num>) field.get(rule);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot read " + fieldName + " of " + type.getSimpleName(), e);
+        }
+    }
+}
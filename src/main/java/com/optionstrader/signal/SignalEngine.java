@@ -8,4 +8,15 @@ import java.util.List;
  */
 public interface SignalEngine {
     List<Signal> generateSignals(BarSeries series);
+
+    /**
+     * Signals packed into a {@link SignalVector} anchored at the first bar that has one.
+     */
+    default SignalVector generateSignalVector(BarSeries series) {
+        List<Signal> signals = generateSignals(series);
+        int startBar = series.getBarCount() - signals.size();
+        long startTimeMs = signals.isEmpty() ? Long.MIN_VALUE
+                                             : series.getBar(startBar).getEndTime().toInstant().toEpochMilli();
+        return SignalVector.encode(signals, startBar, startTimeMs);
+    }
 }
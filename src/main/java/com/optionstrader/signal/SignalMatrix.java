@@ -0,0 +1,92 @@
+package com.optionstrader.signal;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Signals for many symbols over one timeline, one byte per symbol and bar (the {@link Signal}
+ * ordinal), symbol-major. Column {@code j} is bar {@code startBar + j} of the batch.
+ */
+public final class SignalMatrix {
+
+    private static final Signal[] SIGNALS = Signal.values();
+
+    private final String[] symbols;
+    private final int startBar;
+    private final int length;
+    private final byte[] codes;
+
+    SignalMatrix(String[] symbols, int startBar, int length) {
+        this.symbols = symbols;
+        this.startBar = startBar;
+        this.length = length;
+        this.codes = new byte[symbols.length * length];
+    }
+
+    void set(int symbol, int column, Signal signal) {
+        codes[symbol * length + column] = (byte) signal.ordinal();
+    }
+
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * Index of the first bar with a signal (the strategy's lookback).
+     */
+    public int getStartBar() {
+        return startBar;
+    }
+
+    /**
+     * Signals per symbol.
+     */
+    public int length() {
+        return length;
+    }
+
+    public String symbol(int symbol) {
+        return symbols[symbol];
+    }
+
+    public int indexOf(String symbol) {
+        return Arrays.asList(symbols).indexOf(symbol);
+    }
+
+    public Signal get(int symbol, int column) {
+        if (column < 0 || column >= length) {
+            throw new IndexOutOfBoundsException("Column " + column + " outside 0.." + (length - 1));
+        }
+        return SIGNALS[codes[symbol * length + column]];
+    }
+
+    /**
+     * Read-only view of one symbol's signals, equal to what a single-series engine returns.
+     */
+    public List<Signal> row(int symbol) {
+        int offset = symbol * length;
+        return new AbstractList<>() {
+            @Override
+            public Signal get(int column) {
+                return SIGNALS[codes[offset + column]];
+            }
+
+            @Override
+            public int size() {
+                return length;
+            }
+        };
+    }
+
+    public int count(int symbol, Signal signal) {
+        byte code = (byte) signal.ordinal();
+        int count = 0;
+        for (int i = symbol * length, end = i + length; i < end; i++) {
+            if (codes[i] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,259 @@
+package com.optionstrader.signal;
+
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.AbstractRule;
+
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact signal series: two bits per bar, 32 bars per {@code long}, anchored at an absolute bar
+ * index and that bar's end time. HOLD is encoded as {@code 00}, so a word of 32 HOLD bars is zero
+ * and {@link #nextIndexOf} and {@link #forEachSignal} skip HOLD runs a word at a time. The words
+ * are read through a {@link LongBuffer}, which lets {@link SignalVectorFile} serve a vector
+ * straight from a memory-mapped file.
+ */
+public final class SignalVector {
+
+    static final int HOLD_CODE = 0;
+    static final int BUY_CODE = 1;
+    static final int SELL_CODE = 2;
+
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+
+    private final int startBar;
+    private final long startTimeMs;
+    private final int length;
+    private final LongBuffer words;
+
+    SignalVector(int startBar, long startTimeMs, int length, LongBuffer words) {
+        if (words.limit() < wordCount(length)) {
+            throw new IllegalArgumentException(length + " signals need " + wordCount(length) + " words, got " + words.limit());
+        }
+        this.startBar = startBar;
+        this.startTimeMs = startTimeMs;
+        this.length = length;
+        this.words = words;
+    }
+
+    /**
+     * Encodes {@code signals}, the first of which belongs to bar {@code startBar} ending at
+     * {@code startTimeMs}.
+     */
+    public static SignalVector encode(List<Signal> signals, int startBar, long startTimeMs) {
+        Builder builder = new Builder(startBar, startTimeMs, signals.size());
+        for (Signal signal : signals) {
+            builder.add(signal);
+        }
+        return builder.build();
+    }
+
+    /** Index of the bar the first signal belongs to. */
+    public int getStartBar() {
+        return startBar;
+    }
+
+    /** End time of the start bar in epoch millis, or {@code Long.MIN_VALUE} when unknown. */
+    public long getStartTimeMillis() {
+        return startTimeMs;
+    }
+
+    /** Number of encoded signals. */
+    public int length() {
+        return length;
+    }
+
+    /** One past the last bar covered. */
+    public int getEndBar() {
+        return startBar + length;
+    }
+
+    /**
+     * Signal at absolute bar {@code bar}; bars outside the vector are HOLD.
+     */
+    public Signal signalAt(int bar) {
+        int offset = bar - startBar;
+        if (offset < 0 || offset >= length) {
+            return Signal.HOLD;
+        }
+        return decode((int) (words.get(offset >>> 5) >>> ((offset & 31) << 1)) & 3);
+    }
+
+    /**
+     * First bar at or after {@code fromBar} carrying {@code signal} (BUY or SELL), or -1.
+     */
+    public int nextIndexOf(Signal signal, int fromBar) {
+        if (signal == Signal.HOLD) {
+            throw new IllegalArgumentException("HOLD runs are not indexed");
+        }
+        int offset = Math.max(0, fromBar - startBar);
+        if (offset >= length) {
+            return -1;
+        }
+        int wordIndex = offset >>> 5;
+        long word = select(words.get(wordIndex), signal) & (-1L << ((offset & 31) << 1));
+        int lastWord = wordCount(length) - 1;
+        while (word == 0) {
+            if (++wordIndex > lastWord) {
+                return -1;
+            }
+            word = select(words.get(wordIndex), signal);
+        }
+        int found = (wordIndex << 5) + (Long.numberOfTrailingZeros(word) >>> 1);
+        return found < length ? startBar + found : -1;
+    }
+
+    /**
+     * Calls {@code visitor} for every BUY and SELL bar in order, skipping HOLD runs.
+     */
+    public void forEachSignal(Visitor visitor) {
+        int wordTotal = wordCount(length);
+        for (int w = 0; w < wordTotal; w++) {
+            long word = words.get(w);
+            while (word != 0) {
+                int shift = Long.numberOfTrailingZeros(word) & ~1;
+                int offset = (w << 5) + (shift >>> 1);
+                if (offset >= length) {
+                    return;
+                }
+                visitor.accept(startBar + offset, decode((int) (word >>> shift) & 3));
+                word &= ~(3L << shift);
+            }
+        }
+    }
+
+    /** Number of bars carrying {@code signal}. */
+    public int count(Signal signal) {
+        if (signal == Signal.HOLD) {
+            return length - count(Signal.BUY) - count(Signal.SELL);
+        }
+        int count = 0;
+        for (int w = 0, wordTotal = wordCount(length); w < wordTotal; w++) {
+            count += Long.bitCount(select(words.get(w), signal));
+        }
+        return count;
+    }
+
+    /**
+     * Read-only list view, equal to the list the encoded engine returned.
+     */
+    public List<Signal> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Signal get(int index) {
+                if (index < 0 || index >= length) {
+                    throw new IndexOutOfBoundsException("Index " + index + " outside 0.." + (length - 1));
+                }
+                return signalAt(startBar + index);
+            }
+
+            @Override
+            public int size() {
+                return length;
+            }
+        };
+    }
+
+    /**
+     * ta4j view for the backtesters: enter on BUY, exit on SELL, unstable before the start bar.
+     */
+    public Strategy toStrategy() {
+        return new BaseStrategy("SignalVector", new SignalRule(Signal.BUY), new SignalRule(Signal.SELL), startBar);
+    }
+
+    LongBuffer words() {
+        return words.duplicate();
+    }
+
+    static int wordCount(int length) {
+        return (length + 31) >>> 5;
+    }
+
+    private static long select(long word, Signal signal) {
+        // BUY is 01 and SELL is 10; the mask keeps the low bit of each matching pair
+        return signal == Signal.BUY ? word & ~(word >>> 1) & LOW_BITS : (word >>> 1) & ~word & LOW_BITS;
+    }
+
+    private static int code(Signal signal) {
+        switch (signal) {
+            case BUY:
+                return BUY_CODE;
+            case SELL:
+                return SELL_CODE;
+            default:
+                return HOLD_CODE;
+        }
+    }
+
+    private static Signal decode(int code) {
+        return code == BUY_CODE ? Signal.BUY : code == SELL_CODE ? Signal.SELL : Signal.HOLD;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SignalVector{startBar=%d, length=%d, buys=%d, sells=%d}",
+                             startBar, length, count(Signal.BUY), count(Signal.SELL));
+    }
+
+    /**
+     * Receives the non-HOLD bars of a vector.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(int bar, Signal signal);
+    }
+
+    /**
+     * Appends signals one bar at a time.
+     */
+    public static final class Builder {
+        private final int startBar;
+        private final long startTimeMs;
+        private long[] words;
+        private int length;
+
+        public Builder(int startBar, long startTimeMs) {
+            this(startBar, startTimeMs, 1024);
+        }
+
+        public Builder(int startBar, long startTimeMs, int expectedLength) {
+            this.startBar = startBar;
+            this.startTimeMs = startTimeMs;
+            this.words = new long[Math.max(1, wordCount(expectedLength))];
+        }
+
+        public Builder add(Signal signal) {
+            int wordIndex = length >>> 5;
+            if (wordIndex == words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            words[wordIndex] |= (long) code(signal) << ((length & 31) << 1);
+            length++;
+            return this;
+        }
+
+        public SignalVector build() {
+            return new SignalVector(startBar, startTimeMs, length,
+                                    LongBuffer.wrap(Arrays.copyOf(words, wordCount(length))));
+        }
+    }
+
+    private final class SignalRule extends AbstractRule {
+        private final Signal signal;
+
+        SignalRule(Signal signal) {
+            this.signal = signal;
+        }
+
+        @Override
+        public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            boolean satisfied = signalAt(index) == signal;
+            traceIsSatisfied(index, satisfied);
+            return satisfied;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.optionstrader.signal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary form of a {@link SignalVector}:
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "OTSV"
+ *      4     4  format version
+ *      8     4  signal count
+ *     12     4  start bar index
+ *     16     8  start bar end time in epoch millis
+ *     24   8*w  packed 2-bit codes, w = ceil(count / 32)
+ * </pre>
+ *
+ * All values are little-endian. {@link #map} returns a vector that reads the codes from the
+ * mapping itself, so opening a file costs no copy.
+ */
+public final class SignalVectorFile {
+
+    static final int MAGIC = 0x5653544F; // "OTSV" read little-endian
+    static final int VERSION = 1;
+    private static final int HEADER = 24;
+
+    private SignalVectorFile() {
+    }
+
+    /**
+     * Writes {@code vector} to a temporary sibling and moves it into place.
+     */
+    public static void write(SignalVector vector, Path file) throws IOException {
+        int wordCount = SignalVector.wordCount(vector.length());
+        long fileSize = HEADER + 8L * wordCount;
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC)
+                      .putInt(VERSION)
+                      .putInt(vector.length())
+                      .putInt(vector.getStartBar())
+                      .putLong(vector.getStartTimeMillis());
+                LongBuffer words = vector.words();
+                words.limit(wordCount);
+                buffer.asLongBuffer().put(words);
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps {@code file} read-only. The mapping stays valid after this returns and is released
+     * when the vector is garbage collected.
+     */
+    public static SignalVector map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IOException("Not a signal vector file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " signal vector file: " + file);
+            }
+            int length = buffer.getInt(8);
+            int startBar = buffer.getInt(12);
+            long startTimeMs = buffer.getLong(16);
+            if (channel.size() < HEADER + 8L * SignalVector.wordCount(length)) {
+                throw new IOException("Truncated signal vector file: " + file);
+            }
+            buffer.position(HEADER);
+            return new SignalVector(startBar, startTimeMs, length, buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.optionstrader.signal;
+
+/**
+ * Tunable inputs of the Volatility-Optimized strategy.
+ */
+public record StrategyParameters(
+    int fastPeriod,      // SMA over closes, compared against the slow SMA
+    int slowPeriod,      // slow SMA; also the number of bars before the first signal
+    int rsiPeriod,
+    double entryRsi,     // enter below this RSI in an uptrend
+    double exitRsi,      // exit above this RSI
+    double gapThreshold, // |open - previous close| / previous close that counts as a gap
+    int warmUpBars       // bars held after a gap
+) {
+    public static final StrategyParameters DEFAULT = new StrategyParameters(50, 200, 14, 40, 70, 0.02, 5);
+
+    public StrategyParameters {
+        if (fastPeriod < 1 || slowPeriod < 1 || rsiPeriod < 1) {
+            throw new IllegalArgumentException("Indicator periods must be positive");
+        }
+    }
+}
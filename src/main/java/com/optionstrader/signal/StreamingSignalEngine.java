@@ -0,0 +1,25 @@
+package com.optionstrader.signal;
+
+import org.ta4j.core.Bar;
+
+/**
+ * Stateful signal engine fed one bar at a time, for live or replayed feeds.
+ */
+public interface StreamingSignalEngine {
+
+    /**
+     * Consumes the next bar and returns its signal, or {@code null} while the engine's lookback
+     * is still filling and no signal is defined yet.
+     */
+    Signal onBar(Bar bar);
+
+    /**
+     * Primitive variant of {@link #onBar(Bar)} for callers that hold prices in columns.
+     */
+    Signal onBar(double open, double close);
+
+    /**
+     * Forgets all bars seen so far.
+     */
+    void reset();
+}
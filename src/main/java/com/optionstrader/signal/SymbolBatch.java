@@ -0,0 +1,97 @@
+package com.optionstrader.signal;
+
+import com.optionstrader.ingestion.BarColumns;
+import org.ta4j.core.BarSeries;
+
+import java.util.List;
+
+/**
+ * Structure-of-arrays input for {@link BatchSignalEngine}: N symbols sharing one timeline, with
+ * each price field stored as one contiguous array of {@code symbolCount * barCount} values,
+ * symbol-major (symbol {@code s}, bar {@code i} at {@code s * barCount + i}).
+ */
+public final class SymbolBatch {
+
+    private final String[] symbols;
+    private final long[] times;
+    private final double[] opens;
+    private final double[] closes;
+
+    /**
+     * Adopts the arrays without copying.
+     */
+    public SymbolBatch(String[] symbols, long[] times, double[] opens, double[] closes) {
+        long cells = (long) symbols.length * times.length;
+        if (opens.length != cells || closes.length != cells) {
+            throw new IllegalArgumentException("Expected " + cells + " prices per field for " + symbols.length
+                                               + " symbols x " + times.length + " bars");
+        }
+        this.symbols = symbols;
+        this.times = times;
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    /**
+     * Packs series that share the same bar end times.
+     */
+    public static SymbolBatch of(List<BarSeries> seriesList) {
+        if (seriesList.isEmpty()) {
+            return new SymbolBatch(new String[0], new long[0], new double[0], new double[0]);
+        }
+        BarSeries first = seriesList.get(0);
+        int bars = first.getBarCount();
+        long[] times = new long[bars];
+        for (int i = 0; i < bars; i++) {
+            times[i] = first.getBar(i).getEndTime().toInstant().toEpochMilli();
+        }
+        String[] symbols = new String[seriesList.size()];
+        double[] opens = new double[symbols.length * bars];
+        double[] closes = new double[symbols.length * bars];
+        for (int s = 0; s < symbols.length; s++) {
+            BarSeries series = seriesList.get(s);
+            if (series.getBarCount() != bars) {
+                throw new IllegalArgumentException(series.getName() + " has " + series.getBarCount()
+                                                   + " bars, expected " + bars);
+            }
+            for (int i = 0; i < bars; i++) {
+                if (series.getBar(i).getEndTime().toInstant().toEpochMilli() != times[i]) {
+                    throw new IllegalArgumentException(series.getName() + " is not aligned with "
+                                                       + first.getName() + " at bar " + i);
+                }
+            }
+            symbols[s] = series.getName();
+            System.arraycopy(BarColumns.openPrices(series), 0, opens, s * bars, bars);
+            System.arraycopy(BarColumns.closePrices(series), 0, closes, s * bars, bars);
+        }
+        return new SymbolBatch(symbols, times, opens, closes);
+    }
+
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    public int barCount() {
+        return times.length;
+    }
+
+    public String symbol(int index) {
+        return symbols[index];
+    }
+
+    public long time(int bar) {
+        return times[bar];
+    }
+
+    double[] opens() {
+        return opens;
+    }
+
+    double[] closes() {
+        return closes;
+    }
+
+    String[] symbols() {
+        return symbols;
+    }
+}
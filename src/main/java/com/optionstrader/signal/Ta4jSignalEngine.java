@@ -1,41 +1,59 @@
 package com.optionstrader.signal;
 
+import com.optionstrader.indicator.IndicatorCache;
+import com.optionstrader.indicator.IndicatorView;
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.indicators.SMAIndicator;
-import org.ta4j.core.indicators.RSIIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.num.DecimalNum;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * TA4J-based Signal Engine implementing Volatility-Optimized strategy.
+ * Indicator values come from ta4j's indicators through the shared {@link IndicatorCache}.
  */
 public class Ta4jSignalEngine implements SignalEngine {
 
+    private static final GenerateMetrics METRICS = new GenerateMetrics("ta4j");
+
+    private final StrategyParameters parameters;
+    private final IndicatorCache cache;
+
+    public Ta4jSignalEngine() {
+        this(StrategyParameters.DEFAULT);
+    }
+
+    public Ta4jSignalEngine(StrategyParameters parameters) {
+        this(parameters, IndicatorCache.shared());
+    }
+
+    public Ta4jSignalEngine(StrategyParameters parameters, IndicatorCache cache) {
+        this.parameters = parameters;
+        this.cache = cache;
+    }
+
     @Override
     public List<Signal> generateSignals(BarSeries series) {
+        GenerateMetrics.Generation generation = METRICS.start();
         List<Signal> signals = new ArrayList<>();
-        if (series.getBarCount() < 201) {
-            return signals;
+        int unstable = parameters.slowPeriod();
+        if (series.getBarCount() < unstable + 1) {
+            return METRICS.record(generation, series, signals);
         }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma50 = new SMAIndicator(closePrice, 50);
-        SMAIndicator sma200 = new SMAIndicator(closePrice, 200);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        IndicatorView fastSma = cache.sma(series, parameters.fastPeriod());
+        IndicatorView slowSma = cache.sma(series, parameters.slowPeriod());
+        IndicatorView rsi = cache.rsi(series, parameters.rsiPeriod());
 
         int warmUp = 0;
         boolean previousEntryCond = false;
 
-        for (int i = 200; i < series.getBarCount(); i++) {
+        for (int i = unstable; i < series.getBarCount(); i++) {
             // Check for gap
             if (i > 0) {
                 double open = series.getBar(i).getOpenPrice().doubleValue();
                 double prevClose = series.getBar(i - 1).getClosePrice().doubleValue();
-                if (Math.abs(open - prevClose) / prevClose > 0.02) {
-                    warmUp = 5;
+                if (Math.abs(open - prevClose) / prevClose > parameters.gapThreshold()) {
+                    warmUp = parameters.warmUpBars();
                 }
             }
 
@@ -46,14 +64,12 @@ public class Ta4jSignalEngine implements SignalEngine {
                 continue;
             }
 
-            boolean entryCond = sma50.getValue(i).doubleValue() > sma200.getValue(i).doubleValue() &&
-                                rsi.getValue(i).doubleValue() < 40;
-            boolean exitCond = rsi.getValue(i).doubleValue() > 70 ||
-                               sma50.getValue(i).doubleValue() < sma200.getValue(i).doubleValue();
+            boolean entryCond = fastSma.get(i) > slowSma.get(i) && rsi.get(i) < parameters.entryRsi();
+            boolean exitCond = rsi.get(i) > parameters.exitRsi() || fastSma.get(i) < slowSma.get(i);
 
             if (exitCond) {
                 signals.add(Signal.SELL);
-            } else if (i > 200 && entryCond && previousEntryCond) {
+            } else if (i > unstable && entryCond && previousEntryCond) {
                 signals.add(Signal.BUY);
             } else {
                 signals.add(Signal.HOLD);
@@ -62,6 +78,6 @@ public class Ta4jSignalEngine implements SignalEngine {
             previousEntryCond = entryCond;
         }
 
-        return signals;
+        return METRICS.record(generation, series, signals);
     }
 }
@@ -1,11 +1,11 @@
 package com.optionstrader.signal;
 
+import com.optionstrader.indicator.IndicatorCache;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
 import org.ta4j.core.Rule;
 import org.ta4j.core.Strategy;
-import org.ta4j.core.indicators.SMAIndicator;
-import org.ta4j.core.indicators.RSIIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
 import org.ta4j.core.rules.OverIndicatorRule;
 import org.ta4j.core.rules.UnderIndicatorRule;
 
@@ -15,16 +15,27 @@ import org.ta4j.core.rules.UnderIndicatorRule;
 public class VolatilityOptimizedStrategy {
 
     public static Strategy build(BarSeries series) {
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma50 = new SMAIndicator(closePrice, 50);
-        SMAIndicator sma200 = new SMAIndicator(closePrice, 200);
-        RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+        return build(series, StrategyParameters.DEFAULT);
+    }
+
+    public static Strategy build(BarSeries series, StrategyParameters parameters) {
+        return build(series, parameters, IndicatorCache.shared());
+    }
+
+    /**
+     * Entry and exit rules only; the gap warm-up is not expressible as a ta4j rule and is applied
+     * by the signal engines. Rules read cached indicator views rather than fresh ta4j indicators.
+     */
+    public static Strategy build(BarSeries series, StrategyParameters parameters, IndicatorCache cache) {
+        Indicator<Num> fastSma = cache.sma(series, parameters.fastPeriod()).asIndicator(series);
+        Indicator<Num> slowSma = cache.sma(series, parameters.slowPeriod()).asIndicator(series);
+        Indicator<Num> rsi = cache.rsi(series, parameters.rsiPeriod()).asIndicator(series);
 
-        // Entry: sma50 > sma200 and rsi < 40
-        Rule entryRule = new OverIndicatorRule(sma50, sma200).and(new UnderIndicatorRule(rsi, 40));
+        // Entry: fast SMA above slow SMA and RSI below the entry level
+        Rule entryRule = new OverIndicatorRule(fastSma, slowSma).and(new UnderIndicatorRule(rsi, parameters.entryRsi()));
 
-        // Exit: rsi > 70 or sma50 < sma200
-        Rule exitRule = new UnderIndicatorRule(rsi, 70).negation().or(new OverIndicatorRule(sma50, sma200).negation());
+        // Exit: RSI above the exit level or fast SMA below slow SMA
+        Rule exitRule = new UnderIndicatorRule(rsi, parameters.exitRsi()).negation().or(new OverIndicatorRule(fastSma, slowSma).negation());
 
         return new org.ta4j.core.BaseStrategy(entryRule, exitRule);
     }
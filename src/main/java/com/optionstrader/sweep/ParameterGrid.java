@@ -0,0 +1,55 @@
+package com.optionstrader.sweep;
+
+import com.optionstrader.signal.StrategyParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Candidate values per strategy parameter; the sweep evaluates their cartesian product.
+ */
+public record ParameterGrid(
+    List<Integer> fastPeriods,
+    List<Integer> slowPeriods,
+    List<Integer> rsiPeriods,
+    List<Double> entryRsiLevels,
+    List<Double> exitRsiLevels,
+    List<Double> gapThresholds,
+    List<Integer> warmUpBars
+) {
+    /**
+     * Grid holding only {@code parameters}.
+     */
+    public static ParameterGrid of(StrategyParameters parameters) {
+        return new ParameterGrid(List.of(parameters.fastPeriod()), List.of(parameters.slowPeriod()),
+                                 List.of(parameters.rsiPeriod()), List.of(parameters.entryRsi()),
+                                 List.of(parameters.exitRsi()), List.of(parameters.gapThreshold()),
+                                 List.of(parameters.warmUpBars()));
+    }
+
+    /**
+     * Every combination, skipping those whose fast SMA is not shorter than the slow SMA.
+     */
+    public List<StrategyParameters> combinations() {
+        List<StrategyParameters> combinations = new ArrayList<>();
+        for (int fast : fastPeriods) {
+            for (int slow : slowPeriods) {
+                if (fast >= slow) {
+                    continue;
+                }
+                for (int rsi : rsiPeriods) {
+                    for (double entry : entryRsiLevels) {
+                        for (double exit : exitRsiLevels) {
+                            for (double gap : gapThresholds) {
+                                for (int warmUp : warmUpBars) {
+                                    combinations.add(new StrategyParameters(fast, slow, rsi, entry, exit, gap, warmUp));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return combinations;
+    }
+}
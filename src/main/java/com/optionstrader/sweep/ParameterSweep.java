@@ -0,0 +1,190 @@
+package com.optionstrader.sweep;
+
+import com.optionstrader.indicator.IndicatorKernels;
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.StrategyParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates a {@link ParameterGrid} of the Volatility-Optimized strategy over one series.
+ * <p>
+ * Everything that does not depend on the parameters (prefix sums, gains and losses, gap ratios,
+ * RSI per distinct period) is computed once and shared. Each combination is then a single
+ * allocation-free pass replaying the {@link ManualSignalEngine} rules together with a long-only
+ * backtest. Combinations are split across a {@link ForkJoinPool}, and results are ranked by
+ * total return, then drawdown.
+ */
+public class ParameterSweep {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterSweep.class);
+
+    private static final int LEAF_SIZE = 4;
+
+    public static final Comparator<SweepResult> BY_RETURN = Comparator
+        .comparingDouble(SweepResult::totalReturn).reversed()
+        .thenComparing(Comparator.comparingDouble(SweepResult::maxDrawdown).reversed())
+        .thenComparingInt(SweepResult::tradeCount);
+
+    private final int parallelism;
+
+    public ParameterSweep() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParameterSweep(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public List<SweepResult> run(BarSeries series, ParameterGrid grid) {
+        long start = System.nanoTime();
+        List<StrategyParameters> combinations = grid.combinations();
+        SharedSeries shared = new SharedSeries(BarColumns.openPrices(series), BarColumns.closePrices(series),
+                                                IndicatorKernels.get());
+        SweepResult[] results = new SweepResult[combinations.size()];
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new EvaluateRange(shared, combinations, results, 0, results.length));
+        } finally {
+            pool.shutdown();
+        }
+
+        List<SweepResult> ranked = Arrays.stream(results).sorted(BY_RETURN).collect(Collectors.toList());
+        long elapsedNanos = System.nanoTime() - start;
+        logger.info("Swept {} combinations over {} bars in {} ms ({} combinations/min)",
+                    results.length, series.getBarCount(), elapsedNanos / 1_000_000,
+                    String.format("%.0f", results.length / (elapsedNanos / 6e10)));
+        return ranked;
+    }
+
+    static SweepResult evaluate(SharedSeries data, StrategyParameters parameters) {
+        int count = data.closes.length;
+        int unstable = parameters.slowPeriod();
+        if (count < unstable + 1) {
+            return new SweepResult(parameters, 0, 0, 0, 0, 0, 0, 0);
+        }
+        double[] closes = data.closes;
+        double[] gapRatios = data.gapRatios;
+        double[] rsi = data.rsi(parameters.rsiPeriod());
+
+        int buys = 0;
+        int sells = 0;
+        int holds = 0;
+        int warmUp = 0;
+        boolean previousEntryCond = false;
+
+        boolean inPosition = false;
+        double entryPrice = 0;
+        int trades = 0;
+        int wins = 0;
+        double equity = 1;
+        double peak = 1;
+        double maxDrawdown = 0;
+
+        for (int i = unstable; i < count; i++) {
+            if (gapRatios[i] > parameters.gapThreshold()) {
+                warmUp = parameters.warmUpBars();
+            }
+            if (warmUp > 0) {
+                holds++;
+                warmUp--;
+                previousEntryCond = false;
+                continue;
+            }
+
+            double fast = data.sma(i, parameters.fastPeriod());
+            double slow = data.sma(i, unstable);
+            boolean entryCond = fast > slow && rsi[i] < parameters.entryRsi();
+            boolean exitCond = rsi[i] > parameters.exitRsi() || fast < slow;
+
+            if (exitCond) {
+                sells++;
+                if (inPosition) {
+                    double tradeReturn = (closes[i] - entryPrice) / entryPrice;
+                    trades++;
+                    wins += tradeReturn > 0 ? 1 : 0;
+                    equity *= 1 + tradeReturn;
+                    peak = Math.max(peak, equity);
+                    maxDrawdown = Math.min(maxDrawdown, equity / peak - 1);
+                    inPosition = false;
+                }
+            } else if (i > unstable && entryCond && previousEntryCond) {
+                buys++;
+                if (!inPosition) {
+                    entryPrice = closes[i];
+                    inPosition = true;
+                }
+            } else {
+                holds++;
+            }
+            previousEntryCond = entryCond;
+        }
+
+        if (inPosition) {
+            double tradeReturn = (closes[count - 1] - entryPrice) / entryPrice;
+            trades++;
+            wins += tradeReturn > 0 ? 1 : 0;
+            equity *= 1 + tradeReturn;
+            peak = Math.max(peak, equity);
+            maxDrawdown = Math.min(maxDrawdown, equity / peak - 1);
+        }
+        return new SweepResult(parameters, buys, sells, holds, trades,
+                               trades == 0 ? 0 : (double) wins / trades, equity - 1, maxDrawdown);
+    }
+
+    /**
+     * Renders the first {@code limit} results as a fixed-width table.
+     */
+    public static String formatTable(List<SweepResult> ranked, int limit) {
+        StringBuilder table = new StringBuilder(String.format("%4s %5s %5s %4s %6s %6s %6s %4s %6s %6s %6s %6s %8s %8s%n",
+            "rank", "fast", "slow", "rsi", "entry", "exit", "gap", "warm", "buys", "sells", "trades", "win%", "return%", "maxDD%"));
+        for (int i = 0; i < Math.min(limit, ranked.size()); i++) {
+            SweepResult r = ranked.get(i);
+            StrategyParameters p = r.parameters();
+            table.append(String.format("%4d %5d %5d %4d %6.1f %6.1f %6.3f %4d %6d %6d %6d %6.1f %8.2f %8.2f%n",
+                i + 1, p.fastPeriod(), p.slowPeriod(), p.rsiPeriod(), p.entryRsi(), p.exitRsi(), p.gapThreshold(),
+                p.warmUpBars(), r.buySignals(), r.sellSignals(), r.tradeCount(), r.winRate() * 100,
+                r.totalReturn() * 100, r.maxDrawdown() * 100));
+        }
+        return table.toString();
+    }
+
+    private static final class EvaluateRange extends RecursiveAction {
+        private final SharedSeries data;
+        private final List<StrategyParameters> combinations;
+        private final SweepResult[] results;
+        private final int from;
+        private final int to;
+
+        EvaluateRange(SharedSeries data, List<StrategyParameters> combinations, SweepResult[] results, int from, int to) {
+            this.data = data;
+            this.combinations = combinations;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i] = evaluate(data, combinations.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluateRange(data, combinations, results, from, mid),
+                      new EvaluateRange(data, combinations, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.optionstrader.sweep;
+
+import com.optionstrader.indicator.Ema;
+import com.optionstrader.indicator.IndicatorKernels;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-series data computed once and read by every combination of a sweep: double-double
+ * prefix sums of closes (any SMA window in O(1)), bar-to-bar gains and losses, gap ratios, and
+ * one RSI array per distinct RSI period, built on first use.
+ */
+final class SharedSeries {
+
+    final double[] closes;
+    final double[] gapRatios;
+    private final double[] prefixHigh;
+    private final double[] prefixLow;
+    private final double[] gains;
+    private final double[] losses;
+    private final Map<Integer, double[]> rsiByPeriod = new ConcurrentHashMap<>();
+
+    SharedSeries(double[] opens, double[] closes, IndicatorKernels kernels) {
+        int n = closes.length;
+        this.closes = closes;
+        this.gapRatios = new double[n];
+        this.prefixHigh = new double[n + 1];
+        this.prefixLow = new double[n + 1];
+        this.gains = new double[n];
+        this.losses = new double[n];
+        kernels.prefixSums(closes, prefixHigh, prefixLow);
+        kernels.gainsAndLosses(closes, gains, losses);
+        kernels.gapRatios(opens, closes, gapRatios);
+    }
+
+    /**
+     * Mean of the {@code period} closes ending at {@code index}; the window must be full.
+     */
+    double sma(int index, int period) {
+        int from = index + 1 - period;
+        int to = index + 1;
+        return ((prefixHigh[to] - prefixHigh[from]) + (prefixLow[to] - prefixLow[from])) / period;
+    }
+
+    /**
+     * Wilder RSI, identical to {@code WilderRsi} over the same closes.
+     */
+    double[] rsi(int period) {
+        return rsiByPeriod.computeIfAbsent(period, p -> {
+            double[] averageGains = Ema.wilder(p).apply(gains);
+            double[] averageLosses = Ema.wilder(p).apply(losses);
+            double[] rsi = new double[closes.length];
+            for (int i = 0; i < rsi.length; i++) {
+                double avgGain = averageGains[i];
+                double avgLoss = averageLosses[i];
+                rsi[i] = avgLoss == 0 ? (avgGain == 0 ? 0 : 100) : 100 - 100 / (1 + avgGain / avgLoss);
+            }
+            return rsi;
+        });
+    }
+}
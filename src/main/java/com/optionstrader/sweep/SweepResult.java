@@ -0,0 +1,19 @@
+package com.optionstrader.sweep;
+
+import com.optionstrader.signal.StrategyParameters;
+
+/**
+ * Outcome of one parameter combination: its signal counts and a long-only backtest of the
+ * underlying that buys the close on BUY when flat and sells the close on SELL.
+ */
+public record SweepResult(
+    StrategyParameters parameters,
+    int buySignals,
+    int sellSignals,
+    int holdSignals,
+    int tradeCount,
+    double winRate,
+    double totalReturn,  // compounded, e.g. 0.12 for +12%
+    double maxDrawdown   // worst peak-to-trough of closed-trade equity, <= 0
+) {
+}
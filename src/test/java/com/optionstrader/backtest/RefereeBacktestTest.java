@@ -1,24 +1,37 @@
 package com.optionstrader.backtest;
 
+import com.optionstrader.ingestion.ContractFilter;
+import com.optionstrader.ingestion.LruChainProvider;
 import com.optionstrader.ingestion.MassiveDataLoader;
 import com.optionstrader.ingestion.StandardMassiveDataLoader;
+import com.optionstrader.ingestion.StreamingOptionChainLoader;
 import com.optionstrader.options.OptionChain;
 import com.optionstrader.options.OptionContract;
+import com.optionstrader.options.ChainProvider;
+import com.optionstrader.pricing.BlackScholes;
+import com.optionstrader.pricing.GreeksEngine;
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.SignalVector;
 import com.optionstrader.signal.VolatilityOptimizedStrategy;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.BarSeries;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Referee Test for OptionBacktester Tri-Implementation parity.
@@ -79,6 +92,106 @@ public class RefereeBacktestTest {
         logger.info("Tri-Implementation Referee test passed: All backtesters produced identical results");
     }
 
+    @Test
+    public void testBacktesterParityWithLazyChainProvider(@TempDir Path chainDir) throws IOException {
+        logger.info("Starting chain provider Referee test for OptionBacktester");
+        BarSeries series = loadBarSeries();
+        LocalDate from = series.getFirstBar().getEndTime().toLocalDate();
+        LocalDate to = series.getLastBar().getEndTime().toLocalDate();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Files.copy(Paths.get("src/test/resources/sample-tsla-chain.json"), chainDir.resolve(date + ".json"));
+        }
+        ContractFilter filter = ContractFilter.callsOnly().and(ContractFilter.dteBetween(30, 45));
+        Map<LocalDate, OptionChain> eagerChains = new StreamingOptionChainLoader().loadRange(chainDir, from, to, filter);
+        org.ta4j.core.Strategy strategy = VolatilityOptimizedStrategy.build(series);
+
+        Backtester[] backtesters = {
+            new SequentialOptionBacktester(), new EventDrivenOptionBacktester(), new StreamBasedOptionBacktester()
+        };
+        BacktestResult reference = backtesters[0].runBacktest(series, strategy, eagerChains);
+        logger.info("Sequential result with eager chain map: {}", reference);
+        for (Backtester backtester : backtesters) {
+            try (LruChainProvider provider = new LruChainProvider(chainDir, filter, 2, 1)) {
+                BacktestResult lazyResult = backtester.runBacktest(series, strategy, provider);
+                logger.info("{} with lazy provider: {} ({})", backtester.getClass().getSimpleName(), lazyResult, provider);
+                assertResultsEqual(reference, lazyResult, "Eager map vs lazy provider for " + backtester.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    public void testBacktesterParityWithSignalVector(@TempDir Path chainDir) throws IOException {
+        logger.info("Starting signal vector Referee test for OptionBacktester");
+        BarSeries series = loadBarSeries();
+        LocalDate from = series.getFirstBar().getEndTime().toLocalDate();
+        LocalDate to = series.getLastBar().getEndTime().toLocalDate();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Files.copy(Paths.get("src/test/resources/sample-tsla-chain.json"), chainDir.resolve(date + ".json"));
+        }
+        ContractFilter filter = ContractFilter.callsOnly().and(ContractFilter.dteBetween(30, 45));
+        ChainProvider chains = ChainProvider.of(new StreamingOptionChainLoader().loadRange(chainDir, from, to, filter));
+        SignalVector signals = new ManualSignalEngine().generateSignalVector(series);
+        logger.info("Backtesting {}", signals);
+
+        // Sequential skips HOLD runs; the other two walk every bar through the strategy view
+        Backtester sequential = new SequentialOptionBacktester();
+        BacktestResult reference = sequential.runBacktest(series, signals.toStrategy(), chains);
+        BacktestResult skipping = sequential.runBacktest(series, signals, chains);
+        assertResultsEqual(reference, skipping, "Bar walk vs HOLD skipping");
+        assertResultsEqual(reference, new EventDrivenOptionBacktester().runBacktest(series, signals, chains),
+                           "Sequential vs Event-Driven on a signal vector");
+        assertResultsEqual(reference, new StreamBasedOptionBacktester().runBacktest(series, signals, chains),
+                           "Sequential vs Stream-Based on a signal vector");
+
+        // A vector starting before the SMA(200) warm-up is backtested from its own first bar
+        SignalVector early = SignalVector.encode(signals.asList(), 60, 0L);
+        BacktestResult earlyReference = sequential.runBacktest(series, early, chains);
+        assertResultsEqual(earlyReference, new EventDrivenOptionBacktester().runBacktest(series, early, chains),
+                           "Sequential vs Event-Driven on an early signal vector");
+        assertResultsEqual(earlyReference, new StreamBasedOptionBacktester().runBacktest(series, early, chains),
+                           "Sequential vs Stream-Based on an early signal vector");
+        assertTrue(early.nextIndexOf(Signal.BUY, 60) < 200, "Expected a BUY before bar 200 in the shifted vector");
+        BacktestResult fromWarmUp = sequential.runBacktest(series, early.toStrategy(), chains);
+        assertTrue(earlyReference.tradeCount != fromWarmUp.tradeCount
+                       || earlyReference.totalNetProfit != fromWarmUp.totalNetProfit,
+                   "Signals before bar 200 were skipped");
+    }
+
+    @Test
+    public void testCandidatesRepricedAtSelectionBar() throws IOException {
+        BarSeries series = loadBarSeries();
+        double rate = GreeksEngine.DEFAULT_RATE;
+        int bar = 500;
+        DailyChainCursor cursor = new DailyChainCursor(series, date -> null);
+        int dayStart = cursor.dayStart(bar);
+        assertTrue(dayStart < bar && series.getBar(dayStart).getEndTime().toLocalDate()
+            .equals(series.getBar(bar).getEndTime().toLocalDate()));
+        assertTrue(dayStart == 0 || !series.getBar(dayStart - 1).getEndTime().toLocalDate()
+            .equals(series.getBar(dayStart).getEndTime().toLocalDate()));
+
+        // Quoted at 45% volatility against the first close of the day; the last contract has no price
+        double open = series.getBar(dayStart).getClosePrice().doubleValue();
+        List<OptionContract> contracts = new ArrayList<>();
+        for (int k = 0; k < 8; k++) {
+            double strike = Math.round(open * (0.9 + 0.03 * k));
+            double price = k == 7 ? 0 : BlackScholes.price(true, open, strike, 35 / GreeksEngine.DAYS_PER_YEAR, rate, 0.45);
+            contracts.add(new OptionContract("TSLA", "CALL", strike, LocalDate.of(2023, 2, 1), 0.5, 35, price, 0));
+        }
+        OptionChain chain = new OptionChain("TSLA", contracts);
+
+        ChainRepricer repricer = new ChainRepricer(series, cursor);
+        double spot = series.getBar(bar).getClosePrice().doubleValue();
+        double elapsedDays = (series.getBar(bar).getEndTime().toEpochSecond()
+            - series.getBar(dayStart).getEndTime().toEpochSecond()) / 86_400.0;
+        OptionChain repriced = repricer.repriceAt(chain, bar);
+        for (int k = 0; k < 7; k++) {
+            double expected = BlackScholes.delta(true, spot, chain.strike(k), (35 - elapsedDays) / GreeksEngine.DAYS_PER_YEAR, rate, 0.45);
+            assertEquals(expected, repriced.delta(k), 1e-6, "Delta of contract " + k);
+        }
+        assertEquals(0.5, repriced.delta(7));
+        assertEquals(chain.price(3), repriced.price(3));
+    }
+
     private void assertResultsEqual(BacktestResult r1, BacktestResult r2, String comparison) {
         logger.info("Comparing {}: {} vs {}", comparison, r1, r2);
         assertEquals(r1.totalNetProfit, r2.totalNetProfit, 0.0001, "Total Net Profit mismatch in " + comparison);
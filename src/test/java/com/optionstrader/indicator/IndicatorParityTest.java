@@ -0,0 +1,268 @@
+package com.optionstrader.indicator;
+
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.ingestion.ColumnarBarSeries;
+import com.optionstrader.ingestion.StandardMassiveDataLoader;
+import com.optionstrader.signal.StrategyParameters;
+import com.optionstrader.signal.VolatilityOptimizedStrategy;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Referee test for the incremental indicators against the ta4j indicators over the same
+ * {@code DoubleNum} series. Recursive indicators must match bit for bit; windowed sums must
+ * match to within rounding of the summation order.
+ */
+public class IndicatorParityTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndicatorParityTest.class);
+    private static final String[] GOLDEN_FILES = {
+        "golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"
+    };
+
+    @Test
+    public void testMatchesTa4jIndicators() {
+        for (String file : GOLDEN_FILES) {
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            BarColumns columns = ((ColumnarBarSeries) series).columns();
+            double[] closes = BarColumns.closePrices(series);
+            double[] highs = Arrays.copyOf(columns.highColumn(), columns.size());
+            double[] lows = Arrays.copyOf(columns.lowColumn(), columns.size());
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            logger.info("Comparing indicators over {} bars of {}", closes.length, series.getName());
+
+            assertExact(new RSIIndicator(closePrice, 14), new WilderRsi(14).apply(closes), "RSI(14) " + file);
+            assertExact(new EMAIndicator(closePrice, 20), new Ema(20).apply(closes), "EMA(20) " + file);
+            assertExact(new ATRIndicator(series, 14), new Atr(14).apply(highs, lows, closes), "ATR(14) " + file);
+            assertClose(new SMAIndicator(closePrice, 50), new Sma(50).apply(closes), 1e-12, "SMA(50) " + file);
+            assertClose(new SMAIndicator(closePrice, 200), new Sma(200).apply(closes), 1e-12, "SMA(200) " + file);
+            assertClose(new StandardDeviationIndicator(closePrice, 20), new RollingStdDev(20).apply(closes), 1e-9,
+                        "StdDev(20) " + file);
+        }
+    }
+
+    @Test
+    public void testIndicatorCacheSharesTa4jValues() {
+        IndicatorCache cache = new IndicatorCache();
+        for (String file : GOLDEN_FILES) {
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            IndicatorView sma50 = cache.sma(series, 50);
+            assertExact(new SMAIndicator(closePrice, 50), sma50.toArray(), "cached SMA(50) " + file);
+            assertExact(new SMAIndicator(closePrice, 200), cache.sma(series, 200).toArray(), "cached SMA(200) " + file);
+            assertExact(new RSIIndicator(closePrice, 14), cache.rsi(series, 14).toArray(), "cached RSI(14) " + file);
+            assertSame(sma50, cache.sma(series, 50), "Second lookup must share the view");
+
+            // Rules over cached views must decide exactly as the same rules over raw ta4j indicators
+            Strategy cached = VolatilityOptimizedStrategy.build(series, StrategyParameters.DEFAULT, cache);
+            Strategy fresh = ta4jStrategy(series, StrategyParameters.DEFAULT);
+            for (int i = 0; i < series.getBarCount(); i++) {
+                assertEquals(fresh.shouldEnter(i), cached.shouldEnter(i), "Entry at " + i + " of " + file);
+                assertEquals(fresh.shouldExit(i), cached.shouldExit(i), "Exit at " + i + " of " + file);
+            }
+
+            // A series that gains bars gets a fresh view
+            ColumnarBarSeries columnar = (ColumnarBarSeries) series;
+            BarColumns columns = columnar.columns();
+            int last = columns.size() - 1;
+            columns.add(columns.time(last) + 60_000, columns.open(last), columns.high(last), columns.low(last),
+                        columns.close(last) * 1.01, columns.volume(last));
+            IndicatorView grown = cache.sma(series, 50);
+            assertNotSame(sma50, grown);
+            assertEquals(series.getBarCount(), grown.size());
+        }
+        logger.info("Indicator cache: {}", cache);
+        assertEquals(GOLDEN_FILES.length * 4, cache.getMisses());
+        assertEquals(GOLDEN_FILES.length * 4, cache.getHits());
+    }
+
+    @Test
+    public void testIndicatorCacheTracksReplacedAndRemovedBars() {
+        IndicatorCache cache = new IndicatorCache();
+        BarSeries series = new BaseBarSeriesBuilder().withName("SYN").withNumTypeOf(DoubleNum.class).build();
+        ZonedDateTime first = ZonedDateTime.of(2024, 1, 2, 9, 31, 0, 0, BarColumns.DEFAULT_ZONE);
+        for (int i = 0; i < 30; i++) {
+            series.addBar(bar(first.plusMinutes(i), 100 + i));
+        }
+        IndicatorView original = cache.sma(series, 5);
+
+        // Replacing the last bar keeps the bar count but must not serve the old value
+        series.addBar(bar(first.plusMinutes(29), 500), true);
+        IndicatorView replaced = cache.sma(series, 5);
+        assertNotSame(original, replaced);
+        assertEquals(new SMAIndicator(new ClosePriceIndicator(series), 5).getValue(29).doubleValue(), replaced.get(29));
+
+        // At the maximum bar count the count stays put while the window moves
+        series.setMaximumBarCount(30);
+        series.addBar(bar(first.plusMinutes(30), 130));
+        assertEquals(30, series.getBarCount());
+        IndicatorView shifted = cache.sma(series, 5);
+        assertNotSame(replaced, shifted);
+        assertEquals(series.getBeginIndex(), shifted.getBeginIndex());
+        SMAIndicator reference = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals(reference.getValue(i).doubleValue(), shifted.get(i), "SMA(5) at " + i);
+        }
+        assertSame(shifted, cache.sma(series, 5));
+    }
+
+    private static BaseBar bar(ZonedDateTime endTime, double close) {
+        return new BaseBar(Duration.ofMinutes(1), endTime, close, close + 1, close - 1, close, 1000, 0, 0, DoubleNum::valueOf);
+    }
+
+    /**
+     * {@link VolatilityOptimizedStrategy}'s rules over plain ta4j indicators, with no cache involved.
+     */
+    private static Strategy ta4jStrategy(BarSeries series, StrategyParameters parameters) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator fastSma = new SMAIndicator(closePrice, parameters.fastPeriod());
+        SMAIndicator slowSma = new SMAIndicator(closePrice, parameters.slowPeriod());
+        RSIIndicator rsi = new RSIIndicator(closePrice, parameters.rsiPeriod());
+        Rule entryRule = new OverIndicatorRule(fastSma, slowSma).and(new UnderIndicatorRule(rsi, parameters.entryRsi()));
+        Rule exitRule = new UnderIndicatorRule(rsi, parameters.exitRsi()).negation()
+            .or(new OverIndicatorRule(fastSma, slowSma).negation());
+        return new BaseStrategy(entryRule, exitRule);
+    }
+
+    @Test
+    public void testRunningSumDoesNotDrift() {
+        // A long walk around a large level is the worst case for add/subtract running sums
+        int count = 2_000_000;
+        double[] values = new double[count];
+        double level = 10_000;
+        for (int i = 0; i < count; i++) {
+            level += Math.sin(i * 0.37) * 3.1 + (i % 7 == 0 ? 0.013 : -0.002);
+            values[i] = level;
+        }
+        double[] sma = new Sma(200).apply(values);
+        for (int i = count - 1_000; i < count; i++) {
+            double sum = 0;
+            for (int j = i - 199; j <= i; j++) {
+                sum += values[j];
+            }
+            assertEquals(sum / 200, sma[i], Math.ulp(sum / 200) * 4, "SMA drift at " + i);
+        }
+    }
+
+    @Test
+    public void testRingBufferOrder() {
+        RingBuffer ring = new RingBuffer(3);
+        assertEquals(Double.NaN, ring.push(1));
+        ring.push(2);
+        ring.push(3);
+        assertEquals(1.0, ring.push(4));
+        assertEquals(4.0, ring.get(0));
+        assertEquals(2.0, ring.get(2));
+    }
+
+    private static void assertExact(Indicator<Num> expected, double[] actual, String label) {
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(expected.getValue(i).doubleValue(), actual[i], label + " mismatch at bar " + i);
+        }
+    }
+
+    private static void assertClose(Indicator<Num> expected, double[] actual, double relativeTolerance, String label) {
+        double worst = 0;
+        for (int i = 0; i < actual.length; i++) {
+            double reference = expected.getValue(i).doubleValue();
+            double error = Math.abs(reference - actual[i]) / Math.max(1, Math.abs(reference));
+            worst = Math.max(worst, error);
+            assertEquals(reference, actual[i], relativeTolerance * Math.max(1, Math.abs(reference)),
+                         label + " mismatch at bar " + i);
+        }
+        logger.info("{}: worst relative error {}", label, worst);
+    }
+
+    @Test
+    public void testKernelsMatchScalar() {
+        IndicatorKernels scalar = IndicatorKernels.scalar();
+        IndicatorKernels kernels = IndicatorKernels.vector().orElse(scalar);
+        logger.info("Comparing {} kernels against scalar (selected by default: {})", kernels.name(), IndicatorKernels.get().name());
+
+        Random random = new Random(7);
+        for (int n : new int[] {0, 1, 2, 7, 64, 131, 10_007}) {
+            double[] opens = new double[n];
+            double[] closes = new double[n];
+            double price = 100;
+            for (int i = 0; i < n; i++) {
+                opens[i] = i % 11 == 0 ? price * 1.03 : price;
+                // Rounded to cents so that unchanged closes (zero gain and loss) occur
+                price = Math.round((price + random.nextGaussian() * 0.05) * 100) / 100.0;
+                closes[i] = price;
+            }
+            assertArrayEquals(run(scalar, opens, closes), run(kernels, opens, closes), "Kernel outputs differ for n=" + n);
+
+            double[] highS = new double[n + 1];
+            double[] lowS = new double[n + 1];
+            scalar.prefixSums(closes, highS, lowS);
+            for (int period : new int[] {1, 3, 50}) {
+                double[] expected = new double[n];
+                double[] actual = new double[n];
+                scalar.windowMeans(highS, lowS, period, expected);
+                kernels.windowMeans(highS, lowS, period, actual);
+                assertArrayEquals(expected, actual, "Window means differ for n=" + n + ", period=" + period);
+            }
+
+            for (int from : new int[] {0, 5, 61}) {
+                if (from > n) {
+                    continue;
+                }
+                double[] fast = new Sma(5).apply(closes);
+                double[] slow = new Sma(20).apply(closes);
+                double[] rsi = new WilderRsi(14).apply(closes);
+                long[][] expected = {IndicatorKernels.newMask(n), IndicatorKernels.newMask(n), IndicatorKernels.newMask(n)};
+                long[][] actual = {IndicatorKernels.newMask(n), IndicatorKernels.newMask(n), IndicatorKernels.newMask(n)};
+                scalar.trendMasks(fast, slow, rsi, 40, 60, from, n, expected[0], expected[1]);
+                kernels.trendMasks(fast, slow, rsi, 40, 60, from, n, actual[0], actual[1]);
+                scalar.greaterThanMask(closes, 100, from, n, expected[2]);
+                kernels.greaterThanMask(closes, 100, from, n, actual[2]);
+                for (int k = 0; k < 3; k++) {
+                    assertArrayEquals(expected[k], actual[k], "Mask " + k + " differs for n=" + n + ", from=" + from);
+                }
+            }
+        }
+    }
+
+    private static double[] run(IndicatorKernels kernels, double[] opens, double[] closes) {
+        int n = closes.length;
+        double[] out = new double[3 * n];
+        double[] gains = new double[n];
+        double[] losses = new double[n];
+        double[] ratios = new double[n];
+        kernels.gainsAndLosses(closes, gains, losses);
+        kernels.gapRatios(opens, closes, ratios);
+        System.arraycopy(gains, 0, out, 0, n);
+        System.arraycopy(losses, 0, out, n, n);
+        System.arraycopy(ratios, 0, out, 2 * n, n);
+        return out;
+    }
+}
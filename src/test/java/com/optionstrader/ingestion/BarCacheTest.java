@@ -0,0 +1,81 @@
+package com.optionstrader.ingestion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip and invalidation checks for the binary bar cache.
+ */
+public class BarCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BarCacheTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCacheRoundTripAndInvalidation() throws IOException {
+        Path source = tempDir.resolve("golden-pltr-intraday.json");
+        Files.copy(Paths.get("src/test/resources/golden-pltr-intraday.json"), source);
+        Path cacheDir = tempDir.resolve("cache");
+
+        CachingMassiveDataLoader loader = new CachingMassiveDataLoader(new StreamingMassiveDataLoader(), cacheDir);
+        Path cacheFile = loader.cacheFileFor(source);
+        assertFalse(BarCacheFile.isFresh(cacheFile, source, BarColumns.DEFAULT_ZONE));
+
+        BarSeries parsed = loader.loadData(source);
+        assertTrue(BarCacheFile.isFresh(cacheFile, source, BarColumns.DEFAULT_ZONE), "Cache should be written on first load");
+        logger.info("Cache file {} written: {} bytes for {} bars", cacheFile.getFileName(), Files.size(cacheFile), parsed.getBarCount());
+
+        BarSeries cached = loader.loadData(source);
+        assertEquals(parsed.getName(), cached.getName());
+        assertEquals(parsed.getBarCount(), cached.getBarCount());
+        for (int i = 0; i < parsed.getBarCount(); i++) {
+            assertEquals(parsed.getBar(i), cached.getBar(i), "Bar " + i + " mismatch between parsed and cached series");
+        }
+
+        // Touching the source must invalidate the cache
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60_000));
+        assertFalse(BarCacheFile.isFresh(cacheFile, source, BarColumns.DEFAULT_ZONE), "Cache should be stale after source changes");
+        loader.loadData(source);
+        assertTrue(BarCacheFile.isFresh(cacheFile, source, BarColumns.DEFAULT_ZONE), "Cache should be rebuilt after source changes");
+        logger.info("Bar cache round trip and invalidation verified");
+    }
+
+    @Test
+    public void testCacheIsBoundToSourcePathAndZone() throws IOException {
+        Path first = Files.createDirectories(tempDir.resolve("a")).resolve("bars.json");
+        Path second = Files.createDirectories(tempDir.resolve("b")).resolve("bars.json");
+        Files.copy(Paths.get("src/test/resources/golden-pltr-intraday.json"), first);
+        Files.copy(Paths.get("src/test/resources/golden-pltr-intraday.json"), second);
+        Files.setLastModifiedTime(second, Files.getLastModifiedTime(first));
+        Path cacheDir = tempDir.resolve("cache");
+
+        CachingMassiveDataLoader loader = new CachingMassiveDataLoader(new StreamingMassiveDataLoader(), cacheDir);
+        Path cacheFile = loader.cacheFileFor(first);
+        loader.loadData(first);
+        assertTrue(BarCacheFile.isFresh(cacheFile, first, BarColumns.DEFAULT_ZONE));
+        // Same name, size and timestamp: only the recorded path tells the two sources apart
+        assertFalse(BarCacheFile.isFresh(cacheFile, second, BarColumns.DEFAULT_ZONE));
+
+        ZoneId utc = ZoneId.of("UTC");
+        assertFalse(BarCacheFile.isFresh(cacheFile, first, utc));
+        BarSeries inUtc = new CachingMassiveDataLoader(new StreamingMassiveDataLoader(utc), cacheDir).loadData(first);
+        assertEquals(utc, inUtc.getBar(0).getEndTime().getZone());
+        assertTrue(BarCacheFile.isFresh(cacheFile, first, utc), "Cache should be rewritten for the new zone");
+    }
+}
@@ -0,0 +1,77 @@
+package com.optionstrader.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that concurrently ingested, per-day aggregate files merge back into the original series.
+ */
+public class BatchIngestionServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchIngestionServiceTest.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSplitFilesMergeToOriginal() throws IOException {
+        Path golden = Paths.get("src/test/resources/golden-tsla-intraday.json");
+        Map<String, Object> root = objectMapper.readValue(golden.toFile(), Map.class);
+        List<Object> results = (List<Object>) root.get("results");
+        int third = results.size() / 3;
+
+        // Three "day" files, written out of order, with the last two overlapping by ten bars
+        writeSlice(root, results.subList(2 * third - 10, results.size()), tempDir.resolve("day3/TSLA.json"));
+        writeSlice(root, results.subList(0, third), tempDir.resolve("day1/TSLA.json"));
+        writeSlice(root, results.subList(third, 2 * third), tempDir.resolve("day2/TSLA.json"));
+        Files.copy(Paths.get("src/test/resources/golden-pltr-intraday.json"), tempDir.resolve("day1/PLTR.json"));
+        Files.writeString(tempDir.resolve("manifest.txt"),
+                          "# nightly universe\nday1/TSLA.json\nday2/TSLA.json\n\nday3/TSLA.json\nday1/PLTR.json\n");
+
+        BarSeries expected = new StreamingMassiveDataLoader().loadData(golden);
+        BatchIngestionService service = new BatchIngestionService(new ByteLevelMassiveDataLoader(), 4);
+
+        BatchIngestionResult fromDirectory = service.ingestDirectory(tempDir);
+        BatchIngestionResult fromManifest = service.ingestManifest(tempDir.resolve("manifest.txt"));
+        for (BatchIngestionResult result : List.of(fromDirectory, fromManifest)) {
+            logger.info("Batch result: {} files, {} bars, {} bars/sec, tickers {}",
+                        result.fileCount(), result.barCount(), String.format("%.0f", result.barsPerSecond()),
+                        result.seriesByTicker().keySet());
+            assertTrue(result.failures().isEmpty(), "Unexpected failures: " + result.failures());
+            assertEquals(4, result.fileCount());
+            assertEquals(List.of("PLTR", "TSLA"), List.copyOf(result.seriesByTicker().keySet()));
+
+            BarSeries merged = result.seriesByTicker().get("TSLA");
+            assertEquals(expected.getBarCount(), merged.getBarCount(), "Merged bar count mismatch");
+            for (int i = 0; i < expected.getBarCount(); i++) {
+                assertEquals(expected.getBar(i), merged.getBar(i), "Merged bar " + i + " mismatch");
+            }
+        }
+    }
+
+    private void writeSlice(Map<String, Object> root, List<Object> slice, Path target) throws IOException {
+        Map<String, Object> copy = new LinkedHashMap<>(root);
+        copy.put("results", slice);
+        copy.put("resultsCount", slice.size());
+        Files.createDirectories(target.getParent());
+        objectMapper.writeValue(target.toFile(), copy);
+    }
+}
@@ -0,0 +1,103 @@
+package com.optionstrader.ingestion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.num.DecimalNum;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the columnar bar store against a reference {@code BaseBarSeries} built the legacy way
+ * from the same golden JSON.
+ */
+public class ColumnarBarSeriesTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarBarSeriesTest.class);
+
+    @Test
+    public void testColumnarMatchesBaseBarSeries() throws IOException {
+        String json = Files.readString(Paths.get("src/test/resources/golden-nvda-intraday.json"));
+        BarSeries columnar = new StreamingMassiveDataLoader().loadData(json);
+        logger.info("Columnar series {} loaded with {} bars", columnar.getName(), columnar.getBarCount());
+
+        // Reference built straight from the JSON tree, independent of any loader or BarColumns
+        BarSeries reference = new BaseBarSeries();
+        for (JsonNode result : new ObjectMapper().readTree(json).get("results")) {
+            reference.addBar(new BaseBar(
+                Duration.ofMinutes(1),
+                Instant.ofEpochMilli(result.get("t").asLong()).atZone(ZoneId.of("America/New_York")),
+                DecimalNum.valueOf(result.get("o").asText()),
+                DecimalNum.valueOf(result.get("h").asText()),
+                DecimalNum.valueOf(result.get("l").asText()),
+                DecimalNum.valueOf(result.get("c").asText()),
+                DecimalNum.valueOf(result.get("v").asText()),
+                DecimalNum.valueOf(0)
+            ));
+        }
+
+        assertEquals("NVDA", columnar.getName());
+        assertTrue(reference.getBarCount() > 0);
+        assertEquals(reference.getBarCount(), columnar.getBarCount());
+        assertEquals(reference.getEndIndex(), columnar.getEndIndex());
+        for (int i = 0; i < reference.getBarCount(); i++) {
+            Bar expected = reference.getBar(i);
+            Bar actual = columnar.getBar(i);
+            assertEquals(expected.getEndTime(), actual.getEndTime(), "End time mismatch at bar " + i);
+            assertEquals(expected.getBeginTime(), actual.getBeginTime(), "Begin time mismatch at bar " + i);
+            assertEquals(expected.getOpenPrice().doubleValue(), actual.getOpenPrice().doubleValue(), "Open mismatch at bar " + i);
+            assertEquals(expected.getHighPrice().doubleValue(), actual.getHighPrice().doubleValue(), "High mismatch at bar " + i);
+            assertEquals(expected.getLowPrice().doubleValue(), actual.getLowPrice().doubleValue(), "Low mismatch at bar " + i);
+            assertEquals(expected.getClosePrice().doubleValue(), actual.getClosePrice().doubleValue(), "Close mismatch at bar " + i);
+            assertEquals(expected.getVolume().doubleValue(), actual.getVolume().doubleValue(), "Volume mismatch at bar " + i);
+        }
+
+        BarSeries sub = columnar.getSubSeries(10, 20);
+        assertEquals(10, sub.getBarCount());
+        assertEquals(columnar.getBar(10), sub.getBar(0));
+        logger.info("Columnar series matches BaseBarSeries reference for all {} bars", reference.getBarCount());
+    }
+
+    @Test
+    public void testTradingDateIndexUsesExchangeZone() throws IOException {
+        String json = Files.readString(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+        BarColumns exchange = ((ColumnarBarSeries) new StreamingMassiveDataLoader().loadData(json)).columns();
+        BarColumns utc = ((ColumnarBarSeries) new StreamingMassiveDataLoader(ZoneOffset.UTC).loadData(json)).columns();
+        assertEquals(BarColumns.DEFAULT_ZONE, exchange.getZone());
+
+        int differing = 0;
+        for (int i = 0; i < exchange.size(); i++) {
+            LocalDate expected = Instant.ofEpochMilli(exchange.time(i)).atZone(BarColumns.DEFAULT_ZONE).toLocalDate();
+            assertEquals(expected, exchange.tradingDate(i), "Trading date mismatch at bar " + i);
+            assertEquals(expected, exchange.asBarSeries().getBar(i).getEndTime().toLocalDate());
+            if (exchange.epochDay(i) != utc.epochDay(i)) {
+                differing++;
+            }
+        }
+        // Evening extended-hours bars fall on the next UTC day but belong to the New York session
+        logger.info("{} of {} bars have a different trading date in UTC than in {}",
+                    differing, exchange.size(), BarColumns.DEFAULT_ZONE);
+        assertTrue(differing > 0, "Expected bars after 19:00 New York time in the fixture");
+
+        BarColumns copy = exchange.copyOfRange(5, 50);
+        for (int i = 0; i < copy.size(); i++) {
+            assertEquals(exchange.epochDay(i + 5), copy.epochDay(i));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.optionstrader.ingestion;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline stand-in for the Massive aggregates endpoint. {@code GET /v2/aggs/<file>} serves an
+ * aggregate JSON file from a directory (by default {@code src/test/resources}) split into pages of
+ * {@code pageSize} bars, with {@code next_url} cursors pointing back at this server. Failures can
+ * be injected to exercise retries.
+ */
+public class LocalMassiveServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMassiveServer.class);
+
+    private final Path root;
+    private final int pageSize;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> documents = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private volatile int failureStatus = 503;
+    private volatile long latencyMs;
+
+    public LocalMassiveServer(Path root, int pageSize) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.pageSize = pageSize;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/v2/aggs/", this::handle);
+        this.executor = Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "local-massive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * URL of the first page of {@code fileName}.
+     */
+    public String urlFor(String fileName) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/v2/aggs/" + fileName;
+    }
+
+    /**
+     * Answers the next {@code count} requests with {@code status} instead of a page.
+     */
+    public void failNext(int count, int status) {
+        this.failureStatus = status;
+        this.failuresToInject.set(count);
+    }
+
+    /**
+     * Delays every response, to make pipelining visible.
+     */
+    public void setLatencyMillis(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                send(exchange, failureStatus, ("{\"status\":\"ERROR\",\"error\":\"injected\"}").getBytes());
+                return;
+            }
+            String fileName = exchange.getRequestURI().getPath().substring("/v2/aggs/".length());
+            Path file = root.resolve(fileName).normalize();
+            if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+                send(exchange, 404, "{\"status\":\"NOT_FOUND\"}".getBytes());
+                return;
+            }
+            send(exchange, 200, objectMapper.writeValueAsBytes(page(fileName, file, cursor(exchange))));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> page(String fileName, Path file, int offset) {
+        Map<String, Object> document = documents.computeIfAbsent(fileName, name -> {
+            try {
+                return objectMapper.readValue(file.toFile(), new TypeReference<Map<String, Object>>() {});
+            } catch (IOException e) {
+                throw new RuntimeException("Error in stand-in parsing of " + file, e);
+            }
+        });
+        List<?> results = (List<?>) document.get("results");
+        int end = Math.min(results.size(), offset + pageSize);
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("ticker", document.get("ticker"));
+        page.put("queryCount", end - offset);
+        page.put("resultsCount", end - offset);
+        page.put("adjusted", document.getOrDefault("adjusted", true));
+        page.put("results", results.subList(offset, end));
+        page.put("status", "OK");
+        page.put("request_id", "local-" + requests.get());
+        if (end < results.size()) {
+            page.put("next_url", urlFor(fileName) + "?cursor=" + end);
+        }
+        return page;
+    }
+
+    private static int cursor(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("cursor=")) {
+                    return Integer.parseInt(parameter.substring("cursor=".length()));
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the stand-in on its own: {@code LocalMassiveServer [directory] [pageSize]}.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "src/test/resources").toAbsolutePath().normalize();
+        int pageSize = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        LocalMassiveServer standIn = new LocalMassiveServer(directory, pageSize);
+        logger.info("Serving {} at {}", directory, standIn.urlFor("<file>.json"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.options.OptionChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the lazy chain provider returns the same chains as an eager range load and that
+ * its LRU, prefetch and absent-date bookkeeping behave as documented.
+ */
+public class LruChainProviderTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LruChainProviderTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testLazyLoadingMatchesEagerLoad() throws IOException {
+        LocalDate from = LocalDate.of(2025, 12, 22);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek().getValue() <= 5 && date.getDayOfMonth() != 25) {
+                Files.copy(Paths.get("src/test/resources/sample-tsla-chain.json"), tempDir.resolve(date + ".json"));
+            }
+        }
+        ContractFilter filter = ContractFilter.dteBetween(20, 60);
+        Map<LocalDate, OptionChain> eager = new StreamingOptionChainLoader().loadRange(tempDir, from, to, filter);
+
+        try (LruChainProvider provider = new LruChainProvider(tempDir, filter, 3, 2)) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                // Simulate many bars per session
+                if (!eager.containsKey(date)) {
+                    assertNull(provider.chainFor(date), "No chain expected for " + date);
+                    continue;
+                }
+                for (int bar = 0; bar < 10; bar++) {
+                    assertEquals(eager.get(date), provider.chainFor(date), "Chain mismatch for " + date);
+                }
+            }
+            logger.info("Provider stats after forward walk: {}", provider);
+
+            assertEquals(eager.size(), provider.getLoadCount(), "Each snapshot should be parsed exactly once");
+            assertEquals(1, provider.getMisses(), "Only the first date should load synchronously");
+            assertEquals(eager.size() - 1, provider.getPrefetchHits(), "Every later chain should come from prefetch");
+            // Absent dates neither load nor take LRU slots
+            assertEquals(eager.size() - 3, provider.getEvictions());
+
+            // The start of the range has been evicted and must be reloaded
+            provider.chainFor(from);
+            assertEquals(2, provider.getMisses());
+            logger.info("Provider stats after revisiting evicted date: {}", provider);
+        }
+    }
+
+    @Test
+    public void testFailedPrefetchCanBeRetried() throws IOException {
+        LocalDate first = LocalDate.of(2025, 12, 22);
+        LocalDate broken = first.plusDays(1);
+        Files.copy(Paths.get("src/test/resources/sample-tsla-chain.json"), tempDir.resolve(first + ".json"));
+        Files.writeString(tempDir.resolve(broken + ".json"), "{\"results\": [");
+
+        try (LruChainProvider provider = new LruChainProvider(tempDir, ContractFilter.all(), 3, 1)) {
+            provider.chainFor(first);
+            RuntimeException failure = assertThrows(RuntimeException.class, () -> provider.chainFor(broken));
+            assertFalse(failure instanceof CompletionException, "Prefetch failures must be unwrapped");
+
+            Files.copy(Paths.get("src/test/resources/sample-tsla-chain.json"), tempDir.resolve(broken + ".json"),
+                       StandardCopyOption.REPLACE_EXISTING);
+            assertEquals(provider.chainFor(first).size(), provider.chainFor(broken).size());
+            logger.info("Provider stats after retrying a failed prefetch: {}", provider);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.optionstrader.ingestion;
+
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Referee test for option chain snapshot parsing: map-based and token-level loaders must agree,
+ * and parse-time filters must match filtering the full chain afterwards.
+ */
+public class OptionChainLoaderTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptionChainLoaderTest.class);
+    private static final Path CHAIN = Paths.get("src/test/resources/sample-tsla-chain.json");
+    private static final LocalDate SNAPSHOT_DATE = LocalDate.of(2025, 12, 22);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testChainParity() throws IOException {
+        String json = Files.readString(CHAIN);
+        OptionChain reference = new StandardMassiveDataLoader().loadOptionChain(json);
+        logger.info("Standard loader parsed {} contracts for {}", reference.contracts().size(), reference.underlying());
+
+        MassiveDataLoader[] loaders = {
+            new RecordBasedMassiveDataLoader(), new StreamingMassiveDataLoader(), new ByteLevelMassiveDataLoader()
+        };
+        for (MassiveDataLoader loader : loaders) {
+            OptionChain chain = loader.loadOptionChain(json);
+            logger.info("{} parsed {} contracts", loader.getClass().getSimpleName(), chain.contracts().size());
+            assertEquals(reference, chain, "Chain mismatch for " + loader.getClass().getSimpleName());
+            assertEquals(reference, loader.loadOptionChain(json, SNAPSHOT_DATE),
+                         "As-of mismatch for " + loader.getClass().getSimpleName());
+        }
+        // DTE comes from the snapshot's own timestamps, not the current date
+        assertEquals(new StreamingOptionChainLoader().load(CHAIN, SNAPSHOT_DATE, ContractFilter.all()), reference);
+        assertEquals(25, reference.contract(0).dte());
+    }
+
+    @Test
+    public void testNonCallPutTypesAreNotPuts() {
+        String json = "{\"results\":["
+            + contractJson("call", 0.4) + "," + contractJson("Put", -0.4) + "," + contractJson("other", -0.3)
+            + "]}";
+        OptionChain reference = new StandardMassiveDataLoader().loadOptionChain(json, SNAPSHOT_DATE);
+        OptionChain chain = new StreamingOptionChainLoader().load(json, SNAPSHOT_DATE, ContractFilter.all());
+
+        assertEquals(reference, chain);
+        assertEquals(List.of("CALL", "PUT", "OTHER"), List.of(chain.type(0), chain.type(1), chain.type(2)));
+        assertEquals(1, new StreamingOptionChainLoader()
+            .load(json, SNAPSHOT_DATE, ContractFilter.putsOnly()).size());
+    }
+
+    private static String contractJson(String type, double delta) {
+        return "{\"details\":{\"contract_type\":\"" + type + "\",\"expiration_date\":\"2026-01-30\","
+            + "\"strike_price\":450},\"greeks\":{\"delta\":" + delta + ",\"theta\":-0.2},"
+            + "\"last_quote\":{\"midpoint\":12.5},\"underlying_asset\":{\"ticker\":\"TSLA\"}}";
+    }
+
+    @Test
+    public void testParseTimeFilter() {
+        StreamingOptionChainLoader loader = new StreamingOptionChainLoader();
+        OptionChain full = loader.load(CHAIN, SNAPSHOT_DATE, ContractFilter.all());
+        OptionChain filtered = loader.load(CHAIN, SNAPSHOT_DATE, ContractFilter.callsOnly().and(ContractFilter.dteBetween(20, 60)));
+
+        List<OptionContract> expected = full.contracts().stream()
+            .filter(c -> "CALL".equals(c.type()) && c.dte() >= 20 && c.dte() <= 60)
+            .toList();
+        logger.info("Full chain {} contracts, filtered {} contracts", full.contracts().size(), filtered.contracts().size());
+        assertEquals(40, full.contracts().size());
+        assertEquals(expected, filtered.contracts());
+        assertEquals("TSLA", filtered.underlying());
+
+        OptionContract first = full.contracts().get(0);
+        assertEquals(LocalDate.of(2026, 1, 16), first.expiration());
+        assertEquals(25, first.dte());
+        // Contract without last_quote falls back to the day close
+        assertEquals(9.13, full.contracts().get(3).price(), 1e-9);
+    }
+
+    @Test
+    public void testDateRangeLoad() throws IOException {
+        Files.copy(CHAIN, tempDir.resolve("2025-12-22.json"));
+        Files.copy(CHAIN, tempDir.resolve("2025-12-24.json"));
+
+        Map<LocalDate, OptionChain> chains = new StreamingOptionChainLoader()
+            .loadRange(tempDir, LocalDate.of(2025, 12, 21), LocalDate.of(2025, 12, 25), ContractFilter.dteBetween(30, 45));
+        logger.info("Loaded chains for dates {}", chains.keySet());
+
+        assertEquals(List.of(LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 24)), List.copyOf(chains.keySet()));
+        // DTE is relative to each snapshot's own date
+        assertTrue(chains.get(LocalDate.of(2025, 12, 22)).contracts().stream().allMatch(c -> c.dte() == 39));
+        assertTrue(chains.get(LocalDate.of(2025, 12, 24)).contracts().stream().allMatch(c -> c.dte() == 37));
+        assertEquals(10, chains.get(LocalDate.of(2025, 12, 24)).contracts().size());
+    }
+}
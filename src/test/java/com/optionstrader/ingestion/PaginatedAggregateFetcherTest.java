@@ -0,0 +1,86 @@
+package com.optionstrader.ingestion;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies paginated fetching against the local stand-in server: pages stitched back together
+ * must equal the original file parsed in one piece.
+ */
+public class PaginatedAggregateFetcherTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaginatedAggregateFetcherTest.class);
+    private static final int PAGE_SIZE = 500;
+
+    private LocalMassiveServer server;
+    private PaginatedAggregateFetcher fetcher;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new LocalMassiveServer(Paths.get("src/test/resources"), PAGE_SIZE);
+        fetcher = new PaginatedAggregateFetcher(HttpClient.newHttpClient(), null, BarColumns.DEFAULT_ZONE, 3,
+                                                Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testPagesMergeToOriginal() {
+        for (String file : new String[] {"golden-tsla-intraday.json", "golden-pltr-intraday.json"}) {
+            BarSeries expected = new StreamingMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            int requestsBefore = server.requestCount();
+            BarSeries fetched = fetcher.fetch(server.urlFor(file));
+            int requests = server.requestCount() - requestsBefore;
+            logger.info("Fetched {} bars of {} in {} requests", fetched.getBarCount(), fetched.getName(), requests);
+
+            assertEquals(expected.getName(), fetched.getName());
+            assertEquals((expected.getBarCount() + PAGE_SIZE - 1) / PAGE_SIZE, requests);
+            assertEquals(expected.getBarCount(), fetched.getBarCount());
+            for (int i = 0; i < expected.getBarCount(); i++) {
+                assertEquals(expected.getBar(i), fetched.getBar(i), "Bar mismatch at " + i + " of " + file);
+            }
+        }
+    }
+
+    @Test
+    public void testRetriesTransientFailures() {
+        server.failNext(2, 503);
+        BarSeries fetched = fetcher.fetch(server.urlFor("golden-nvda-intraday.json"));
+        BarSeries expected = new StreamingMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-nvda-intraday.json"));
+        assertEquals(expected.getBarCount(), fetched.getBarCount());
+        assertEquals(2, fetcher.getRetryCount());
+        logger.info("Recovered after {} retries", fetcher.getRetryCount());
+
+        server.failNext(3, 429);
+        assertThrows(RuntimeException.class, () -> fetcher.fetch(server.urlFor("golden-nvda-intraday.json")));
+        assertThrows(RuntimeException.class, () -> fetcher.fetch(server.urlFor("missing.json")));
+        assertEquals(4, fetcher.getRetryCount(), "404 must not be retried");
+    }
+
+    @Test
+    public void testFindNextUrl() {
+        assertEquals("https://api.massive.com/v2/aggs?cursor=a/b",
+                     PaginatedAggregateFetcher.findNextUrl(
+                         "{\"results\":[],\"next_url\" : \"https:\\/\\/api.massive.com\\/v2\\/aggs?cursor=a/b\"}"
+                             .getBytes(StandardCharsets.UTF_8)));
+        assertNull(PaginatedAggregateFetcher.findNextUrl("{\"next_url\":null}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(PaginatedAggregateFetcher.findNextUrl("{\"results\":[]}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -7,10 +7,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Referee Test to ensure 1:1 data parity across the three MassiveDataLoader implementations.
@@ -89,4 +92,87 @@ public class RefereeTest {
 
         logger.info("Tri-Implementation Referee test passed: All loaders produced identical BarSeries");
     }
+
+    @Test
+    public void testPathAndStreamParity() throws IOException {
+        logger.info("Starting Path/InputStream parity test with golden-tsla-intraday.json");
+        Path path = Paths.get("src/test/resources/golden-tsla-intraday.json");
+        BarSeries reference = new StandardMassiveDataLoader().loadData(Files.readString(path));
+        logger.info("Reference series (String input) created with {} bars", reference.getBarCount());
+
+        MassiveDataLoader[] loaders = {
+            new StandardMassiveDataLoader(), new StreamingMassiveDataLoader(), new RecordBasedMassiveDataLoader(),
+            new ByteLevelMassiveDataLoader()
+        };
+        for (MassiveDataLoader loader : loaders) {
+            String name = loader.getClass().getSimpleName();
+            BarSeries fromPath = loader.loadData(path);
+            BarSeries fromStream;
+            try (InputStream in = Files.newInputStream(path)) {
+                fromStream = loader.loadData(in);
+            }
+            logger.info("{}: Path input {} bars, InputStream input {} bars", name, fromPath.getBarCount(), fromStream.getBarCount());
+            assertEquals(reference.getBarCount(), fromPath.getBarCount(), "Bar count mismatch for " + name + " Path input");
+            assertEquals(reference.getBarCount(), fromStream.getBarCount(), "Bar count mismatch for " + name + " InputStream input");
+            for (int i = 0; i < reference.getBarCount(); i++) {
+                assertEquals(reference.getBar(i), fromPath.getBar(i), "Bar " + i + " mismatch for " + name + " Path input");
+                assertEquals(reference.getBar(i), fromStream.getBar(i), "Bar " + i + " mismatch for " + name + " InputStream input");
+            }
+        }
+        logger.info("Path/InputStream parity test passed for all loaders");
+    }
+
+    @Test
+    public void testByteLevelParity() throws IOException {
+        String[] goldenFiles = {"golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"};
+        MassiveDataLoader streamingLoader = new StreamingMassiveDataLoader();
+        MassiveDataLoader byteLoader = new ByteLevelMassiveDataLoader();
+        for (String file : goldenFiles) {
+            logger.info("Starting byte-level Referee test with {}", file);
+            Path path = Paths.get("src/test/resources", file);
+            BarSeries streamingSeries = streamingLoader.loadData(path);
+            BarSeries byteSeries = byteLoader.loadData(path);
+            logger.info("Streaming bar count: {}, Byte-level bar count: {}", streamingSeries.getBarCount(), byteSeries.getBarCount());
+            assertEquals(streamingSeries.getName(), byteSeries.getName(), "Ticker mismatch for " + file);
+            assertEquals(streamingSeries.getBarCount(), byteSeries.getBarCount(), "Bar count mismatch for " + file);
+            for (int i = 0; i < streamingSeries.getBarCount(); i++) {
+                assertEquals(streamingSeries.getBar(i), byteSeries.getBar(i), "Bar " + i + " mismatch between Streaming and Byte-level for " + file);
+            }
+        }
+        logger.info("Byte-level Referee test passed: Byte-level loader matches Streaming loader on all golden files");
+    }
+
+    @Test
+    public void testByteLevelNumberEdgeCases() {
+        String json = "{\"status\":\"OK\",\"ticker\":\"T\\u0045ST\",\"meta\":{\"nested\":[1,{\"a\":\"x}\"}]},\"results\":["
+            + "{\"v\":4.116878e+06,\"vw\":1.5,\"o\":-0.0001,\"c\":12345678901234567890.5,\"h\":1E-30,\"l\":0,\"t\":1766394000000,\"n\":474},"
+            + " { \"t\" : 1766394060000 , \"o\" : 487.8 , \"h\" : 488.31, \"l\": 487.8, \"c\": 488, \"v\": 7822 }"
+            + "],\"next_url\":null}";
+        BarSeries reference = new StreamingMassiveDataLoader().loadData(json);
+        BarSeries byteSeries = new ByteLevelMassiveDataLoader().loadData(json);
+        assertEquals("TEST", byteSeries.getName());
+        assertEquals(reference.getBarCount(), byteSeries.getBarCount());
+        for (int i = 0; i < reference.getBarCount(); i++) {
+            logger.info("Edge case bar {}: Streaming={}, Byte-level={}", i, reference.getBar(i), byteSeries.getBar(i));
+            assertEquals(reference.getBar(i), byteSeries.getBar(i), "Edge case bar " + i + " mismatch");
+        }
+    }
+
+    @Test
+    public void testMissingOrNullPricesAreRejected() {
+        String[] bars = {
+            "{\"t\":1766394000000,\"o\":1,\"h\":2,\"l\":0.5,\"c\":null,\"v\":10}",
+            "{\"t\":1766394000000,\"o\":1,\"h\":2,\"l\":0.5,\"v\":10}",
+            "{\"o\":1,\"h\":2,\"l\":0.5,\"c\":1.5,\"v\":10}"
+        };
+        MassiveDataLoader[] loaders = {new StandardMassiveDataLoader(), new StreamingMassiveDataLoader(),
+                                       new RecordBasedMassiveDataLoader(), new ByteLevelMassiveDataLoader()};
+        for (String bar : bars) {
+            String json = "{\"ticker\":\"TEST\",\"results\":[" + bar + "]}";
+            for (MassiveDataLoader loader : loaders) {
+                assertThrows(RuntimeException.class, () -> loader.loadData(json),
+                             loader.getClass().getSimpleName() + " accepted " + bar);
+            }
+        }
+    }
 }
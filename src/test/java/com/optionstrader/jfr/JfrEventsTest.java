@@ -0,0 +1,97 @@
+package com.optionstrader.jfr;
+
+import com.optionstrader.backtest.BacktestResult;
+import com.optionstrader.backtest.SequentialOptionBacktester;
+import com.optionstrader.ingestion.StreamingMassiveDataLoader;
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.VolatilityOptimizedStrategy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records one load, signal and backtest pass and checks that our own events land in the
+ * {@code .jfr} file with the values the pipeline reports.
+ */
+public class JfrEventsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrEventsTest.class);
+
+    @Test
+    public void testPipelineEventsAreRecorded(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("pipeline.jfr");
+        BarSeries series;
+        List<Signal> signals;
+        BacktestResult result;
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("FileParse", "SignalGeneration", "ChainSelection", "Trade")) {
+                recording.enable("com.optionstrader." + name).withoutThreshold();
+            }
+            recording.start();
+            Path json = Paths.get("src/test/resources/golden-tsla-intraday.json");
+            series = new StreamingMassiveDataLoader().loadData(json);
+            signals = new ManualSignalEngine().generateSignals(series);
+            OptionContract call = new OptionContract("TSLA", "CALL", 200.0, LocalDate.of(2023, 2, 1), 0.30, 35, 5.0, 0.01);
+            OptionChain chain = new OptionChain("TSLA", List.of(call));
+            result = new SequentialOptionBacktester().runBacktest(series, VolatilityOptimizedStrategy.build(series), date -> chain);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        logger.info("Recorded {} events, {} bytes", events.size(), Files.size(file));
+
+        List<RecordedEvent> parses = named(events, "com.optionstrader.FileParse");
+        assertEquals(1, parses.size());
+        assertEquals("streaming", parses.get(0).getString("loader"));
+        assertEquals(series.getBarCount(), parses.get(0).getInt("bars"));
+        assertEquals(Files.size(Paths.get("src/test/resources/golden-tsla-intraday.json")), parses.get(0).getLong("bytes"));
+
+        List<RecordedEvent> generations = named(events, "com.optionstrader.SignalGeneration");
+        assertEquals(1, generations.size());
+        RecordedEvent generation = generations.get(0);
+        assertEquals("manual", generation.getString("engine"));
+        assertEquals(series.getBarCount(), generation.getLong("bars"));
+        assertEquals(signals.size(), generation.getLong("signals"));
+        assertEquals(signals.stream().filter(s -> s == Signal.BUY).count(), generation.getLong("buySignals"));
+        assertEquals(signals.stream().filter(s -> s == Signal.SELL).count(), generation.getLong("sellSignals"));
+
+        List<RecordedEvent> selections = named(events, "com.optionstrader.ChainSelection");
+        assertTrue(!selections.isEmpty(), "Expected chain selection events");
+        assertEquals(200.0, selections.get(0).getDouble("strike"));
+        assertEquals(35, selections.get(0).getInt("dte"));
+
+        List<RecordedEvent> trades = named(events, "com.optionstrader.Trade");
+        long opens = trades.stream().filter(e -> TradeEvent.OPEN.equals(e.getString("action"))).count();
+        long closes = trades.stream().filter(e -> TradeEvent.CLOSE.equals(e.getString("action"))).count();
+        logger.info("{} selections, {} opens, {} closes, {} trades", selections.size(), opens, closes, result.tradeCount);
+        assertTrue(result.tradeCount > 0);
+        assertEquals(result.tradeCount, closes);
+        assertEquals(result.tradeCount, opens);
+        double recordedPnl = trades.stream().filter(e -> TradeEvent.CLOSE.equals(e.getString("action")))
+            .mapToDouble(e -> e.getDouble("pnl")).sum();
+        assertEquals(result.totalNetProfit, recordedPnl, 1e-9);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,145 @@
+package com.optionstrader.metrics;
+
+import com.optionstrader.backtest.SequentialOptionBacktester;
+import com.optionstrader.ingestion.StreamingMassiveDataLoader;
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import com.optionstrader.options.SignalTranslator;
+import com.optionstrader.signal.IncrementalSignalEngine;
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.Ta4jSignalEngine;
+import com.optionstrader.signal.VolatilityOptimizedStrategy;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the metrics surface: histogram accuracy, the disabled fast path, and the stage
+ * metrics recorded by one load, signal, translate and backtest pass.
+ */
+public class MetricsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsTest.class);
+
+    @Test
+    public void testHistogramPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal-ish latencies from tens of nanoseconds to tens of milliseconds
+            values[i] = (long) Math.exp(3 + random.nextDouble() * 14);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] {50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.valueAtPercentile(percentile);
+            logger.info("p{}: exact {} ns, reported {} ns", percentile, exact, reported);
+            assertTrue(reported >= exact, "Reported value must bound the exact one at p" + percentile);
+            assertTrue(reported <= exact + exact / LatencyHistogram.SUB_BUCKETS + 1, "p" + percentile + " outside bucket precision");
+        }
+        assertEquals(values.length, histogram.count());
+        assertEquals(values[0], histogram.min());
+        assertEquals(values[values.length - 1], histogram.max());
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testDisabledRegistryRecordsNothing() {
+        MetricsRegistry registry = new MetricsRegistry(false);
+        Timer timer = registry.timer("stage");
+        Counter counter = registry.counter("items");
+        long start = timer.start();
+        counter.add(5);
+        timer.stop(start);
+        assertEquals(Timer.DISABLED, start);
+        assertEquals(0, timer.count());
+        assertEquals(0, counter.count());
+
+        registry.setEnabled(true);
+        start = timer.start();
+        counter.add(5);
+        timer.stop(start);
+        assertEquals(1, timer.count());
+        assertEquals(5, counter.count());
+
+        // A clock reading of 0 is a real start time, not the disabled sentinel
+        timer.stop(0L);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void testPipelineStagesAreRecorded() {
+        MetricsRegistry registry = Metrics.registry();
+        registry.reset();
+        registry.setEnabled(true);
+        try {
+            BarSeries series = new StreamingMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+            List<Signal> signals = new ManualSignalEngine().generateSignals(series);
+            OptionContract call = new OptionContract("TSLA", "CALL", 200.0, LocalDate.of(2023, 2, 1), 0.30, 35, 5.0, 0.01);
+            OptionChain chain = new OptionChain("TSLA", List.of(call));
+            int decisions = new SignalTranslator().translateSignals(signals, chain).size();
+            new SequentialOptionBacktester().runBacktest(series, VolatilityOptimizedStrategy.build(series), date -> chain);
+
+            assertEquals(series.getBarCount(), registry.counter("loader.streaming.bars").count());
+            assertEquals(1, registry.timer("loader.streaming.parse").count());
+            assertEquals(series.getBarCount(), registry.counter("signal.manual.bars").count());
+            assertEquals(1, registry.timer("signal.manual.generate").count());
+            assertEquals(decisions, registry.counter("translator.decisions").count());
+            assertEquals(1, registry.timer("backtest.sequential.run").count());
+            assertTrue(registry.counter("backtest.sequential.trades").count() > 0);
+
+            // A batch replay is counted as generated bars, not as streamed ones
+            new IncrementalSignalEngine().generateSignals(series);
+            assertEquals(series.getBarCount(), registry.counter("signal.incremental.bars").count());
+            assertEquals(0, registry.counter("signal.incremental.onbar").count());
+
+            String json = registry.toJson();
+            String prometheus = registry.toPrometheus();
+            logger.info("Metrics JSON:\n{}", json);
+            logger.info("Metrics Prometheus text:\n{}", prometheus);
+            assertTrue(json.contains("\"loader.streaming.bars\": " + series.getBarCount()));
+            assertTrue(json.contains("\"signal.manual.generate\": {\"count\": 1"));
+            assertTrue(prometheus.contains("# TYPE optionstrader_loader_streaming_bars_total counter\n"
+                                           + "optionstrader_loader_streaming_bars_total " + series.getBarCount() + "\n"));
+            assertTrue(prometheus.contains("optionstrader_backtest_sequential_run_seconds{quantile=\"0.99\"} "));
+            assertTrue(prometheus.contains("optionstrader_backtest_sequential_run_seconds_count 1"));
+        } finally {
+            registry.setEnabled(false);
+            registry.reset();
+        }
+    }
+
+    @Test
+    public void testShortSeriesGenerationsAreRecorded() {
+        MetricsRegistry registry = Metrics.registry();
+        registry.reset();
+        registry.setEnabled(true);
+        try {
+            BarSeries series = new StreamingMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"))
+                .getSubSeries(0, 100);
+            assertTrue(new ManualSignalEngine().generateSignals(series).isEmpty());
+            assertTrue(new Ta4jSignalEngine().generateSignals(series).isEmpty());
+            assertTrue(new IncrementalSignalEngine().generateSignals(series).isEmpty());
+            for (String engine : List.of("manual", "ta4j", "incremental")) {
+                assertEquals(1, registry.timer("signal." + engine + ".generate").count(), engine);
+                assertEquals(100, registry.counter("signal." + engine + ".bars").count(), engine);
+            }
+        } finally {
+            registry.setEnabled(false);
+            registry.reset();
+        }
+    }
+}
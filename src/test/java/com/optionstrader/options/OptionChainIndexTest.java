@@ -0,0 +1,100 @@
+package com.optionstrader.options;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the columnar {@link OptionChain} and its {@link OptionChainIndex}. Every index query
+ * must pick the same chain position as the stream scan it replaces, ties and NaN deltas included.
+ */
+public class OptionChainIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptionChainIndexTest.class);
+
+    @Test
+    public void testIndexMatchesStreamSelection() {
+        Random random = new Random(7);
+        LocalDate asOf = LocalDate.of(2025, 1, 2);
+        int queries = 0;
+        int empty = 0;
+        for (int round = 0; round < 200; round++) {
+            List<OptionContract> contracts = new ArrayList<>();
+            int size = random.nextInt(120);
+            for (int i = 0; i < size; i++) {
+                String type = random.nextBoolean() ? "CALL" : "PUT";
+                int dte = 20 + random.nextInt(35);
+                // Coarse deltas so equal distances (and exact duplicates) are common
+                double delta = random.nextInt(21) * 0.05 * ("CALL".equals(type) ? 1 : -1);
+                if (random.nextInt(50) == 0) {
+                    delta = Double.NaN;
+                }
+                contracts.add(new OptionContract("TSLA", type, 100 + i, asOf.plusDays(dte), delta, dte, 1.0, 0.01));
+            }
+            OptionChain chain = new OptionChain("TSLA", contracts);
+            for (int q = 0; q < 20; q++) {
+                String type = random.nextBoolean() ? "CALL" : "PUT";
+                int minDte = 15 + random.nextInt(40);
+                int maxDte = minDte + random.nextInt(20);
+                double target = q == 0 ? 0.30 : q == 1 ? -0.30 : random.nextInt(41) * 0.025 - 0.5;
+                Optional<OptionContract> expected = contracts.stream()
+                    .filter(c -> type.equals(c.type()) && c.dte() >= minDte && c.dte() <= maxDte)
+                    .min(Comparator.comparingDouble(c -> Math.abs(c.delta() - target)));
+                int position = chain.index().closestDeltaPosition(type, minDte, maxDte, target);
+                assertEquals(expected.isPresent(), position >= 0);
+                assertEquals(expected, chain.index().closestDelta(type, minDte, maxDte, target));
+                if (expected.isPresent()) {
+                    assertSame(expected.get(), contracts.get(position), "Mismatch for " + type + " " + minDte + "-" + maxDte + " @" + target);
+                } else {
+                    empty++;
+                }
+                queries++;
+            }
+        }
+        logger.info("Checked {} queries against the stream scan ({} empty)", queries, empty);
+        assertEquals(Optional.empty(), new OptionChain("TSLA", List.of()).index().closestDelta("CALL", 0, 100, 0.3));
+    }
+
+    @Test
+    public void testColumnarChainRoundTrip() {
+        LocalDate expiration = LocalDate.of(2025, 2, 21);
+        List<OptionContract> contracts = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String underlying = i % 100 == 99 ? "TSLA7" : "TSLA";
+            String type = i % 2 == 0 ? "CALL" : "PUT";
+            LocalDate expiry = expiration.plusWeeks(i % 6);
+            contracts.add(new OptionContract(underlying, type, 150 + i * 0.5, expiry, i % 2 == 0 ? 0.5 - i * 0.001 : -0.001 * i,
+                                             50 + 7 * (i % 6), 0.05 * i, -0.002 * i));
+        }
+        contracts.add(new OptionContract("TSLA", null, 0, null, -0.0, 0, Double.NaN, 0));
+
+        OptionChain chain = new OptionChain("TSLA", contracts);
+        OptionChain.Builder builder = new OptionChain.Builder(4);
+        contracts.forEach(builder::add);
+        OptionChain built = builder.build("TSLA");
+
+        assertEquals(contracts, chain.contracts());
+        assertEquals(contracts.size(), chain.size());
+        assertEquals(chain, built);
+        assertEquals(chain.hashCode(), built.hashCode());
+        assertEquals(contracts.get(199), chain.contract(199));
+        assertEquals("TSLA7", chain.underlying(199));
+        assertEquals(expiration.plusWeeks(5), chain.expiration(5));
+        assertSame(chain.expiration(5), chain.expiration(11));
+        assertNotEquals(chain, new OptionChain("TSLA", contracts.subList(0, 500)));
+        assertThrows(UnsupportedOperationException.class, () -> chain.contracts().set(0, contracts.get(1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> chain.contract(contracts.size()));
+    }
+}
@@ -1,12 +1,22 @@
 package com.optionstrader.options;
 
+import com.optionstrader.ingestion.StreamingMassiveDataLoader;
+import com.optionstrader.signal.ManualSignalEngine;
 import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.SignalVector;
 import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test for SignalTranslator and RepairLogic.
@@ -31,6 +41,51 @@ public class SignalTranslatorTest {
         assertEquals("BUY", decisions.get(0).action());
         assertEquals("PUT", decisions.get(1).contract().type());
         assertEquals("BUY", decisions.get(1).action());
+
+        List<Signal> padded = new ArrayList<>(Collections.nCopies(100, Signal.HOLD));
+        padded.set(3, Signal.BUY);
+        padded.set(70, Signal.SELL);
+        padded.set(71, Signal.BUY);
+        assertEquals(translator.translateSignals(padded, chain),
+                     translator.translateSignals(SignalVector.encode(padded, 200, 0L), chain));
+    }
+
+    @Test
+    public void testTranslateSignalsAgainstChainProvider() {
+        BarSeries series = new StreamingMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+        List<Signal> signals = new ManualSignalEngine().generateSignals(series);
+        int startBar = series.getBarCount() - signals.size();
+
+        // Alternate between two chains by day of month; odd days after the 20th have none
+        LocalDate expiration = LocalDate.of(2023, 3, 17);
+        OptionChain even = new OptionChain("TSLA", List.of(
+            new OptionContract("TSLA", "CALL", 200.0, expiration, 0.28, 40, 6.0, 0.02),
+            new OptionContract("TSLA", "PUT", 180.0, expiration, -0.33, 40, 5.0, 0.02)));
+        OptionChain odd = new OptionChain("TSLA", List.of(
+            new OptionContract("TSLA", "CALL", 210.0, expiration, 0.31, 33, 4.0, 0.02)));
+        Set<LocalDate> requested = new HashSet<>();
+        List<LocalDate> requests = new ArrayList<>();
+        ChainProvider chains = date -> {
+            requests.add(date);
+            requested.add(date);
+            return date.getDayOfMonth() % 2 == 0 ? even : date.getDayOfMonth() > 20 ? null : odd;
+        };
+
+        SignalTranslator translator = new SignalTranslator();
+        List<TradeDecision> expected = new ArrayList<>();
+        for (int k = 0; k < signals.size(); k++) {
+            LocalDate date = series.getBar(startBar + k).getEndTime().toLocalDate();
+            OptionChain chain = date.getDayOfMonth() % 2 == 0 ? even : date.getDayOfMonth() > 20 ? null : odd;
+            if (chain != null) {
+                expected.addAll(translator.translateSignals(List.of(signals.get(k)), chain));
+            }
+        }
+        List<TradeDecision> actual = translator.translateSignals(signals.iterator(), series, startBar, chains);
+
+        assertEquals(expected, actual);
+        assertTrue(actual.size() > 0);
+        // One provider call per distinct date that carries a BUY or SELL
+        assertEquals(requested.size(), requests.size());
     }
 
     @Test
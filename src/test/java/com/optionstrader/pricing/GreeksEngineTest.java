@@ -0,0 +1,139 @@
+package com.optionstrader.pricing;
+
+import com.optionstrader.ingestion.StreamingMassiveDataLoader;
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the Black-Scholes formulas, the batch {@link GreeksEngine} and {@link MarkToModel}.
+ */
+public class GreeksEngineTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GreeksEngineTest.class);
+
+    @Test
+    public void testScalarFormulasMatchReferenceValues() {
+        assertEquals(0.9750021048517795, BlackScholes.cdf(1.96), 1e-15);
+        assertEquals(0.0013498980316301, BlackScholes.cdf(-3), 1e-16);
+        assertEquals(0.5, BlackScholes.cdf(0), 0);
+        for (double p : new double[] {1e-10, 0.001, 0.02, 0.3, 0.5, 0.7, 0.98, 0.999999}) {
+            assertEquals(p, BlackScholes.cdf(BlackScholes.inverseCdf(p)), p * 1e-12);
+        }
+        // Hull's textbook case: S = K = 100, T = 1, r = 5%, vol = 20%
+        assertEquals(10.450583572185565, BlackScholes.price(true, 100, 100, 1, 0.05, 0.2), 1e-12);
+        assertEquals(5.573526022256971, BlackScholes.price(false, 100, 100, 1, 0.05, 0.2), 1e-12);
+        assertEquals(0.6368306511756191, BlackScholes.delta(true, 100, 100, 1, 0.05, 0.2), 1e-12);
+        assertEquals(5.0, BlackScholes.price(true, 105, 100, 0, 0.05, 0.2), 0);
+
+        for (double delta : new double[] {0.1, 0.3, 0.5, -0.3, -0.7}) {
+            boolean call = delta > 0;
+            double volatility = BlackScholes.volatilityFromDelta(call, 180, 200, 35 / 365.0, 0.04, delta);
+            logger.info("Delta {} -> volatility {}", delta, volatility);
+            assertEquals(delta, BlackScholes.delta(call, 180, 200, 35 / 365.0, 0.04, volatility), 1e-12);
+        }
+        assertEquals(Double.NaN, BlackScholes.volatilityFromDelta(true, 180, 200, 35 / 365.0, 0.04, 1.2));
+    }
+
+    @Test
+    public void testBatchMatchesScalarAndFiniteDifferences() {
+        Random random = new Random(11);
+        LocalDate asOf = LocalDate.of(2025, 1, 2);
+        List<OptionContract> contracts = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int dte = random.nextInt(400) - 5;
+            contracts.add(new OptionContract("TSLA", random.nextBoolean() ? "CALL" : "PUT", 100 + random.nextInt(200),
+                                             asOf.plusDays(dte), 0, dte, 0, 0));
+        }
+        OptionChain chain = new OptionChain("TSLA", contracts);
+        double[] volatilities = new double[chain.size()];
+        for (int i = 0; i < volatilities.length; i++) {
+            volatilities[i] = 0.1 + random.nextDouble();
+        }
+        double spot = 187.5;
+        double elapsedDays = 1.5;
+        GreeksEngine engine = new GreeksEngine();
+        double rate = engine.getRate();
+        Greeks greeks = engine.compute(chain, spot, elapsedDays, volatilities, new Greeks(chain.size()));
+
+        assertEquals(chain.size(), greeks.size());
+        double maxDeltaError = 0;
+        for (int i = 0; i < chain.size(); i++) {
+            boolean call = "CALL".equals(chain.type(i));
+            double years = (chain.dte(i) - elapsedDays) / GreeksEngine.DAYS_PER_YEAR;
+            double strike = chain.strike(i);
+            double volatility = volatilities[i];
+            assertEquals(BlackScholes.price(call, spot, strike, years, rate, volatility), greeks.price(i), 0);
+            assertEquals(BlackScholes.delta(call, spot, strike, years, rate, volatility), greeks.delta(i), 0);
+            if (years <= 0) {
+                assertEquals(0, greeks.gamma(i));
+                continue;
+            }
+            double h = 1e-3;
+            double up = BlackScholes.price(call, spot + h, strike, years, rate, volatility);
+            double down = BlackScholes.price(call, spot - h, strike, years, rate, volatility);
+            double mid = greeks.price(i);
+            maxDeltaError = Math.max(maxDeltaError, Math.abs((up - down) / (2 * h) - greeks.delta(i)));
+            assertEquals((up - down) / (2 * h), greeks.delta(i), 1e-6);
+            assertEquals((up - 2 * mid + down) / (h * h), greeks.gamma(i), 1e-3);
+            double vegaBump = (BlackScholes.price(call, spot, strike, years, rate, volatility + 1e-5)
+                - BlackScholes.price(call, spot, strike, years, rate, volatility - 1e-5)) / 2e-5;
+            assertEquals(vegaBump, greeks.vega(i), 1e-4 * Math.max(1, vegaBump));
+            if (years > 2 / GreeksEngine.DAYS_PER_YEAR) {
+                double dayLater = BlackScholes.price(call, spot, strike, years - 1e-3 / GreeksEngine.DAYS_PER_YEAR, rate, volatility);
+                double dayEarlier = BlackScholes.price(call, spot, strike, years + 1e-3 / GreeksEngine.DAYS_PER_YEAR, rate, volatility);
+                assertEquals((dayLater - dayEarlier) / 2e-3, greeks.theta(i), 1e-5 * Math.max(1, Math.abs(greeks.theta(i))));
+            }
+        }
+        logger.info("Priced {} contracts; max finite-difference delta error {}", chain.size(), maxDeltaError);
+
+        Greeks single = engine.compute(chain, spot, elapsedDays, 0.45, new Greeks(chain.size()));
+        assertEquals(BlackScholes.price("CALL".equals(chain.type(7)), spot, chain.strike(7),
+                                        (chain.dte(7) - elapsedDays) / GreeksEngine.DAYS_PER_YEAR, rate, 0.45), single.price(7), 0);
+    }
+
+    @Test
+    public void testMarkToModelStartsAtQuotedPrice() {
+        BarSeries series = new StreamingMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+        int entry = 500;
+        double spot = series.getBar(entry).getClosePrice().doubleValue();
+        double years = 35 / GreeksEngine.DAYS_PER_YEAR
+            - (series.getBar(entry).getEndTime().toLocalTime().toSecondOfDay() - 16 * 3600) / (GreeksEngine.DAYS_PER_YEAR * 86_400);
+        OptionContract call = new OptionContract("TSLA", "CALL", Math.round(spot * 1.1), LocalDate.of(2023, 2, 1), 0.30, 35, 5.0, -0.05);
+        MarkToModel mark = MarkToModel.open(call, series, entry, GreeksEngine.DEFAULT_RATE);
+
+        // The entry value is what was paid, and the volatility reprices it
+        assertEquals(5.0, mark.getEntryValue());
+        assertEquals(5.0, BlackScholes.price(true, spot, call.strike(), years, GreeksEngine.DEFAULT_RATE, mark.getVolatility()), 1e-9);
+        assertEquals(0, mark.pnlAt(series, entry), 1e-9);
+
+        // A small move prices close to the model delta times the move; the model value never goes negative
+        int next = entry + 1;
+        double delta = BlackScholes.delta(true, spot, call.strike(), years, GreeksEngine.DEFAULT_RATE, mark.getVolatility());
+        double move = series.getBar(next).getClosePrice().doubleValue() - spot;
+        logger.info("Entry value {}, volatility {}, delta {}, next bar move {} -> PnL {}",
+                    mark.getEntryValue(), mark.getVolatility(), delta, move, mark.pnlAt(series, next));
+        assertEquals(delta * move, mark.pnlAt(series, next), 0.05 + Math.abs(move) * 0.05);
+        for (int i = entry; i < series.getBarCount(); i += 97) {
+            assertTrue(mark.valueAt(series, i) >= 0);
+        }
+
+        // Without a price, the volatility comes from the snapshot delta
+        OptionContract unpriced = new OptionContract("TSLA", "CALL", call.strike(), LocalDate.of(2023, 2, 1), 0.30, 35, 0.0, -0.05);
+        MarkToModel fallback = MarkToModel.open(unpriced, series, entry, GreeksEngine.DEFAULT_RATE);
+        assertEquals(0.30, BlackScholes.delta(true, spot, call.strike(), years, GreeksEngine.DEFAULT_RATE, fallback.getVolatility()), 1e-9);
+        assertEquals(0, fallback.pnlAt(series, entry), 1e-12);
+    }
+}
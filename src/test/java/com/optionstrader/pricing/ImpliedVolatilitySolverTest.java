@@ -0,0 +1,155 @@
+package com.optionstrader.pricing;
+
+import com.optionstrader.ingestion.ContractFilter;
+import com.optionstrader.ingestion.StreamingOptionChainLoader;
+import com.optionstrader.options.OptionChain;
+import com.optionstrader.options.OptionContract;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for {@link ImpliedVolatilitySolver}: prices generated at known volatilities
+ * must solve back to them, across a parallel multi-date run as well as a single chain.
+ */
+public class ImpliedVolatilitySolverTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpliedVolatilitySolverTest.class);
+
+    @Test
+    public void testSolvesModelPricesBackToVolatility() {
+        ImpliedVolatilitySolver solver = new ImpliedVolatilitySolver();
+        double rate = GreeksEngine.DEFAULT_RATE;
+        Random random = new Random(5);
+        int checked = 0;
+        for (int i = 0; i < 5_000; i++) {
+            boolean call = random.nextBoolean();
+            double spot = 100;
+            double strike = 40 + random.nextDouble() * 160;
+            double years = (1 + random.nextInt(720)) / GreeksEngine.DAYS_PER_YEAR;
+            double volatility = 0.05 + random.nextDouble() * 2.5;
+            double price = BlackScholes.price(call, spot, strike, years, rate, volatility);
+            double vega = BlackScholes.vega(spot, strike, years, rate, volatility);
+            double solved = solver.solve(call, spot, strike, years, price);
+            if (Double.isNaN(solved)) {
+                // Only prices indistinguishable from the no-arbitrage bounds may be left unsolved
+                assertTrue(vega < 1e-6, "Unsolved contract with vega " + vega);
+                continue;
+            }
+            assertEquals(price, BlackScholes.price(call, spot, strike, years, rate, solved), 1e-9);
+            if (vega > 1e-3) {
+                assertEquals(volatility, solved, 1e-6);
+                checked++;
+            }
+        }
+        logger.info("{} ({} volatilities checked)", solver, checked);
+        assertTrue(solver.getNewtonSolved() > solver.getBrentSolved());
+        assertEquals(5_000, solver.getNewtonSolved() + solver.getBrentSolved() + solver.getUnsolved());
+
+        assertEquals(Double.NaN, solver.solve(true, 100, 90, 0.5, 9.0));
+        assertEquals(Double.NaN, solver.solve(true, 100, 90, 0.5, 101));
+        assertEquals(Double.NaN, solver.solve(false, 100, 90, 0, 1.0));
+    }
+
+    @Test
+    public void testRebuildDeltasAcrossDatesInParallel() {
+        double rate = GreeksEngine.DEFAULT_RATE;
+        Random random = new Random(9);
+        Map<LocalDate, OptionChain> chains = new TreeMap<>();
+        Map<LocalDate, Double> spots = new TreeMap<>();
+        Map<LocalDate, double[]> volatilities = new TreeMap<>();
+        LocalDate first = LocalDate.of(2024, 1, 2);
+        for (int day = 0; day < 60; day++) {
+            LocalDate date = first.plusDays(day);
+            double spot = 200 + 20 * Math.sin(day / 7.0);
+            List<OptionContract> contracts = new ArrayList<>();
+            double[] vols = new double[300];
+            for (int i = 0; i < vols.length; i++) {
+                boolean call = i % 2 == 0;
+                int dte = 7 + (i % 10) * 14;
+                double strike = 120 + (i / 2) * 1.2;
+                vols[i] = 0.3 + 0.4 * random.nextDouble();
+                double years = dte / GreeksEngine.DAYS_PER_YEAR;
+                double price = BlackScholes.price(call, spot, strike, years, rate, vols[i]);
+                // Stale snapshot delta, which the rebuild must replace
+                contracts.add(new OptionContract("TSLA", call ? "CALL" : "PUT", strike, date.plusDays(dte),
+                                                 call ? 0.5 : -0.5, dte, price, 0));
+            }
+            chains.put(date, new OptionChain("TSLA", contracts));
+            spots.put(date, spot);
+            volatilities.put(date, vols);
+        }
+        chains.put(first.plusDays(60), chains.get(first));
+
+        ImpliedVolatilitySolver solver = new ImpliedVolatilitySolver(rate, 1e-10, 4);
+        long start = System.nanoTime();
+        Map<LocalDate, OptionChain> rebuilt = solver.rebuildDeltas(chains, date -> spots.getOrDefault(date, Double.NaN));
+        logger.info("Rebuilt {} chains in {} ms: {}", rebuilt.size(), (System.nanoTime() - start) / 1_000_000, solver);
+
+        assertEquals(chains.keySet(), rebuilt.keySet());
+        // No spot for the last date, so it comes back untouched
+        assertEquals(chains.get(first.plusDays(60)), rebuilt.get(first.plusDays(60)));
+        int rebuiltCount = 0;
+        for (Map.Entry<LocalDate, double[]> entry : volatilities.entrySet()) {
+            OptionChain chain = rebuilt.get(entry.getKey());
+            double spot = spots.get(entry.getKey());
+            for (int i = 0; i < chain.size(); i++) {
+                boolean call = "CALL".equals(chain.type(i));
+                double years = chain.dte(i) / GreeksEngine.DAYS_PER_YEAR;
+                double expected = BlackScholes.delta(call, spot, chain.strike(i), years, rate, entry.getValue()[i]);
+                if (BlackScholes.vega(spot, chain.strike(i), years, rate, entry.getValue()[i]) > 1e-3) {
+                    assertEquals(expected, chain.delta(i), 1e-6, "Delta mismatch on " + entry.getKey() + " at " + i);
+                    rebuiltCount++;
+                } else {
+                    // Priced at the bound: either left at the snapshot delta or solved to the same delta
+                    assertTrue(chain.delta(i) == (call ? 0.5 : -0.5) || Math.abs(expected - chain.delta(i)) < 1e-6);
+                }
+                assertEquals(chains.get(entry.getKey()).price(i), chain.price(i));
+            }
+        }
+        logger.info("{} deltas checked against the generating volatility", rebuiltCount);
+        assertTrue(rebuiltCount > 60 * 250);
+        OptionChain chain = rebuilt.get(first);
+        assertEquals(chain.index().closestDelta("CALL", 30, 45, 0.30),
+                     new OptionChain("TSLA", chain.contracts()).index().closestDelta("CALL", 30, 45, 0.30));
+    }
+
+    @Test
+    public void testSnapshotDeltasAgainstSolvedVolatility() {
+        OptionChain chain = new StreamingOptionChainLoader().load(Paths.get("src/test/resources/sample-tsla-chain.json"),
+                                                                  LocalDate.of(2025, 12, 22), ContractFilter.all());
+        ImpliedVolatilitySolver solver = new ImpliedVolatilitySolver();
+        // The snapshot's underlying_asset.price
+        double spot = 488.0;
+        double[] volatilities = solver.impliedVolatilities(chain, spot);
+        OptionChain rebuilt = solver.rebuildDeltas(chain, spot);
+        int checked = 0;
+        for (int i = 0; i < chain.size(); i++) {
+            assertEquals(chain.price(i), rebuilt.price(i));
+            // Near-the-money contracts are the ones selection targets and the sample prices best
+            if (Math.abs(chain.strike(i) / spot - 1) > 0.05) {
+                continue;
+            }
+            assertTrue(volatilities[i] > 0.1 && volatilities[i] < 1.0, "Implausible volatility at " + i);
+            assertEquals(chain.delta(i), rebuilt.delta(i), 0.1,
+                         chain.type(i) + " " + chain.strike(i) + " dte " + chain.dte(i));
+            checked++;
+        }
+        logger.info("{} near-the-money deltas checked: {}", checked, solver);
+        assertEquals(16, checked);
+        // impliedVolatilities and rebuildDeltas each solve the chain once
+        assertEquals(2L * chain.size(), solver.getNewtonSolved() + solver.getBrentSolved() + solver.getUnsolved());
+        assertEquals(chain.size(), rebuilt.size());
+    }
+}
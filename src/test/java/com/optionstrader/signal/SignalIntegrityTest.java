@@ -1,19 +1,40 @@
 package com.optionstrader.signal;
 
+import com.optionstrader.indicator.IndicatorCache;
+import com.optionstrader.ingestion.BarColumns;
 import com.optionstrader.ingestion.MassiveDataLoader;
 import com.optionstrader.ingestion.StandardMassiveDataLoader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.rules.BooleanRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.StopLossRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Signal Integrity Test to ensure TA4J and Manual implementations produce identical signals.
@@ -117,4 +138,190 @@ public class SignalIntegrityTest {
         assertEquals(ta4jSignals, manualSignals);
         logger.info("Signal Integrity test for NVDA passed: Identical signals from both engines");
     }
+
+    @Test
+    public void testStreamingEngineMatchesManual() throws IOException {
+        for (String file : new String[] {"golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"}) {
+            logger.info("Starting streaming Signal Integrity test for {}", file);
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            List<Signal> manualSignals = new ManualSignalEngine().generateSignals(series);
+
+            IncrementalSignalEngine streaming = new IncrementalSignalEngine();
+            List<Signal> streamedSignals = new ArrayList<>();
+            long elapsed = 0;
+            int midpoint = series.getBarCount() / 2;
+            for (int i = 0; i < series.getBarCount(); i++) {
+                if (i == midpoint) {
+                    // A batch replay mid-stream must not disturb the live state
+                    assertEquals(manualSignals, streaming.generateSignals(series), "Replay must match");
+                    assertEquals(midpoint, streaming.getBarCount());
+                }
+                Bar bar = series.getBar(i);
+                long start = System.nanoTime();
+                Signal signal = streaming.onBar(bar);
+                elapsed += System.nanoTime() - start;
+                if (i < 200) {
+                    assertNull(signal, "No signal expected during the lookback, bar " + i);
+                } else {
+                    streamedSignals.add(signal);
+                }
+            }
+            logger.info("Streamed {} bars of {} at {} ns/bar", series.getBarCount(), series.getName(),
+                        elapsed / series.getBarCount());
+            assertEquals(manualSignals, streamedSignals);
+            assertEquals(manualSignals, streaming.generateSignals(series), "Replay after the stream must match");
+        }
+        logger.info("Streaming Signal Integrity test passed: Identical signals to the manual engine");
+    }
+
+    @Test
+    public void testBatchEngineMatchesPerSeries() throws IOException {
+        String[] files = {"golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"};
+        List<BarSeries> seriesList = new ArrayList<>();
+        int bars = Integer.MAX_VALUE;
+        for (String file : files) {
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            seriesList.add(series);
+            bars = Math.min(bars, series.getBarCount());
+        }
+
+        // The goldens trade on different minutes, so pack the common prefix by position; repeat
+        // them to get enough symbols to split across the pool
+        int symbolCount = 24;
+        String[] symbols = new String[symbolCount];
+        long[] times = BarColumns.from(seriesList.get(0)).copyOfRange(0, bars).timeColumn();
+        double[] opens = new double[symbolCount * bars];
+        double[] closes = new double[symbolCount * bars];
+        List<List<Signal>> expected = new ArrayList<>();
+        for (int s = 0; s < symbolCount; s++) {
+            BarColumns columns = BarColumns.from(seriesList.get(s % files.length)).copyOfRange(0, bars);
+            symbols[s] = columns.getName() + "-" + s;
+            System.arraycopy(columns.openColumn(), 0, opens, s * bars, bars);
+            System.arraycopy(columns.closeColumn(), 0, closes, s * bars, bars);
+            if (s < files.length) {
+                expected.add(new ManualSignalEngine().generateSignals(columns.asBarSeries()));
+            }
+        }
+        SymbolBatch batch = new SymbolBatch(symbols, times, opens, closes);
+
+        SignalMatrix matrix = new BatchSignalEngine(StrategyParameters.DEFAULT, 4).generateSignals(batch);
+        logger.info("Batch matrix: {} symbols x {} signals from bar {}", matrix.symbolCount(), matrix.length(),
+                    matrix.getStartBar());
+        assertEquals(200, matrix.getStartBar());
+        for (int s = 0; s < symbolCount; s++) {
+            List<Signal> manualSignals = expected.get(s % files.length);
+            assertEquals(manualSignals, matrix.row(s), "Row " + symbols[s]);
+            assertEquals(manualSignals.stream().filter(Signal.BUY::equals).count(), matrix.count(s, Signal.BUY));
+        }
+        assertEquals(5, matrix.indexOf(symbols[5]));
+
+        assertThrows(IllegalArgumentException.class, () -> SymbolBatch.of(seriesList),
+                     "Series with different bar counts are not aligned");
+        logger.info("Batch Signal Integrity test passed: Identical signals to the manual engine");
+    }
+
+    @Test
+    public void testSignalVectorRoundTrip(@TempDir Path dir) throws IOException {
+        for (String file : new String[] {"golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"}) {
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            ManualSignalEngine engine = new ManualSignalEngine();
+            List<Signal> signals = engine.generateSignals(series);
+            SignalVector vector = engine.generateSignalVector(series);
+            logger.info("{}: {} ({} bytes packed vs {} list entries)", series.getName(), vector,
+                        8 * ((vector.length() + 31) / 32), signals.size());
+
+            assertEquals(200, vector.getStartBar());
+            assertEquals(series.getBar(200).getEndTime().toInstant().toEpochMilli(), vector.getStartTimeMillis());
+            assertEquals(signals, vector.asList());
+            for (Signal signal : Signal.values()) {
+                assertEquals(signals.stream().filter(signal::equals).count(), vector.count(signal), signal.name());
+            }
+
+            // Visiting and searching must agree with a plain scan of the list
+            List<Integer> expectedBars = new ArrayList<>();
+            for (int i = 0; i < signals.size(); i++) {
+                if (signals.get(i) != Signal.HOLD) {
+                    expectedBars.add(200 + i);
+                }
+            }
+            List<Integer> visitedBars = new ArrayList<>();
+            vector.forEachSignal((bar, signal) -> {
+                assertEquals(signals.get(bar - 200), signal);
+                visitedBars.add(bar);
+            });
+            assertEquals(expectedBars, visitedBars);
+            int bar = vector.nextIndexOf(Signal.BUY, 0);
+            for (int i = 0; i < signals.size(); i++) {
+                if (signals.get(i) == Signal.BUY) {
+                    assertEquals(200 + i, bar);
+                    bar = vector.nextIndexOf(Signal.BUY, bar + 1);
+                }
+            }
+            assertEquals(-1, bar);
+
+            Path path = dir.resolve(series.getName() + ".sig");
+            SignalVectorFile.write(vector, path);
+            SignalVector mapped = SignalVectorFile.map(path);
+            assertTrue(Files.size(path) <= 24 + signals.size() / 4 + 8);
+            assertEquals(vector.getStartBar(), mapped.getStartBar());
+            assertEquals(vector.getStartTimeMillis(), mapped.getStartTimeMillis());
+            assertEquals(signals, mapped.asList());
+            assertEquals(vector.count(Signal.SELL), mapped.count(Signal.SELL));
+        }
+        logger.info("Signal vector round trip passed for all golden series");
+    }
+
+    @Test
+    public void testCompiledRulesMatchTa4j() throws IOException {
+        for (String file : new String[] {"golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"}) {
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+
+            // Cached views, and the same tree over plain ta4j indicators with an extra NOT/OR level
+            Strategy cached = VolatilityOptimizedStrategy.build(series, StrategyParameters.DEFAULT, new IndicatorCache());
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            SMAIndicator fastSma = new SMAIndicator(closePrice, 20);
+            SMAIndicator slowSma = new SMAIndicator(closePrice, 100);
+            RSIIndicator rsi = new RSIIndicator(closePrice, 7);
+            Rule entry = new OverIndicatorRule(fastSma, slowSma).and(new UnderIndicatorRule(rsi, 45))
+                .or(new UnderIndicatorRule(rsi, 15).and(BooleanRule.TRUE));
+            Rule exit = new OverIndicatorRule(rsi, 65).or(new OverIndicatorRule(fastSma, slowSma).negation());
+            Strategy plain = new BaseStrategy("plain", entry, exit, 100);
+
+            for (Strategy strategy : new Strategy[] {cached, plain}) {
+                CompiledStrategy compiled = RuleCompiler.compile(strategy, series);
+                int entries = 0;
+                for (int i = 0; i < series.getBarCount(); i++) {
+                    assertEquals(strategy.shouldEnter(i), compiled.shouldEnter(i), "Entry at " + i + " of " + file);
+                    assertEquals(strategy.shouldExit(i), compiled.shouldExit(i), "Exit at " + i + " of " + file);
+                    entries += compiled.shouldEnter(i) ? 1 : 0;
+                }
+                logger.info("{} {}: {} entries", series.getName(), strategy.getName(), entries);
+            }
+        }
+
+        // Rules that read the trading record stay interpreted
+        BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+        Strategy stateful = new BaseStrategy(BooleanRule.TRUE, new StopLossRule(new ClosePriceIndicator(series), 5));
+        assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile(stateful, series));
+        assertSame(stateful, RuleCompiler.tryCompile(stateful, series));
+
+        // DecimalNum series would compare differently as doubles, so they stay interpreted too
+        BarSeries decimal = new BaseBarSeries("decimal");
+        for (int i = 0; i < series.getBarCount(); i++) {
+            Bar bar = series.getBar(i);
+            decimal.addBar(bar.getTimePeriod(), bar.getEndTime(), bar.getOpenPrice().doubleValue(),
+                           bar.getHighPrice().doubleValue(), bar.getLowPrice().doubleValue(),
+                           bar.getClosePrice().doubleValue(), bar.getVolume().doubleValue());
+        }
+        Strategy decimalStrategy = new BaseStrategy(new OverIndicatorRule(new ClosePriceIndicator(decimal), 100), BooleanRule.FALSE);
+        assertSame(decimalStrategy, RuleCompiler.tryCompile(decimalStrategy, decimal));
+
+        // A cached view adapted for another series of the same length is not silently reused
+        BarSeries twin = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+        IndicatorCache cache = new IndicatorCache();
+        Strategy foreign = new BaseStrategy(
+            new OverIndicatorRule(cache.sma(twin, 20).asIndicator(twin), new ClosePriceIndicator(series)), BooleanRule.FALSE);
+        assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile(foreign, series));
+        logger.info("Compiled rule Integrity test passed: Identical decisions to ta4j rule evaluation");
+    }
 }
@@ -0,0 +1,89 @@
+package com.optionstrader.sweep;
+
+import com.optionstrader.ingestion.BarColumns;
+import com.optionstrader.ingestion.StandardMassiveDataLoader;
+import com.optionstrader.signal.ManualSignalEngine;
+import com.optionstrader.signal.Signal;
+import com.optionstrader.signal.StrategyParameters;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Referee test for the parameter sweep: every combination must reproduce the signal counts of a
+ * {@link ManualSignalEngine} configured the same way, and the same long-only backtest replayed
+ * over that engine's signals.
+ */
+public class ParameterSweepTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterSweepTest.class);
+
+    @Test
+    public void testSweepMatchesManualEngine() {
+        BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources/golden-tsla-intraday.json"));
+        ParameterGrid grid = new ParameterGrid(List.of(20, 50), List.of(100, 200), List.of(9, 14),
+                                               List.of(35.0, 40.0), List.of(65.0, 70.0), List.of(0.005, 0.02),
+                                               List.of(3, 5));
+        List<SweepResult> ranked = new ParameterSweep(4).run(series, grid);
+        assertEquals(grid.combinations().size(), ranked.size());
+        logger.info("Top combinations:\n{}", ParameterSweep.formatTable(ranked, 5));
+
+        double[] closes = BarColumns.closePrices(series);
+        for (SweepResult result : ranked) {
+            StrategyParameters parameters = result.parameters();
+            List<Signal> signals = new ManualSignalEngine(parameters).generateSignals(series);
+            String label = parameters.toString();
+            assertEquals(Collections.frequency(signals, Signal.BUY), result.buySignals(), "BUY count for " + label);
+            assertEquals(Collections.frequency(signals, Signal.SELL), result.sellSignals(), "SELL count for " + label);
+            assertEquals(Collections.frequency(signals, Signal.HOLD), result.holdSignals(), "HOLD count for " + label);
+
+            // Replay the same backtest over the engine's signals
+            boolean inPosition = false;
+            double entry = 0;
+            double equity = 1;
+            int trades = 0;
+            for (int k = 0; k < signals.size(); k++) {
+                int i = parameters.slowPeriod() + k;
+                if (signals.get(k) == Signal.BUY && !inPosition) {
+                    entry = closes[i];
+                    inPosition = true;
+                } else if (signals.get(k) == Signal.SELL && inPosition) {
+                    equity *= 1 + (closes[i] - entry) / entry;
+                    trades++;
+                    inPosition = false;
+                }
+            }
+            if (inPosition) {
+                equity *= 1 + (closes[closes.length - 1] - entry) / entry;
+                trades++;
+            }
+            assertEquals(trades, result.tradeCount(), "Trade count for " + label);
+            assertEquals(equity - 1, result.totalReturn(), 1e-12, "Total return for " + label);
+        }
+
+        for (int i = 1; i < ranked.size(); i++) {
+            assertTrue(ranked.get(i - 1).totalReturn() >= ranked.get(i).totalReturn(), "Results must be ranked");
+        }
+    }
+
+    @Test
+    public void testDefaultParametersMatchAcrossGoldenFiles() {
+        for (String file : new String[] {"golden-tsla-intraday.json", "golden-pltr-intraday.json", "golden-nvda-intraday.json"}) {
+            BarSeries series = new StandardMassiveDataLoader().loadData(Paths.get("src/test/resources", file));
+            SweepResult result = new ParameterSweep(1).run(series, ParameterGrid.of(StrategyParameters.DEFAULT)).get(0);
+            List<Signal> signals = new ManualSignalEngine().generateSignals(series);
+            logger.info("{}: {}", file, result);
+            assertEquals(Collections.frequency(signals, Signal.BUY), result.buySignals());
+            assertEquals(Collections.frequency(signals, Signal.SELL), result.sellSignals());
+            assertEquals(Collections.frequency(signals, Signal.HOLD), result.holdSignals());
+        }
+    }
+}